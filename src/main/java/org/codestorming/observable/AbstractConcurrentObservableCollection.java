@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link ObservableCollection} backed by a lock-free concurrent collection.
+ * <p/>
+ * The elements are spread over lock stripes: adding or removing an element happens under the lock of the stripe of
+ * the element, and its change is notified once the lock is released, so that the changes of an element are notified
+ * in the order they were made. As the changes of distinct elements commute, a listener replaying the changes it
+ * receives always rebuilds the content of the collection, while the threads modifying elements of different stripes
+ * do not contend. As no lock is held while notifying, the listeners may modify the collection. They may be notified
+ * concurrently by different threads, possibly other than the modifying ones, and must be thread-safe.
+ * <p/>
+ * Like the concurrent collections, the bulk operations are not atomic: each of their changes is notified on its own.
+ * Batches are not supported as they would be shared by all the modifying threads: {@link #batch(Runnable)} runs the
+ * operations without buffering their changes.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public abstract class AbstractConcurrentObservableCollection<E> extends AbstractObservableCollection<E> {
+
+	protected final Collection<E> wrapped;
+
+	private final LockStripes stripes;
+
+	protected AbstractConcurrentObservableCollection(Collection<E> wrapped, int concurrencyLevel) {
+		this.wrapped = wrapped;
+		stripes = new LockStripes(concurrencyLevel);
+	}
+
+	/**
+	 * Returns the lock guarding the modifications of the given element.
+	 *
+	 * @param element The element, not {@code null}.
+	 * @return the lock of the element.
+	 */
+	protected ReentrantLock lockOf(Object element) {
+		return stripes.get(element);
+	}
+
+	/**
+	 * Notifies the addition or the removal of the given element once its lock is released.
+	 * <p/>
+	 * Must be called while holding the lock of the element, right after its modification.
+	 *
+	 * @param type The type of change.
+	 * @param element The added or removed element.
+	 */
+	protected void fireChange(CollectionChange.ChangeType type, E element) {
+		List<CollectionChange<E>> changes = Collections.singletonList(new CollectionChange<>(type, element));
+		stripes.get(element).post(() -> fireChange(changes));
+	}
+
+	/**
+	 * Runs the given operations, each of their changes being notified on its own.
+	 *
+	 * @param operations The operations.
+	 */
+	@Override
+	public void batch(Runnable operations) {
+		operations.run();
+	}
+
+	@Override
+	public void beginBatch() {
+		throw new UnsupportedOperationException("Concurrent collections do not support batches");
+	}
+
+	@Override
+	public void endBatch() {
+		throw new UnsupportedOperationException("Concurrent collections do not support batches");
+	}
+
+	@Override
+	public int size() {
+		return wrapped.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return wrapped.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return wrapped.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return wrapped.containsAll(c);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return wrapped.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return wrapped.toArray(a);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o) {
+		ReentrantLock lock = lockOf(o);
+		lock.lock();
+		try {
+			if (!wrapped.remove(o)) {
+				return false;
+			} // else
+			fireChange(CollectionChange.ChangeType.REMOVE, (E) o);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		boolean added = false;
+		for (E element : c) {
+			added |= add(element);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(c::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(element -> !c.contains(element));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		boolean removed = false;
+		for (E element : wrapped) {
+			if (filter.test(element)) {
+				removed |= remove(element);
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Concurrent collections do not support batches: the matching elements are removed from the threads testing
+	 * them, each removal being notified on its own.
+	 */
+	@Override
+	public boolean parallelRemoveIf(Predicate<? super E> filter) {
+		return wrapped.parallelStream().filter(filter).map(this::remove).reduce(false, Boolean::logicalOr);
+	}
+
+	@Override
+	public void clear() {
+		for (E element : wrapped) {
+			remove(element);
+		}
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return wrapped.spliterator();
+	}
+
+	@Override
+	public Stream<E> stream() {
+		return wrapped.stream();
+	}
+
+	@Override
+	public Stream<E> parallelStream() {
+		return wrapped.parallelStream();
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		wrapped.forEach(action);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new AbstractIteratorWrapper<E>(wrapped.iterator()) {
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				} // else
+				AbstractConcurrentObservableCollection.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return wrapped.toString();
+	}
+}
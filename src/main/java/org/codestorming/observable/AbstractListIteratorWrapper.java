@@ -24,6 +24,11 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 
 	protected T last;
 
+	/**
+	 * Position of the element returned by the last call to {@link #next()} or {@link #previous()}.
+	 */
+	protected int lastIndex = -1;
+
 	public AbstractListIteratorWrapper(ListIterator<T> iterator) {
 		iter = iterator;
 	}
@@ -36,6 +41,7 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 	@Override
 	public T next() {
 		last = iter.next();
+		lastIndex = iter.previousIndex();
 		return last;
 	}
 
@@ -47,6 +53,7 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 	@Override
 	public T previous() {
 		last = iter.previous();
+		lastIndex = iter.nextIndex();
 		return last;
 	}
 
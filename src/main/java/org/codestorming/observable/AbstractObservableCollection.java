@@ -11,18 +11,26 @@
  */
 package org.codestorming.observable;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Basic implementation of {@link ObservableCollection}.
  * <p/>
  * Adding and removing listeners and firing changes are thread-safe operations.
  * <p/>
- * Implementors must use the following lock methods when using the {@code changeListeners} collection:
+ * Listeners are stored in a copy-on-write array: adding or removing a listener copies the array while firing a change
+ * iterates over the current one without locking nor allocating.
+ * <p/>
+ * Implementors must use the following lock methods when replacing the {@code changeListeners} array:
  * <pre>
  *     readLock    - Lock in read mode
  *     readUnlock  - Unlock read mode
@@ -30,24 +38,54 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *     writeUnlock - Unlock write mode
  * </pre>
  * <em>Unlocking should happen in finally blocks to prevent deadlocks when an exception occurs.</em>
+ * <p/>
+ * While a batch is in progress, the changes given to {@link #fireChange(Iterable)} are buffered and delivered at
+ * once when the outermost batch ends. A batch is confined to the thread that opened it: the changes fired by the other
+ * threads are notified immediately, and only one thread at a time can have a batch in progress.
+ * <p/>
+ * The listeners subscribed with a filter are indexed by accepted type of change, and notified after the other
+ * listeners of the changes they accept only.
+ * <p/>
+ * The listeners are notified through a {@link Dispatcher}, synchronously by default.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  */
 public abstract class AbstractObservableCollection<E> implements ObservableCollection<E> {
 
-	protected final Set<CollectionChangeListener<E>> changeListeners;
+	protected volatile CollectionChangeListener<E>[] changeListeners;
 
 	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+	/**
+	 * Queue of the collected weak listeners, created by the first call to {@code addWeakChangeListener}.
+	 */
+	private volatile ReferenceQueue<Object> collectedListeners;
+
+	/**
+	 * Indicates if a {@link DerivedValue} depends on this observable, in which case the listeners are notified inside
+	 * a {@link Propagation} scope.
+	 */
+	volatile boolean propagated;
+
+	/**
+	 * Index of the listeners added with a filter, {@code null} while there is none.
+	 */
+	private volatile SubscriptionIndex<E> subscriptionIndex;
+
+	private final ChangeBatch<E> batch = new ChangeBatch<>();
+
+	private volatile Dispatcher dispatcher = SynchronousDispatcher.INSTANCE;
+
+	@SuppressWarnings("unchecked")
 	public AbstractObservableCollection() {
-		changeListeners = new HashSet<>();
+		changeListeners = (CollectionChangeListener<E>[]) new CollectionChangeListener<?>[0];
 	}
 
 	@Override
 	public void addChangeListener(CollectionChangeListener<E> listener) {
 		writeLock();
 		try {
-			changeListeners.add(listener);
+			changeListeners = Listeners.add(changeListeners, listener);
 		} finally {
 			writeUnlock();
 		}
@@ -57,12 +95,135 @@ public abstract class AbstractObservableCollection<E> implements ObservableColle
 	public void removeChangeListener(CollectionChangeListener<E> listener) {
 		writeLock();
 		try {
-			changeListeners.remove(listener);
+			changeListeners = Listeners.remove(changeListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The batch only buffers the changes fired by the current thread.
+	 *
+	 * @throws IllegalStateException if a batch is in progress on another thread.
+	 */
+	@Override
+	public void beginBatch() {
+		batch.begin();
+	}
+
+	@Override
+	public void endBatch() {
+		if (batch.end()) {
+			List<CollectionChange<E>> changes = batch.commit();
+			if (!changes.isEmpty()) {
+				notifyListeners(changes);
+			}
+		}
+	}
+
+	@Override
+	public void addWeakChangeListener(CollectionChangeListener<E> listener) {
+		writeLock();
+		try {
+			if (collectedListeners == null) {
+				collectedListeners = new ReferenceQueue<>();
+			}
+			changeListeners = Listeners.add(changeListeners, new WeakListener<E, Object>(listener, collectedListeners));
 		} finally {
 			writeUnlock();
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The listener is indexed by accepted type of change: a change is only tested against the filters of the
+	 * listeners of its type.
+	 */
+	@Override
+	public Subscription subscribe(CollectionChangeListener<E> listener, Set<CollectionChange.ChangeType> types,
+			Predicate<? super E> filter) {
+		return subscribe(listener, types, filter, null, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The listener is indexed by accepted type of change then by key: the key of the element of a change is computed
+	 * once per key function, and only the listeners of that key are notified.
+	 */
+	@Override
+	public <K> Subscription subscribe(CollectionChangeListener<E> listener, Set<CollectionChange.ChangeType> types,
+			Function<? super E, ? extends K> keyFunction, K key) {
+		if (keyFunction == null) {
+			throw new NullPointerException("The key function cannot be null");
+		} // else
+		return subscribe(listener, types, null, keyFunction, key);
+	}
+
+	private Subscription subscribe(CollectionChangeListener<E> listener, Set<CollectionChange.ChangeType> types,
+			Predicate<? super E> filter, Function<? super E, ?> keyFunction, Object key) {
+		final SubscribedListener<E, Object> subscribed = new SubscribedListener<>(listener);
+		final FilteredChangeListener<E> filtered =
+				new FilteredChangeListener<>(subscribed, types, filter, keyFunction, key);
+		Subscription subscription = subscribed.subscribe(() -> {
+			writeLock();
+			try {
+				if (subscriptionIndex != null) {
+					subscriptionIndex = subscriptionIndex.remove(filtered);
+				}
+			} finally {
+				writeUnlock();
+			}
+		});
+		writeLock();
+		try {
+			subscriptionIndex = subscriptionIndex == null ?
+					new SubscriptionIndex<>(Collections.singletonList(filtered)) : subscriptionIndex.add(filtered);
+		} finally {
+			writeUnlock();
+		}
+		return subscription;
+	}
+
+	/**
+	 * Removes the weak listeners whose delegate has been garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void purgeCollectedListeners() {
+		final ReferenceQueue<Object> queue = collectedListeners;
+		if (queue == null) {
+			return;
+		} // else
+		Reference<?> collected;
+		while ((collected = queue.poll()) != null) {
+			removeChangeListener((WeakListener<E, ?>) collected);
+		}
+	}
+
+	/**
+	 * Returns the {@link Dispatcher} notifying the listeners of this collection.
+	 *
+	 * @return the {@link Dispatcher} notifying the listeners of this collection.
+	 */
+	public Dispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * Changes the {@link Dispatcher} notifying the listeners of this collection.
+	 *
+	 * @param dispatcher The new {@link Dispatcher}.
+	 */
+	public void setDispatcher(Dispatcher dispatcher) {
+		if (dispatcher == null) {
+			throw new NullPointerException("The dispatcher cannot be null");
+		} // else
+		this.dispatcher = dispatcher;
+	}
+
 	protected void readLock() {
 		lock.readLock().lock();
 	}
@@ -80,15 +241,67 @@ public abstract class AbstractObservableCollection<E> implements ObservableColle
 	}
 
 	protected void fireChange(Iterable<CollectionChange<E>> changes) {
-		ArrayList<CollectionChangeListener<E>> listeners;
+		if (batch.isActive()) {
+			batch.add(changes);
+		} else {
+			notifyListeners(changes);
+		}
+	}
+
+	/**
+	 * Returns the changes delivered to the listeners for the given changes, called once per notification.
+	 * <p/>
+	 * Subclasses may override this method to attach information to their notifications. Returns the given changes by
+	 * default.
+	 *
+	 * @param changes The notified changes.
+	 * @return the changes delivered to the listeners.
+	 */
+	protected Iterable<CollectionChange<E>> toNotification(Iterable<CollectionChange<E>> changes) {
+		return changes;
+	}
+
+	private void notifyListeners(Iterable<CollectionChange<E>> changes) {
+		changes = toNotification(changes);
+		purgeCollectedListeners();
+		if (!propagated) {
+			dispatch(changes);
+			return;
+		} // else
+		Propagation propagation = Propagation.begin();
 		try {
-			readLock();
-			listeners = new ArrayList<>(changeListeners);
+			dispatch(changes);
 		} finally {
-			readUnlock();
+			propagation.end();
 		}
-		for (CollectionChangeListener<E> listener : listeners) {
-			listener.onChange(this, changes);
+	}
+
+	private void dispatch(Iterable<CollectionChange<E>> changes) {
+		final Dispatcher dispatcher = this.dispatcher;
+		final SubscriptionIndex<E> index = subscriptionIndex;
+		if (dispatcher == SynchronousDispatcher.INSTANCE) {
+			for (CollectionChangeListener<E> listener : changeListeners) {
+				listener.onChange(this, changes);
+			}
+			if (index != null) {
+				for (Map.Entry<FilteredChangeListener<E>, List<CollectionChange<E>>> matched :
+						index.match(changes).entrySet()) {
+					matched.getKey().getDelegate().onChange(this, matched.getValue());
+				}
+			}
+		} else {
+			dispatcher.dispatchAll(() -> {
+				for (CollectionChangeListener<E> listener : changeListeners) {
+					dispatcher.dispatch(new CollectionNotification<>(this, listener, changes));
+				}
+				if (index != null) {
+					for (Map.Entry<FilteredChangeListener<E>, List<CollectionChange<E>>> matched :
+							index.match(changes).entrySet()) {
+						dispatcher.dispatch(new CollectionNotification<>(this, matched.getKey().getDelegate(),
+								matched.getValue()));
+					}
+				}
+			});
 		}
 	}
 }
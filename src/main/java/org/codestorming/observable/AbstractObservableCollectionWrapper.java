@@ -14,8 +14,14 @@ package org.codestorming.observable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Wrapper implementing {@link ObservableCollection} for collections.
@@ -27,6 +33,16 @@ public class AbstractObservableCollectionWrapper<E> extends AbstractObservableCo
 
 	protected final Collection<E> wrapped;
 
+	/**
+	 * Creates a {@link CollectionChange} of the given type for each of the given values.
+	 *
+	 * @param type The type of change.
+	 * @param values The values concerned by the change.
+	 * @return the changes.
+	 * @deprecated The bulk changes are notified as {@link CollectionChangeSet}s, which do not create the changes
+	 * until they are iterated.
+	 */
+	@Deprecated
 	protected static <T> List<CollectionChange<T>> create(CollectionChange.ChangeType type,
 			Collection<? extends T> values) {
 		List<CollectionChange<T>> changes = new ArrayList<>(values.size());
@@ -56,6 +72,31 @@ public class AbstractObservableCollectionWrapper<E> extends AbstractObservableCo
 		};
 	}
 
+	/**
+	 * Returns the {@link Spliterator} of the wrapped collection, with its characteristics and splitting policy.
+	 *
+	 * @return the spliterator of the wrapped collection.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return wrapped.spliterator();
+	}
+
+	@Override
+	public Stream<E> stream() {
+		return wrapped.stream();
+	}
+
+	@Override
+	public Stream<E> parallelStream() {
+		return wrapped.parallelStream();
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		wrapped.forEach(action);
+	}
+
 	@Override
 	public Object[] toArray() {
 		return wrapped.toArray();
@@ -90,56 +131,87 @@ public class AbstractObservableCollectionWrapper<E> extends AbstractObservableCo
 		return wrapped.containsAll(c);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Only the elements actually added to the wrapped collection are notified: unless it is a {@link List}, the
+	 * elements are added one by one so that those it rejects, such as the duplicates of a {@link Set}, are left out.
+	 */
 	@Override
 	public boolean addAll(Collection<? extends E> c) {
-		boolean added = wrapped.addAll(c);
-		if (added) {
-			fireChange(create(CollectionChange.ChangeType.ADD, c));
+		if (wrapped instanceof List) {
+			Object[] values = c.toArray();
+			boolean added = wrapped.addAll(c);
+			if (added) {
+				fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.ADD, values));
+			}
+			return added;
+		} // else
+		Object[] added = new Object[c.size()];
+		int size = 0;
+		for (E e : c) {
+			if (wrapped.add(e)) {
+				added[size++] = e;
+			}
 		}
-		return added;
+		if (size > 0) {
+			fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.ADD, added, 0, size));
+		}
+		return size > 0;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean removeAll(Collection<?> c) {
-		boolean removed = false;
-		List<E> elements = new ArrayList<>(c.size());
+		if (!(wrapped instanceof Set) || c.size() >= wrapped.size()) {
+			return removeIf(BulkRemoval.membership(c));
+		} // else
+		// Removing each element from the set is cheaper than testing all the elements of the set
+		Object[] elements = new Object[c.size()];
+		int removed = 0;
 		for (Object o : c) {
 			if (wrapped.remove(o)) {
-				removed = true;
-				elements.add((E) o);
+				elements[removed++] = o;
 			}
 		}
-		if (elements.size() > 0) {
-			fireChange(create(CollectionChange.ChangeType.REMOVE, elements));
+		if (removed > 0) {
+			fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE, elements, 0, removed));
 		}
-		return removed;
+		return removed > 0;
 	}
 
 	@Override
 	public boolean retainAll(Collection<?> c) {
-		boolean retained = false;
-		List<E> elements = new ArrayList<>(c.size());
-		final Iterator<E> iter = wrapped.iterator();
-		while (iter.hasNext()) {
-			E v = iter.next();
-			if (!c.contains(v)) {
-				iter.remove();
-				elements.add(v);
-				retained = true;
-			}
-		}
-		if (elements.size() > 0) {
-			fireChange(create(CollectionChange.ChangeType.REMOVE, elements));
-		}
-		return retained;
+		return removeIf(BulkRemoval.membership(c).negate());
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		CollectionChangeSet<E> removed = BulkRemoval.removeIf(wrapped, filter);
+		if (removed == null) {
+			return false;
+		} // else
+		fireChange(removed);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The matching elements are collected from the parallel stream of the wrapped collection, then removed by
+	 * identity.
+	 */
+	@Override
+	public boolean parallelRemoveIf(Predicate<? super E> filter) {
+		Set<Object> matching = Collections.newSetFromMap(new IdentityHashMap<>());
+		Collections.addAll(matching, wrapped.parallelStream().filter(filter).toArray());
+		return !matching.isEmpty() && removeIf(matching::contains);
 	}
 
 	@Override
 	public void clear() {
-		List<CollectionChange<E>> changes = create(CollectionChange.ChangeType.REMOVE, this);
+		Object[] elements = wrapped.toArray();
 		wrapped.clear();
-		fireChange(changes);
+		fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE, elements));
 	}
 
 	@Override
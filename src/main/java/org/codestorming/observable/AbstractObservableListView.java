@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Read-only {@link ObservableList} maintained from the changes of another observable.
+ * <p/>
+ * Implementors only provide {@link #get(int)} and {@link #size()}, and fire the changes of the view as
+ * {@link ListChange}s or positioned {@link CollectionChangeSet}s. All the modification methods throw an
+ * {@link UnsupportedOperationException}.
+ * <p/>
+ * The source only references its views weakly: a view must be referenced as long as it is used. Views are not
+ * thread-safe, their source must be modified by a single thread at a time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public abstract class AbstractObservableListView<E> extends AbstractObservableCollection<E>
+		implements ObservableList<E> {
+
+	private final List<E> view = Collections.unmodifiableList(new AbstractList<E>() {
+		@Override
+		public E get(int index) {
+			return AbstractObservableListView.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return AbstractObservableListView.this.size();
+		}
+	});
+
+	@Override
+	public abstract E get(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return view.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return view.containsAll(c);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return view.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return view.lastIndexOf(o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return view.iterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return view.listIterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		return view.listIterator(index);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return view.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return view.toArray(a);
+	}
+
+	@Override
+	public boolean add(E e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void add(int index, E element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public E remove(int index) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addChangeListener(int fromIndex, int toIndex, CollectionChangeListener<E> listener) {
+		addChangeListener(new WindowChangeListener<>(listener, fromIndex, toIndex));
+	}
+
+	/**
+	 * Returns a read-only view of the {@code [fromIndex, toIndex)} range of this view.
+	 * <p/>
+	 * <strong>NOTE:</strong> The returned list does not notify the changes of this view, use
+	 * {@link #addChangeListener(int, int, CollectionChangeListener)} to observe a range.
+	 *
+	 * @param fromIndex The first position of the range (inclusive).
+	 * @param toIndex The last position of the range (exclusive).
+	 * @return a read-only view of the range.
+	 */
+	@Override
+	public ObservableList<E> subList(int fromIndex, int toIndex) {
+		return new ObservableListWrapper<>(view.subList(fromIndex, toIndex));
+	}
+
+	/**
+	 * Notifies the replacement of the whole content of this view, as the removal of the previous elements followed
+	 * by the addition of the new ones.
+	 *
+	 * @param removed The previous elements of this view.
+	 * @param added The new elements of this view.
+	 */
+	protected void fireReset(Object[] removed, Object[] added) {
+		List<CollectionChangeSet.Run<E>> runs = new ArrayList<>(2);
+		if (removed.length > 0) {
+			runs.add(new CollectionChangeSet.Run<E>(CollectionChange.ChangeType.REMOVE, removed, 0, removed.length, 0));
+		}
+		if (added.length > 0) {
+			runs.add(new CollectionChangeSet.Run<E>(CollectionChange.ChangeType.ADD, added, 0, added.length, 0));
+		}
+		if (!runs.isEmpty()) {
+			fireChange(new CollectionChangeSet<>(runs));
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || view.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return view.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return view.toString();
+	}
+}
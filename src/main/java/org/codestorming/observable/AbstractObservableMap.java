@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Basic implementation of {@link ObservableMap}.
+ * <p/>
+ * Adding and removing listeners and firing changes are thread-safe operations. The listeners of the whole map are
+ * stored in a copy-on-write array guarded by the {@code writeLock}, while the listeners of a single key are stored in a
+ * {@link ConcurrentHashMap} so that registering listeners on different keys does not contend.
+ * <p/>
+ * The listeners are notified through a {@link Dispatcher}, synchronously by default.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public abstract class AbstractObservableMap<K, V> implements ObservableMap<K, V> {
+
+	/**
+	 * Key under which the listeners of the {@code null} key are registered.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	protected volatile MapChangeListener<K, V>[] changeListeners;
+
+	private final ConcurrentMap<Object, MapChangeListener<K, V>[]> keyListeners = new ConcurrentHashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Queue of the collected weak listeners, created by the first call to {@code addWeakChangeListener}.
+	 */
+	private volatile ReferenceQueue<Object> collectedListeners;
+
+	private volatile Dispatcher dispatcher = SynchronousDispatcher.INSTANCE;
+
+	@SuppressWarnings("unchecked")
+	public AbstractObservableMap() {
+		changeListeners = (MapChangeListener<K, V>[]) new MapChangeListener<?, ?>[0];
+	}
+
+	@Override
+	public void addChangeListener(MapChangeListener<K, V> listener) {
+		writeLock();
+		try {
+			changeListeners = Listeners.add(changeListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public void removeChangeListener(MapChangeListener<K, V> listener) {
+		writeLock();
+		try {
+			changeListeners = Listeners.remove(changeListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public void addWeakChangeListener(MapChangeListener<K, V> listener) {
+		writeLock();
+		try {
+			if (collectedListeners == null) {
+				collectedListeners = new ReferenceQueue<>();
+			}
+			changeListeners = Listeners.add(changeListeners, new WeakListener<K, V>(listener, collectedListeners));
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public Subscription subscribe(MapChangeListener<K, V> listener) {
+		final SubscribedListener<K, V> subscribed = new SubscribedListener<>(listener);
+		Subscription subscription = subscribed.subscribe(() -> removeChangeListener(subscribed));
+		addChangeListener(subscribed);
+		return subscription;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addChangeListener(K key, MapChangeListener<K, V> listener) {
+		if (listener == null) {
+			throw new NullPointerException("The listener cannot be null");
+		} // else
+		keyListeners.compute(maskNull(key), (k, listeners) -> listeners == null
+				? (MapChangeListener<K, V>[]) new MapChangeListener<?, ?>[] {listener}
+				: Listeners.add(listeners, listener));
+	}
+
+	@Override
+	public void removeChangeListener(K key, MapChangeListener<K, V> listener) {
+		keyListeners.computeIfPresent(maskNull(key), (k, listeners) -> {
+			MapChangeListener<K, V>[] removed = Listeners.remove(listeners, listener);
+			return removed.length == 0 ? null : removed;
+		});
+	}
+
+	private static Object maskNull(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	/**
+	 * Removes the weak listeners whose delegate has been garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void purgeCollectedListeners() {
+		final ReferenceQueue<Object> queue = collectedListeners;
+		if (queue == null) {
+			return;
+		} // else
+		Reference<?> collected;
+		while ((collected = queue.poll()) != null) {
+			removeChangeListener((WeakListener<K, V>) collected);
+		}
+	}
+
+	/**
+	 * Returns the {@link Dispatcher} notifying the listeners of this map.
+	 *
+	 * @return the {@link Dispatcher} notifying the listeners of this map.
+	 */
+	public Dispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * Changes the {@link Dispatcher} notifying the listeners of this map.
+	 *
+	 * @param dispatcher The new {@link Dispatcher}.
+	 */
+	public void setDispatcher(Dispatcher dispatcher) {
+		if (dispatcher == null) {
+			throw new NullPointerException("The dispatcher cannot be null");
+		} // else
+		this.dispatcher = dispatcher;
+	}
+
+	protected void readLock() {
+		lock.readLock().lock();
+	}
+
+	protected void readUnlock() {
+		lock.readLock().unlock();
+	}
+
+	protected void writeLock() {
+		lock.writeLock().lock();
+	}
+
+	protected void writeUnlock() {
+		lock.writeLock().unlock();
+	}
+
+	/**
+	 * Notifies the listeners of the whole map of the given change, then the listeners of its key.
+	 *
+	 * @param change The change.
+	 */
+	protected void fireChange(MapChange<K, V> change) {
+		fireChange(Collections.singletonList(change));
+	}
+
+	/**
+	 * Notifies the listeners of the whole map of the given changes, then the listeners of each key of each change.
+	 *
+	 * @param changes The changes.
+	 */
+	protected void fireChange(Iterable<MapChange<K, V>> changes) {
+		purgeCollectedListeners();
+		final Dispatcher dispatcher = this.dispatcher;
+		if (dispatcher == SynchronousDispatcher.INSTANCE) {
+			notifyListeners(dispatcher, changes);
+		} else {
+			dispatcher.dispatchAll(() -> notifyListeners(dispatcher, changes));
+		}
+	}
+
+	private void notifyListeners(Dispatcher dispatcher, Iterable<MapChange<K, V>> changes) {
+		dispatch(dispatcher, changeListeners, changes);
+		if (keyListeners.isEmpty()) {
+			return;
+		} // else
+		for (MapChange<K, V> change : changes) {
+			MapChangeListener<K, V>[] listeners = keyListeners.get(maskNull(change.getKey()));
+			if (listeners != null) {
+				dispatch(dispatcher, listeners, Collections.singletonList(change));
+			}
+		}
+	}
+
+	private void dispatch(Dispatcher dispatcher, MapChangeListener<K, V>[] listeners,
+			Iterable<MapChange<K, V>> changes) {
+		if (dispatcher == SynchronousDispatcher.INSTANCE) {
+			for (MapChangeListener<K, V> listener : listeners) {
+				listener.onChange(this, changes);
+			}
+		} else {
+			for (MapChangeListener<K, V> listener : listeners) {
+				dispatcher.dispatch(new MapNotification<>(this, listener, changes));
+			}
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Basic implementation of the listener management of an {@link ObservableValue}.
+ * <p/>
+ * Adding and removing listeners and firing changes are thread-safe operations.
+ * <p/>
+ * Listeners are stored in a copy-on-write array so that firing a change neither locks nor allocates.
+ * <p/>
+ * The listeners are notified through a {@link Dispatcher}, synchronously by default.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
+
+	@SuppressWarnings("unchecked")
+	protected volatile ChangeListener<T>[] changeListeners = (ChangeListener<T>[]) new ChangeListener<?>[0];
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Queue of the collected weak listeners, created by the first call to {@code addWeakChangeListener}.
+	 */
+	private volatile ReferenceQueue<Object> collectedListeners;
+
+	/**
+	 * Indicates if a {@link DerivedValue} depends on this observable, in which case the listeners are notified inside
+	 * a {@link Propagation} scope.
+	 */
+	volatile boolean propagated;
+
+	protected volatile Dispatcher dispatcher = SynchronousDispatcher.INSTANCE;
+
+	@Override
+	public void addChangeListener(ChangeListener<T> listener) {
+		writeLock();
+		try {
+			changeListeners = Listeners.add(changeListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public void removeChangeListener(ChangeListener<T> listener) {
+		writeLock();
+		try {
+			changeListeners = Listeners.remove(changeListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public void addWeakChangeListener(ChangeListener<T> listener) {
+		writeLock();
+		try {
+			if (collectedListeners == null) {
+				collectedListeners = new ReferenceQueue<>();
+			}
+			changeListeners = Listeners.add(changeListeners, new WeakListener<T, Object>(listener, collectedListeners));
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	/**
+	 * Removes the weak listeners whose delegate has been garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void purgeCollectedListeners() {
+		final ReferenceQueue<Object> queue = collectedListeners;
+		if (queue == null) {
+			return;
+		} // else
+		Reference<?> collected;
+		while ((collected = queue.poll()) != null) {
+			removeChangeListener((WeakListener<T, ?>) collected);
+		}
+	}
+
+	/**
+	 * Returns the {@link Dispatcher} notifying the listeners of this value.
+	 *
+	 * @return the {@link Dispatcher} notifying the listeners of this value.
+	 */
+	public Dispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * Changes the {@link Dispatcher} notifying the listeners of this value.
+	 *
+	 * @param dispatcher The new {@link Dispatcher}.
+	 */
+	public void setDispatcher(Dispatcher dispatcher) {
+		if (dispatcher == null) {
+			throw new NullPointerException("The dispatcher cannot be null");
+		} // else
+		this.dispatcher = dispatcher;
+	}
+
+	protected void readLock() {
+		lock.readLock().lock();
+	}
+
+	protected void readUnlock() {
+		lock.readLock().unlock();
+	}
+
+	protected void writeLock() {
+		lock.writeLock().lock();
+	}
+
+	protected void writeUnlock() {
+		lock.writeLock().unlock();
+	}
+
+	protected void fireChange(T oldValue, T newValue) {
+		purgeCollectedListeners();
+		if (!propagated) {
+			notifyListeners(oldValue, newValue);
+			return;
+		} // else
+		Propagation propagation = Propagation.begin();
+		try {
+			notifyListeners(oldValue, newValue);
+		} finally {
+			propagation.end();
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the given change, in the current propagation scope.
+	 *
+	 * @param oldValue The old value.
+	 * @param newValue The new value.
+	 */
+	void notifyListeners(T oldValue, T newValue) {
+		final Dispatcher dispatcher = this.dispatcher;
+		if (dispatcher == SynchronousDispatcher.INSTANCE) {
+			for (ChangeListener<T> listener : changeListeners) {
+				listener.onChange(this, oldValue, newValue);
+			}
+		} else {
+			dispatcher.dispatchAll(() -> {
+				for (ChangeListener<T> listener : changeListeners) {
+					dispatcher.dispatch(new ValueNotification<ChangeListener<T>, T>(this, listener, oldValue, newValue,
+							(l, o, n) -> l.onChange(this, o, n)));
+				}
+			});
+		}
+	}
+}
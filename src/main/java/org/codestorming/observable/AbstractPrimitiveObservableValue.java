@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Listener management shared by the primitive-specialized observable values.
+ * <p/>
+ * The primitive listeners are stored in a copy-on-write array like the boxed ones. A change is given to
+ * {@link #firePrimitiveChange(long, long)} as the bits of the old and new values, so that the primitive listeners are
+ * notified without boxing nor allocating, and both kinds of listeners are notified inside the same
+ * {@link Propagation} scope.
+ *
+ * @param <T> The boxed type of value.
+ * @param <L> The type of primitive listener.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+abstract class AbstractPrimitiveObservableValue<T, L> extends AbstractObservableValue<T> {
+
+	protected volatile L[] primitiveListeners;
+
+	/**
+	 * Creates an {@code AbstractPrimitiveObservableValue}.
+	 *
+	 * @param noListeners An empty array of primitive listeners.
+	 */
+	AbstractPrimitiveObservableValue(L[] noListeners) {
+		primitiveListeners = noListeners;
+	}
+
+	protected void addPrimitiveListener(L listener) {
+		writeLock();
+		try {
+			primitiveListeners = Listeners.add(primitiveListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	protected void removePrimitiveListener(L listener) {
+		writeLock();
+		try {
+			primitiveListeners = Listeners.remove(primitiveListeners, listener);
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	/**
+	 * Calls the given primitive listener.
+	 *
+	 * @param listener The primitive listener.
+	 * @param oldBits The bits of the old value.
+	 * @param newBits The bits of the new value.
+	 */
+	abstract void notifyListener(L listener, long oldBits, long newBits);
+
+	/**
+	 * Returns the boxed value of the given bits.
+	 *
+	 * @param bits The bits of a value.
+	 * @return the boxed value.
+	 */
+	abstract T box(long bits);
+
+	/**
+	 * Notifies the primitive listeners of a change, then the boxed listeners if there are some.
+	 *
+	 * @param oldBits The bits of the old value.
+	 * @param newBits The bits of the new value.
+	 */
+	protected void firePrimitiveChange(long oldBits, long newBits) {
+		purgeCollectedListeners();
+		if (!propagated) {
+			notifyListeners(oldBits, newBits);
+			return;
+		} // else
+		Propagation propagation = Propagation.begin();
+		try {
+			notifyListeners(oldBits, newBits);
+		} finally {
+			propagation.end();
+		}
+	}
+
+	private void notifyListeners(long oldBits, long newBits) {
+		final Dispatcher dispatcher = this.dispatcher;
+		if (dispatcher == SynchronousDispatcher.INSTANCE) {
+			for (L listener : primitiveListeners) {
+				notifyListener(listener, oldBits, newBits);
+			}
+			if (changeListeners.length > 0) {
+				notifyListeners(box(oldBits), box(newBits));
+			}
+		} else {
+			dispatcher.dispatchAll(() -> {
+				for (L listener : primitiveListeners) {
+					dispatcher.dispatch(new ValueNotification<L, Long>(this, listener, oldBits, newBits,
+							this::notifyListener));
+				}
+				if (changeListeners.length > 0) {
+					notifyListeners(box(oldBits), box(newBits));
+				}
+			});
+		}
+	}
+}
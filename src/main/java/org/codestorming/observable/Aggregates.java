@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregates of the elements of an {@link ObservableCollection}, maintained from its changes.
+ * <p/>
+ * Each added or removed element updates an aggregate in constant or logarithmic time, and the aggregate notifies at
+ * most one change per notification of the collection. The aggregates are read-only: setting or binding them throws an
+ * {@link UnsupportedOperationException}.
+ * <p/>
+ * The collection only references its aggregates weakly: an aggregate must be referenced as long as it is used.
+ * Aggregates are not thread-safe, their collection must be modified by a single thread at a time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public final class Aggregates {
+
+	private Aggregates() {}
+
+	/**
+	 * Returns the number of elements of the given collection.
+	 *
+	 * @param collection The observed collection.
+	 * @return the number of elements of the collection.
+	 */
+	public static <E> ObservableIntValue count(ObservableCollection<E> collection) {
+		return count(collection, element -> true);
+	}
+
+	/**
+	 * Returns the number of elements of the given collection matching the given {@link Predicate}.
+	 *
+	 * @param collection The observed collection.
+	 * @param predicate The predicate the counted elements match.
+	 * @return the number of matching elements of the collection.
+	 */
+	public static <E> ObservableIntValue count(ObservableCollection<E> collection, Predicate<? super E> predicate) {
+		final IntAggregate count = new IntAggregate();
+		CollectionAggregator<E> aggregator = new CollectionAggregator<E>(collection) {
+			private int value;
+
+			@Override
+			protected void added(E element) {
+				if (predicate.test(element)) {
+					value++;
+				}
+			}
+
+			@Override
+			protected void removed(E element) {
+				if (value > 0 && predicate.test(element)) {
+					value--;
+				}
+			}
+
+			@Override
+			protected void clear() {
+				value = 0;
+			}
+
+			@Override
+			protected void publish() {
+				count.update(value);
+			}
+		};
+		count.owner = aggregator;
+		aggregator.start();
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the given function over the elements of the given collection.
+	 * <p/>
+	 * The sum overflows like the {@code long} additions.
+	 *
+	 * @param collection The observed collection.
+	 * @param function The function of the summed values.
+	 * @return the sum over the elements of the collection.
+	 */
+	public static <E> ObservableLongValue sumLong(ObservableCollection<E> collection,
+			ToLongFunction<? super E> function) {
+		final LongAggregate sum = new LongAggregate();
+		CollectionAggregator<E> aggregator = new CollectionAggregator<E>(collection) {
+			private long value;
+
+			@Override
+			protected void added(E element) {
+				value += function.applyAsLong(element);
+			}
+
+			@Override
+			protected void removed(E element) {
+				value -= function.applyAsLong(element);
+			}
+
+			@Override
+			protected void clear() {
+				value = 0L;
+			}
+
+			@Override
+			protected void publish() {
+				sum.update(value);
+			}
+		};
+		sum.owner = aggregator;
+		aggregator.start();
+		return sum;
+	}
+
+	/**
+	 * Returns the sum of the given function over the elements of the given collection.
+	 * <p/>
+	 * The sum is compensated so that adding then removing values does not accumulate rounding errors, and the
+	 * infinite and {@code NaN} values are counted apart so that removing them restores a finite sum.
+	 *
+	 * @param collection The observed collection.
+	 * @param function The function of the summed values.
+	 * @return the sum over the elements of the collection.
+	 */
+	public static <E> ObservableDoubleValue sumDouble(ObservableCollection<E> collection,
+			ToDoubleFunction<? super E> function) {
+		final DoubleAggregate sum = new DoubleAggregate();
+		CollectionAggregator<E> aggregator = new CollectionAggregator<E>(collection) {
+			private double value;
+
+			private double compensation;
+
+			private int nanCount;
+
+			private int positiveInfinityCount;
+
+			private int negativeInfinityCount;
+
+			@Override
+			protected void added(E element) {
+				add(function.applyAsDouble(element), 1);
+			}
+
+			@Override
+			protected void removed(E element) {
+				add(function.applyAsDouble(element), -1);
+			}
+
+			private void add(double term, int sign) {
+				if (Double.isNaN(term)) {
+					nanCount += sign;
+				} else if (term == Double.POSITIVE_INFINITY) {
+					positiveInfinityCount += sign;
+				} else if (term == Double.NEGATIVE_INFINITY) {
+					negativeInfinityCount += sign;
+				} else {
+					term *= sign;
+					double total = value + term;
+					if (Math.abs(value) >= Math.abs(term)) {
+						compensation += (value - total) + term;
+					} else {
+						compensation += (term - total) + value;
+					}
+					value = total;
+				}
+			}
+
+			@Override
+			protected void clear() {
+				value = 0.0;
+				compensation = 0.0;
+				nanCount = 0;
+				positiveInfinityCount = 0;
+				negativeInfinityCount = 0;
+			}
+
+			@Override
+			protected void publish() {
+				if (nanCount > 0 || positiveInfinityCount > 0 && negativeInfinityCount > 0) {
+					sum.update(Double.NaN);
+				} else if (positiveInfinityCount > 0) {
+					sum.update(Double.POSITIVE_INFINITY);
+				} else if (negativeInfinityCount > 0) {
+					sum.update(Double.NEGATIVE_INFINITY);
+				} else {
+					sum.update(value + compensation);
+				}
+			}
+		};
+		sum.owner = aggregator;
+		aggregator.start();
+		return sum;
+	}
+
+	/**
+	 * Returns the smallest element of the given collection according to the given {@link Comparator}, or
+	 * {@code null} if the collection is empty.
+	 * <p/>
+	 * The elements are grouped by comparator order in an ordered map so that removing the smallest element takes
+	 * logarithmic time. When several elements are equal according to the comparator, the earliest added one still in
+	 * the collection is returned.
+	 *
+	 * @param collection The observed collection.
+	 * @param comparator The comparator ordering the elements, or {@code null} for their natural ordering.
+	 * @return the smallest element of the collection.
+	 */
+	public static <E> ObservableValue<E> min(ObservableCollection<E> collection, Comparator<? super E> comparator) {
+		return extremum(collection, comparator, true);
+	}
+
+	/**
+	 * Returns the greatest element of the given collection according to the given {@link Comparator}, or
+	 * {@code null} if the collection is empty.
+	 * <p/>
+	 * The elements are grouped by comparator order in an ordered map so that removing the greatest element takes
+	 * logarithmic time. When several elements are equal according to the comparator, the earliest added one still in
+	 * the collection is returned.
+	 *
+	 * @param collection The observed collection.
+	 * @param comparator The comparator ordering the elements, or {@code null} for their natural ordering.
+	 * @return the greatest element of the collection.
+	 */
+	public static <E> ObservableValue<E> max(ObservableCollection<E> collection, Comparator<? super E> comparator) {
+		return extremum(collection, comparator, false);
+	}
+
+	private static <E> ObservableValue<E> extremum(ObservableCollection<E> collection,
+			Comparator<? super E> comparator, final boolean min) {
+		final Aggregate<E> extremum = new Aggregate<>();
+		CollectionAggregator<E> aggregator = new CollectionAggregator<E>(collection) {
+			private final TreeMap<E, Deque<E>> elements = new TreeMap<>(comparator);
+
+			@Override
+			protected void added(E element) {
+				elements.computeIfAbsent(element, key -> new LinkedList<>()).addLast(element);
+			}
+
+			@Override
+			protected void removed(E element) {
+				Deque<E> group = elements.get(element);
+				if (group == null) {
+					return;
+				} // else
+				// The key of a group is its first element
+				boolean keyRemoved = Objects.equals(group.peekFirst(), element);
+				if (!group.removeFirstOccurrence(element)) {
+					return;
+				} // else
+				if (group.isEmpty()) {
+					elements.remove(element);
+				} else if (keyRemoved) {
+					elements.remove(element);
+					elements.put(group.peekFirst(), group);
+				}
+			}
+
+			@Override
+			protected void clear() {
+				elements.clear();
+			}
+
+			@Override
+			protected void publish() {
+				if (elements.isEmpty()) {
+					extremum.update(null);
+				} else {
+					extremum.update((min ? elements.firstEntry() : elements.lastEntry()).getValue().peekFirst());
+				}
+			}
+		};
+		extremum.owner = aggregator;
+		aggregator.start();
+		return extremum;
+	}
+
+	/**
+	 * Returns the number of elements of the given collection for each key computed by the given {@link Function}.
+	 *
+	 * @param collection The observed collection.
+	 * @param keyFunction The function computing the key of an element.
+	 * @return the histogram of the keys of the elements.
+	 */
+	public static <E, K> Histogram<K> histogram(ObservableCollection<E> collection,
+			Function<? super E, ? extends K> keyFunction) {
+		Histogram<K> histogram = new Histogram<>();
+		CollectionAggregator<E> aggregator = new CollectionAggregator<E>(collection) {
+			@Override
+			protected void added(E element) {
+				histogram.increment(keyFunction.apply(element), 1);
+			}
+
+			@Override
+			protected void removed(E element) {
+				histogram.increment(keyFunction.apply(element), -1);
+			}
+
+			@Override
+			protected void clear() {
+				histogram.clear();
+			}
+
+			@Override
+			protected void publish() {
+				histogram.publish();
+			}
+		};
+		histogram.aggregator = aggregator;
+		aggregator.start();
+		return histogram;
+	}
+
+	/**
+	 * Read-only {@link ObservableValue} updated by its aggregator.
+	 */
+	static final class Aggregate<T> extends SimpleObservableValue<T> {
+
+		Object owner;
+
+		void update(T value) {
+			super.set(value);
+		}
+
+		@Override
+		public void set(T value) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void bind(ObservableValue<T> observable, boolean notifyChange) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void unbind(ObservableValue<T> observable) {}
+	}
+
+	/**
+	 * Read-only {@link ObservableIntValue} updated by its aggregator.
+	 */
+	static final class IntAggregate extends SimpleObservableIntValue {
+
+		Object owner;
+
+		void update(int value) {
+			super.setInt(value);
+		}
+
+		@Override
+		public void setInt(int value) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void bind(ObservableValue<Integer> observable, boolean notifyChange) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void unbind(ObservableValue<Integer> observable) {}
+	}
+
+	/**
+	 * Read-only {@link ObservableLongValue} updated by its aggregator.
+	 */
+	static final class LongAggregate extends SimpleObservableLongValue {
+
+		Object owner;
+
+		void update(long value) {
+			super.setLong(value);
+		}
+
+		@Override
+		public void setLong(long value) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void bind(ObservableValue<Long> observable, boolean notifyChange) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void unbind(ObservableValue<Long> observable) {}
+	}
+
+	/**
+	 * Read-only {@link ObservableDoubleValue} updated by its aggregator.
+	 */
+	static final class DoubleAggregate extends SimpleObservableDoubleValue {
+
+		Object owner;
+
+		void update(double value) {
+			super.setDouble(value);
+		}
+
+		@Override
+		public void setDouble(double value) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void bind(ObservableValue<Double> observable, boolean notifyChange) {
+			throw new UnsupportedOperationException("Aggregates are read-only");
+		}
+
+		@Override
+		public void unbind(ObservableValue<Double> observable) {}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Group of {@link ObservableValue}s bound together by sharing a single value.
+ * <p/>
+ * Unlike values bound with {@link ObservableValue#bind(ObservableValue)}, the {@link Member}s of a group do not hold
+ * a value of their own: changing any of them changes the value of the group once, then notifies the listeners of each
+ * member exactly once, without propagating the change from member to member.
+ * <p/>
+ * The members are created by the group with {@link #newMember()} and stay referenced by the group until they
+ * {@link Member#leave() leave} it, from then on holding a value of their own.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class BindingGroup<T> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<BindingGroup, Object> VALUE =
+			AtomicReferenceFieldUpdater.newUpdater(BindingGroup.class, Object.class, "value");
+
+	private volatile T value;
+
+	@SuppressWarnings("unchecked")
+	private volatile Member<T>[] members = (Member<T>[]) new Member<?>[0];
+
+	/**
+	 * Creates a {@code BindingGroup} initialized with {@code null}.
+	 */
+	public BindingGroup() {}
+
+	/**
+	 * Creates a {@code BindingGroup} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public BindingGroup(T value) {
+		this.value = value;
+	}
+
+	/**
+	 * Returns the value shared by the members of this group.
+	 *
+	 * @return the value shared by the members of this group.
+	 */
+	public T get() {
+		return value;
+	}
+
+	/**
+	 * Changes the value shared by the members of this group and notifies the listeners of each member.
+	 * <p/>
+	 * The members are notified in a single {@link Propagation} scope: the derived values depending on several members
+	 * are recomputed once.
+	 *
+	 * @param value The new value.
+	 */
+	@SuppressWarnings("unchecked")
+	public void set(T value) {
+		T oldValue = (T) VALUE.getAndSet(this, value);
+		if (oldValue != value) {
+			Propagation propagation = Propagation.begin();
+			try {
+				for (Member<T> member : members) {
+					member.fireChange(oldValue, value);
+				}
+			} finally {
+				propagation.end();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new member of this group.
+	 *
+	 * @return the new member.
+	 */
+	public Member<T> newMember() {
+		Member<T> member = new Member<>(this);
+		synchronized (this) {
+			members = Listeners.add(members, member);
+		}
+		return member;
+	}
+
+	/**
+	 * Returns the number of members of this group.
+	 *
+	 * @return the number of members of this group.
+	 */
+	public int size() {
+		return members.length;
+	}
+
+	/**
+	 * {@link ObservableValue} whose value is the value of its {@link BindingGroup}.
+	 */
+	public static class Member<T> extends AbstractObservableValue<T> {
+
+		private final BindingGroup<T> group;
+
+		private volatile boolean left;
+
+		private volatile T value;
+
+		private Member(BindingGroup<T> group) {
+			this.group = group;
+		}
+
+		/**
+		 * Returns the group of this member, or the group it belonged to if it {@link #leave() left} it.
+		 *
+		 * @return the group of this member.
+		 */
+		public BindingGroup<T> getGroup() {
+			return group;
+		}
+
+		/**
+		 * Removes this member from its group.
+		 * <p/>
+		 * The member keeps the current value of the group as its own value: changing the group no longer changes the
+		 * member, and changing the member no longer changes the group.
+		 */
+		public void leave() {
+			synchronized (group) {
+				if (!left) {
+					value = group.get();
+					left = true;
+					group.members = Listeners.remove(group.members, this);
+				}
+			}
+		}
+
+		/**
+		 * Indicates if this member {@link #leave() left} its group.
+		 *
+		 * @return {@code true} if this member left its group.
+		 */
+		public boolean hasLeft() {
+			return left;
+		}
+
+		@Override
+		public T get() {
+			return left ? value : group.get();
+		}
+
+		/**
+		 * Changes the value of the group of this member, or the value of this member if it {@link #leave() left} its
+		 * group.
+		 *
+		 * @param value the new value.
+		 */
+		@Override
+		public void set(T value) {
+			if (!left) {
+				group.set(value);
+				return;
+			} // else
+			T oldValue = this.value;
+			this.value = value;
+			if (oldValue != value) {
+				fireChange(oldValue, value);
+			}
+		}
+
+		@Override
+		public void bind(ObservableValue<T> observable) {
+			bind(observable, false);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p/>
+		 * <strong>NOTE:</strong> The binding changes the value of the whole group, unless this member left it.
+		 */
+		@Override
+		public void bind(ObservableValue<T> observable, boolean notifyChange) {
+			new SimpleObservableValue.Binder<T>(this, observable) {
+				@Override
+				protected void assign(T value) {
+					if (left) {
+						Member.this.value = value;
+					} else {
+						group.value = value;
+					}
+				}
+			}.bind(notifyChange);
+		}
+
+		@Override
+		public void unbind(ObservableValue<T> observable) {
+			new SimpleObservableValue.Binder<>(this, observable).unbind();
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk removal of the elements of a collection, notified as a single change.
+ * <p/>
+ * The membership tests against the argument of {@code removeAll} and {@code retainAll} use the argument itself when
+ * it is a {@link Set}, a linear scan when it is small, and a hashed copy otherwise. Lists are modified once all the
+ * elements have been tested, so that a failing filter leaves the list unchanged, and those supporting fast random
+ * access are truncated then compacted in a single pass, so that a list not supporting removals is left unchanged too.
+ * The elements of a list can also be tested in parallel.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class BulkRemoval {
+
+	/**
+	 * Maximum size of an argument scanned linearly rather than hashed.
+	 */
+	private static final int LINEAR_THRESHOLD = 16;
+
+	private BulkRemoval() {}
+
+	/**
+	 * Returns a predicate testing if an element is contained in the given collection.
+	 *
+	 * @param c The collection.
+	 * @return the membership test of the collection.
+	 */
+	static Predicate<Object> membership(Collection<?> c) {
+		if (c instanceof Set) {
+			return c::contains;
+		} // else
+		if (c.size() <= LINEAR_THRESHOLD) {
+			final Object[] values = c.toArray();
+			return element -> {
+				for (Object value : values) {
+					if (Objects.equals(value, element)) {
+						return true;
+					}
+				}
+				return false;
+			};
+		} // else
+		return new HashSet<>(c)::contains;
+	}
+
+	/**
+	 * Removes the elements of the given collection matching the given filter.
+	 *
+	 * @param collection The collection.
+	 * @param filter The filter of the elements to remove.
+	 * @return the unpositioned removal of the matching elements, or {@code null} if none matched.
+	 */
+	static <E> CollectionChangeSet<E> removeIf(Collection<E> collection, Predicate<? super E> filter) {
+		List<E> removed = new ArrayList<>();
+		Iterator<E> iterator = collection.iterator();
+		while (iterator.hasNext()) {
+			E element = iterator.next();
+			if (filter.test(element)) {
+				iterator.remove();
+				removed.add(element);
+			}
+		}
+		return removed.isEmpty() ? null : new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE,
+				removed.toArray());
+	}
+
+	/**
+	 * Removes the elements of the given list matching the given filter, with a run for each range of contiguous
+	 * removed elements.
+	 *
+	 * @param list The list.
+	 * @param filter The filter of the elements to remove.
+	 * @return the positioned removal of the matching elements, or {@code null} if none matched.
+	 */
+	static <E> CollectionChangeSet<E> removeIf(List<E> list, Predicate<? super E> filter) {
+		BitSet matching = new BitSet(list.size());
+		int index = 0;
+		for (E element : list) {
+			if (filter.test(element)) {
+				matching.set(index);
+			}
+			index++;
+		}
+		return removeMarked(list, matching);
+	}
+
+	/**
+	 * Removes the elements of the given list matching the given filter, testing them in parallel in the common
+	 * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.
+	 *
+	 * @param list The list.
+	 * @param filter The thread-safe filter of the elements to remove.
+	 * @return the positioned removal of the matching elements, or {@code null} if none matched.
+	 * @see #removeIf(List, Predicate)
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> CollectionChangeSet<E> parallelRemoveIf(List<E> list, Predicate<? super E> filter) {
+		final Object[] values = list.toArray();
+		BitSet matching = new BitSet(values.length);
+		for (int index : IntStream.range(0, values.length).parallel().filter(i -> filter.test((E) values[i]))
+				.toArray()) {
+			matching.set(index);
+		}
+		return removeMarked(list, matching);
+	}
+
+	private static <E> CollectionChangeSet<E> removeMarked(List<E> list, BitSet matching) {
+		final int removedCount = matching.cardinality();
+		if (removedCount == 0) {
+			return null;
+		} // else
+		Object[] removed = new Object[removedCount];
+		List<CollectionChangeSet.Run<E>> runs = new ArrayList<>();
+		int count = 0;
+		for (int start = matching.nextSetBit(0), end; start >= 0; start = matching.nextSetBit(end)) {
+			end = matching.nextClearBit(start);
+			// The run is positioned after the elements kept so far
+			runs.add(new CollectionChangeSet.Run<>(CollectionChange.ChangeType.REMOVE, removed, count,
+					count + end - start, start - count));
+			count += end - start;
+		}
+
+		count = 0;
+		if (list instanceof RandomAccess) {
+			final int size = list.size();
+			final int keptCount = size - removedCount;
+			final int first = matching.nextSetBit(0);
+			// Truncates the list before compacting it, so that a list not supporting the removals is left unmodified
+			final List<E> tail = new ArrayList<>(list.subList(keptCount, size));
+			list.subList(keptCount, size).clear();
+			int write = first;
+			for (int read = first; read < size; read++) {
+				E element = read < keptCount ? list.get(read) : tail.get(read - keptCount);
+				if (matching.get(read)) {
+					removed[count++] = element;
+				} else {
+					list.set(write++, element);
+				}
+			}
+		} else {
+			final ListIterator<E> iter = list.listIterator();
+			for (int read = 0; iter.hasNext(); read++) {
+				E element = iter.next();
+				if (matching.get(read)) {
+					iter.remove();
+					removed[count++] = element;
+				}
+			}
+		}
+		return new CollectionChangeSet<>(runs);
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buffers the {@link CollectionChange}s fired during a batch of an {@link AbstractObservableCollection}.
+ * <p/>
+ * When committed, an {@link CollectionChange.ChangeType#ADD ADD} followed by a
+ * {@link CollectionChange.ChangeType#REMOVE REMOVE} of an equal element cancel each other out. For
+ * {@link ListChange}s, the element is followed through the intermediate changes: the two changes only cancel out if
+ * they concern the same position, in which case the positions of the intermediate changes are shifted accordingly.
+ * <p/>
+ * A batch is confined to the thread that opened it: it is only active for that thread, which alone buffers its
+ * changes, until the outermost batch is committed.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class ChangeBatch<E> {
+
+	private final List<CollectionChange<E>> changes = new ArrayList<>();
+
+	/**
+	 * The thread that opened the batch in progress, {@code null} if there is none.
+	 */
+	private final AtomicReference<Thread> owner = new AtomicReference<>();
+
+	/**
+	 * The number of nested batches, only accessed by the owner.
+	 */
+	private int depth;
+
+	/**
+	 * Opens a (possibly nested) batch on the current thread.
+	 *
+	 * @throws IllegalStateException if a batch is in progress on another thread.
+	 */
+	void begin() throws IllegalStateException {
+		final Thread current = Thread.currentThread();
+		if (owner.get() != current && !owner.compareAndSet(null, current)) {
+			throw new IllegalStateException("A batch is in progress on another thread");
+		} // else
+		depth++;
+	}
+
+	/**
+	 * Closes the innermost batch of the current thread.
+	 * <p/>
+	 * When the outermost batch is closed, the batch stays owned by the current thread until it is committed.
+	 *
+	 * @return {@code true} if the outermost batch has been closed.
+	 * @throws IllegalStateException if no batch is in progress on the current thread.
+	 */
+	boolean end() throws IllegalStateException {
+		if (owner.get() != Thread.currentThread() || depth == 0) {
+			throw new IllegalStateException("No batch in progress");
+		} // else
+		return --depth == 0;
+	}
+
+	/**
+	 * Indicates if a batch is in progress on the current thread.
+	 *
+	 * @return {@code true} if the current thread has opened a batch.
+	 */
+	boolean isActive() {
+		return owner.get() == Thread.currentThread() && depth > 0;
+	}
+
+	/**
+	 * Buffers the given changes.
+	 *
+	 * @param changes The changes to buffer.
+	 */
+	void add(Iterable<CollectionChange<E>> changes) {
+		for (CollectionChange<E> change : changes) {
+			this.changes.add(change);
+		}
+	}
+
+	/**
+	 * Returns the coalesced buffered changes, clears the buffer and releases the batch for the other threads.
+	 * <p/>
+	 * Must be called by the thread that closed the outermost batch.
+	 *
+	 * @return the coalesced changes, in the order they happened.
+	 */
+	List<CollectionChange<E>> commit() {
+		try {
+			return coalesce();
+		} finally {
+			changes.clear();
+			owner.set(null);
+		}
+	}
+
+	private List<CollectionChange<E>> coalesce() {
+		List<CollectionChange<E>> committed = new ArrayList<>(changes.size());
+		Map<E, Deque<Integer>> added = new HashMap<>();
+		int cancelled = 0;
+		for (CollectionChange<E> change : changes) {
+			if (change.getType() == CollectionChange.ChangeType.REMOVE) {
+				Deque<Integer> positions = added.get(change.getValue());
+				if (positions != null && !positions.isEmpty() && cancel(committed, positions.getLast(), change)) {
+					positions.removeLast();
+					cancelled++;
+					continue;
+				}
+			} else if (change.getType() == CollectionChange.ChangeType.ADD) {
+				added.computeIfAbsent(change.getValue(), value -> new ArrayDeque<>()).add(committed.size());
+			}
+			committed.add(change);
+		}
+		if (cancelled > 0) {
+			committed.removeIf(change -> change == null);
+		}
+		return committed;
+	}
+
+	/**
+	 * Cancels out the addition at the given position of the committed changes with the given removal if they concern
+	 * the same element.
+	 *
+	 * @param committed The changes committed so far.
+	 * @param position The position of the addition in {@code committed}.
+	 * @param removal The removal.
+	 * @return {@code true} if the changes have been cancelled out.
+	 */
+	private boolean cancel(List<CollectionChange<E>> committed, int position, CollectionChange<E> removal) {
+		CollectionChange<E> addition = committed.get(position);
+		if (!(addition instanceof ListChange) && !(removal instanceof ListChange)) {
+			committed.set(position, null);
+			return true;
+		} // else
+		if (!(addition instanceof ListChange) || !(removal instanceof ListChange)) {
+			return false;
+		} // else
+
+		// Follows the added element up to the removal
+		int index = ((ListChange<E>) addition).getFrom();
+		for (int i = position + 1; i < committed.size(); i++) {
+			CollectionChange<E> change = committed.get(i);
+			if (change == null) {
+				continue;
+			} // else
+			if (!(change instanceof ListChange) || change.getType() == CollectionChange.ChangeType.PERMUTATION) {
+				return false;
+			} // else
+			int from = ((ListChange<E>) change).getFrom();
+			if (change.getType() == CollectionChange.ChangeType.ADD) {
+				if (from <= index) {
+					index++;
+				}
+			} else if (from == index) {
+				return false;
+			} else if (from < index && change.getType() == CollectionChange.ChangeType.REMOVE) {
+				index--;
+			}
+		}
+		if (index != ((ListChange<E>) removal).getFrom()) {
+			return false;
+		} // else
+
+		// Shifts the intermediate changes as if the element had never been added
+		committed.set(position, null);
+		index = ((ListChange<E>) addition).getFrom();
+		for (int i = position + 1; i < committed.size(); i++) {
+			ListChange<E> change = (ListChange<E>) committed.get(i);
+			if (change == null) {
+				continue;
+			} // else
+			int from = change.getFrom();
+			if (change.getType() == CollectionChange.ChangeType.ADD && from <= index) {
+				index++;
+			} else if (change.getType() == CollectionChange.ChangeType.REMOVE && from < index) {
+				index--;
+			} else if (from > index) {
+				committed.set(i, change.moveTo(from - 1));
+			}
+		}
+		return true;
+	}
+}
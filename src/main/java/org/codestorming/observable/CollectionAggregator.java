@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link CollectionChangeListener} maintaining an aggregate of the elements of an {@link ObservableCollection}.
+ * <p/>
+ * Each added or removed element updates the aggregate, which is published once per notification. A replacement
+ * without its old value makes the aggregate be computed again from the whole collection.
+ * <p/>
+ * The collection only references its aggregators weakly: the aggregate exposing the result must reference its
+ * aggregator.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+abstract class CollectionAggregator<E> implements CollectionChangeListener<E> {
+
+	protected final ObservableCollection<E> source;
+
+	protected CollectionAggregator(ObservableCollection<E> source) {
+		this.source = source;
+	}
+
+	/**
+	 * Aggregates the current elements of the source then starts listening to its changes.
+	 */
+	protected void start() {
+		for (E element : source) {
+			added(element);
+		}
+		publish();
+		source.addWeakChangeListener(this);
+	}
+
+	@Override
+	public void onChange(ObservableCollection<E> source, Iterable<CollectionChange<E>> changes) {
+		if (changes instanceof CollectionChangeSet) {
+			for (CollectionChangeSet.Run<E> run : ((CollectionChangeSet<E>) changes).getRuns()) {
+				boolean added = run.getType() == CollectionChange.ChangeType.ADD;
+				for (int i = 0; i < run.size(); i++) {
+					if (added) {
+						added(run.get(i));
+					} else {
+						removed(run.get(i));
+					}
+				}
+			}
+		} else {
+			for (CollectionChange<E> change : changes) {
+				switch (change.getType()) {
+				case ADD:
+					added(change.getValue());
+					break;
+				case REMOVE:
+					removed(change.getValue());
+					break;
+				case REPLACE:
+					if (!(change instanceof ListChange)) {
+						reset();
+						publish();
+						return;
+					} // else
+					removed(((ListChange<E>) change).getOldValue());
+					added(change.getValue());
+					break;
+				case PERMUTATION:
+					break;
+				}
+			}
+		}
+		publish();
+	}
+
+	private void reset() {
+		clear();
+		for (E element : this.source) {
+			added(element);
+		}
+	}
+
+	/**
+	 * Takes the given added element into account.
+	 *
+	 * @param element The added element.
+	 */
+	protected abstract void added(E element);
+
+	/**
+	 * Takes the given removed element into account.
+	 *
+	 * @param element The removed element.
+	 */
+	protected abstract void removed(E element);
+
+	/**
+	 * Resets the aggregate as if the source was empty.
+	 */
+	protected abstract void clear();
+
+	/**
+	 * Publishes the aggregate after a notification of the source.
+	 */
+	protected abstract void publish();
+}
@@ -20,9 +20,13 @@ public class CollectionChange<T> {
 
 	/**
 	 * Type of change that can occur on an observable collection.
+	 * <p/>
+	 * {@link #REPLACE} and {@link #PERMUTATION} are only notified by {@link ObservableList}s through
+	 * {@link ListChange}s. A {@code REPLACE} is equivalent to the removal of the old value followed by the addition of
+	 * the new one.
 	 */
 	public enum ChangeType {
-		ADD, REMOVE,
+		ADD, REMOVE, REPLACE, PERMUTATION,
 	}
 
 	protected final ChangeType type;
@@ -49,6 +53,8 @@ public class CollectionChange<T> {
 	 * Returns the removed element if the change type is {@link ChangeType#REMOVE}
 	 * <p/>
 	 * Returns the added element if the change type is {@link ChangeType#ADD}
+	 * <p/>
+	 * Returns the new element if the change type is {@link ChangeType#REPLACE}
 	 *
 	 * @return the value concerning the change.
 	 */
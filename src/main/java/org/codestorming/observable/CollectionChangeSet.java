@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact representation of a bulk of changes that happened on an {@link ObservableCollection}.
+ * <p/>
+ * The changes are stored as {@link Run}s of values sharing the same {@link CollectionChange.ChangeType} and backed by
+ * a slice of an array. When notified by an {@link ObservableList}, a run also knows the position of its values in the
+ * list and is iterated as {@link ListChange}s. The {@link CollectionChange} objects are only created when iterating
+ * over this set, listeners that only need the counts or the values of the runs should use {@link #size()} and
+ * {@link #getRuns()} instead:
+ * <pre>
+ *     if (changes instanceof CollectionChangeSet) {
+ *         for (CollectionChangeSet.Run&lt;E&gt; run : ((CollectionChangeSet&lt;E&gt;) changes).getRuns()) {
+ *             ...
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class CollectionChangeSet<E> implements Iterable<CollectionChange<E>> {
+
+	/**
+	 * Values of a {@link CollectionChangeSet} concerned by the same type of change.
+	 */
+	public static class Run<E> {
+
+		protected final CollectionChange.ChangeType type;
+
+		protected final Object[] values;
+
+		protected final int from;
+
+		protected final int to;
+
+		protected final int index;
+
+		/**
+		 * Creates a {@code Run} backed by the {@code [from, to)} slice of the given array.
+		 * <p/>
+		 * The array must not be modified afterwards.
+		 *
+		 * @param type The type of change.
+		 * @param values The array containing the values concerned by the change.
+		 * @param from Index of the first value in the array (inclusive).
+		 * @param to Index of the last value in the array (exclusive).
+		 */
+		public Run(CollectionChange.ChangeType type, Object[] values, int from, int to) {
+			this(type, values, from, to, -1);
+		}
+
+		/**
+		 * Creates a {@code Run} of values added to or removed from a contiguous range of a list, backed by the
+		 * {@code [from, to)} slice of the given array.
+		 * <p/>
+		 * The array must not be modified afterwards.
+		 *
+		 * @param type The type of change, {@link CollectionChange.ChangeType#ADD ADD} or
+		 * {@link CollectionChange.ChangeType#REMOVE REMOVE}.
+		 * @param values The array containing the values concerned by the change.
+		 * @param from Index of the first value in the array (inclusive).
+		 * @param to Index of the last value in the array (exclusive).
+		 * @param index Position in the list of the first value, or {@code -1} if unknown.
+		 */
+		public Run(CollectionChange.ChangeType type, Object[] values, int from, int to, int index) {
+			if (from < 0 || to > values.length || from > to) {
+				throw new IndexOutOfBoundsException("Invalid slice [" + from + ", " + to + ") of " + values.length);
+			} // else
+			if (type != CollectionChange.ChangeType.ADD && type != CollectionChange.ChangeType.REMOVE) {
+				throw new IllegalArgumentException("Expected ADD or REMOVE but was " + type);
+			} // else
+			this.type = type;
+			this.values = values;
+			this.from = from;
+			this.to = to;
+			this.index = index;
+		}
+
+		/**
+		 * Returns the type of change that occured on the values of this run.
+		 *
+		 * @return the type of change that occured on the values of this run.
+		 */
+		public CollectionChange.ChangeType getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the position in the list of the first value of this run, or {@code -1} if unknown.
+		 * <p/>
+		 * The values of the run occupied the {@code [index, index + size())} range of the list before their removal,
+		 * or occupy it after their addition.
+		 *
+		 * @return the position in the list of the first value of this run, or {@code -1} if unknown.
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Returns the number of values in this run.
+		 *
+		 * @return the number of values in this run.
+		 */
+		public int size() {
+			return to - from;
+		}
+
+		/**
+		 * Returns the value at the given position in this run.
+		 *
+		 * @param index Position of the value in this run.
+		 * @return the value at the given position in this run.
+		 */
+		@SuppressWarnings("unchecked")
+		public E get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			} // else
+			return (E) values[from + index];
+		}
+
+		/**
+		 * Returns an unmodifiable view of the values of this run.
+		 *
+		 * @return an unmodifiable view of the values of this run.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<E> getValues() {
+			return Collections.unmodifiableList((List<E>) Arrays.asList(values).subList(from, to));
+		}
+	}
+
+	protected final List<Run<E>> runs;
+
+	protected final int size;
+
+	/**
+	 * Creates a {@code CollectionChangeSet} made of a single run containing all the given values.
+	 * <p/>
+	 * The array must not be modified afterwards.
+	 *
+	 * @param type The type of change.
+	 * @param values The values concerned by the change.
+	 */
+	public CollectionChangeSet(CollectionChange.ChangeType type, Object[] values) {
+		this(type, values, 0, values.length);
+	}
+
+	/**
+	 * Creates a {@code CollectionChangeSet} made of a single run backed by the {@code [from, to)} slice of the given
+	 * array.
+	 * <p/>
+	 * The array must not be modified afterwards.
+	 *
+	 * @param type The type of change.
+	 * @param values The array containing the values concerned by the change.
+	 * @param from Index of the first value in the array (inclusive).
+	 * @param to Index of the last value in the array (exclusive).
+	 */
+	public CollectionChangeSet(CollectionChange.ChangeType type, Object[] values, int from, int to) {
+		this(type, values, from, to, -1);
+	}
+
+	/**
+	 * Creates a {@code CollectionChangeSet} made of a single run of values added to or removed from a contiguous range
+	 * of a list, backed by the {@code [from, to)} slice of the given array.
+	 * <p/>
+	 * The array must not be modified afterwards.
+	 *
+	 * @param type The type of change.
+	 * @param values The array containing the values concerned by the change.
+	 * @param from Index of the first value in the array (inclusive).
+	 * @param to Index of the last value in the array (exclusive).
+	 * @param index Position in the list of the first value, or {@code -1} if unknown.
+	 */
+	public CollectionChangeSet(CollectionChange.ChangeType type, Object[] values, int from, int to, int index) {
+		this(Collections.singletonList(new Run<>(type, values, from, to, index)));
+	}
+
+	/**
+	 * Creates a {@code CollectionChangeSet} made of the given runs.
+	 *
+	 * @param runs The runs of changes, in the order they happened.
+	 */
+	public CollectionChangeSet(List<Run<E>> runs) {
+		this.runs = Collections.unmodifiableList(runs);
+		int size = 0;
+		for (Run<E> run : runs) {
+			size += run.size();
+		}
+		this.size = size;
+	}
+
+	/**
+	 * Returns the total number of changes in this set.
+	 *
+	 * @return the total number of changes in this set.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of changes of the given type in this set.
+	 *
+	 * @param type The type of change.
+	 * @return the number of changes of the given type in this set.
+	 */
+	public int count(CollectionChange.ChangeType type) {
+		int count = 0;
+		for (Run<E> run : runs) {
+			if (run.type == type) {
+				count += run.size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the runs of this set, in the order they happened.
+	 *
+	 * @return the unmodifiable list of the runs of this set.
+	 */
+	public List<Run<E>> getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Returns an iterator creating the {@link CollectionChange}s as they are reached.
+	 * <p/>
+	 * The changes of a run with a known position are {@link ListChange}s: the {@code i}-th value of an
+	 * {@link CollectionChange.ChangeType#ADD ADD} run is at {@code index + i}, while all the values of a
+	 * {@link CollectionChange.ChangeType#REMOVE REMOVE} run are removed from {@code index} one after the other.
+	 *
+	 * @return an iterator over the changes of this set.
+	 */
+	@Override
+	public Iterator<CollectionChange<E>> iterator() {
+		return new Iterator<CollectionChange<E>>() {
+
+			private int run;
+
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				while (run < runs.size() && index == runs.get(run).size()) {
+					run++;
+					index = 0;
+				}
+				return run < runs.size();
+			}
+
+			@Override
+			public CollectionChange<E> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				} // else
+				Run<E> current = runs.get(run);
+				E value = current.get(index);
+				if (current.index < 0) {
+					index++;
+					return new CollectionChange<>(current.type, value);
+				} // else
+				int position = current.type == CollectionChange.ChangeType.ADD ? current.index + index : current.index;
+				index++;
+				return new ListChange<>(current.type, value, position);
+			}
+		};
+	}
+}
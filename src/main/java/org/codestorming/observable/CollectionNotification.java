@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notification of the changes of an {@link ObservableCollection} to a {@link CollectionChangeListener}.
+ * <p/>
+ * Conflated notifications are delivered as the concatenation of their changes.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class CollectionNotification<E> implements Dispatcher.Notification {
+
+	private final ObservableCollection<E> source;
+
+	private final CollectionChangeListener<E> listener;
+
+	private final Iterable<CollectionChange<E>> changes;
+
+	CollectionNotification(ObservableCollection<E> source, CollectionChangeListener<E> listener,
+			Iterable<CollectionChange<E>> changes) {
+		this.source = source;
+		this.listener = listener;
+		this.changes = changes;
+	}
+
+	@Override
+	public Object getListener() {
+		return listener;
+	}
+
+	@Override
+	public Object getSource() {
+		return source;
+	}
+
+	@Override
+	public void deliver() {
+		listener.onChange(source, changes);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Dispatcher.Notification conflate(Dispatcher.Notification next) {
+		List<CollectionChange<E>> conflated = new ArrayList<>();
+		for (CollectionChange<E> change : changes) {
+			conflated.add(change);
+		}
+		for (CollectionChange<E> change : ((CollectionNotification<E>) next).changes) {
+			conflated.add(change);
+		}
+		return new CollectionNotification<>(source, listener, conflated);
+	}
+}
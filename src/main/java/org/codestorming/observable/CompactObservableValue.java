@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * {@link ObservableValue} with a minimal memory footprint, for the applications creating large numbers of values that
+ * are rarely listened to.
+ * <p/>
+ * A {@code CompactObservableValue} has no lock, no dispatcher and no listener array until it is listened to: its
+ * listeners field is {@code null} while it has no listener, then references the listener itself while it has a single
+ * one, and a copy-on-write array only from the second one. The field is updated by compare-and-set through a shared
+ * field updater, so adding and removing listeners remain thread-safe without any lock object.
+ * <p/>
+ * The listeners are always notified synchronously, on the thread changing the value. The weak listeners whose
+ * delegate has been garbage collected are removed the next time the value changes.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see SimpleObservableValue
+ */
+public class CompactObservableValue<T> implements ObservableValue<T> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<CompactObservableValue, Object> LISTENERS =
+			AtomicReferenceFieldUpdater.newUpdater(CompactObservableValue.class, Object.class, "listeners");
+
+	protected T value;
+
+	/**
+	 * {@code null}, a single {@link ChangeListener}, or an array of at least two listeners.
+	 */
+	private volatile Object listeners;
+
+	/**
+	 * Indicates if a {@link DerivedValue} depends on this observable, in which case the listeners are notified inside
+	 * a {@link Propagation} scope.
+	 */
+	volatile boolean propagated;
+
+	/**
+	 * Creates a {@code CompactObservableValue} initialized with {@code null}.
+	 */
+	public CompactObservableValue() {}
+
+	/**
+	 * Creates a {@code CompactObservableValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public CompactObservableValue(T value) {
+		this.value = value;
+	}
+
+	@Override
+	public T get() {
+		return value;
+	}
+
+	@Override
+	public void set(T value) {
+		if (value != this.value) {
+			T oldValue = this.value;
+			this.value = value;
+			fireChange(oldValue, value);
+		}
+	}
+
+	@Override
+	public void addChangeListener(ChangeListener<T> listener) {
+		if (listener == null) {
+			throw new NullPointerException("The listener cannot be null");
+		} // else
+		Object current;
+		Object updated;
+		do {
+			current = listeners;
+			updated = added(current, listener);
+		} while (updated != current && !LISTENERS.compareAndSet(this, current, updated));
+	}
+
+	@Override
+	public void removeChangeListener(ChangeListener<T> listener) {
+		Object current;
+		Object updated;
+		do {
+			current = listeners;
+			updated = removed(current, listener);
+		} while (updated != current && !LISTENERS.compareAndSet(this, current, updated));
+	}
+
+	@Override
+	public void bind(ObservableValue<T> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<T> observable, boolean notifyChange) {
+		CompactBinder<T> binder = new CompactBinder<>(this, observable);
+		binder.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<T> observable) {
+		CompactBinder<T> binder = new CompactBinder<>(this, observable);
+		binder.unbind();
+	}
+
+	protected void fireChange(T oldValue, T newValue) {
+		final Object listeners = this.listeners;
+		if (listeners == null) {
+			return;
+		} // else
+		if (!propagated) {
+			notifyListeners(listeners, oldValue, newValue);
+			return;
+		} // else
+		Propagation propagation = Propagation.begin();
+		try {
+			notifyListeners(listeners, oldValue, newValue);
+		} finally {
+			propagation.end();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void notifyListeners(Object listeners, T oldValue, T newValue) {
+		if (listeners instanceof ChangeListener) {
+			notifyListener((ChangeListener<T>) listeners, oldValue, newValue);
+		} else {
+			for (ChangeListener<T> listener : (ChangeListener<T>[]) listeners) {
+				notifyListener(listener, oldValue, newValue);
+			}
+		}
+	}
+
+	private void notifyListener(ChangeListener<T> listener, T oldValue, T newValue) {
+		if (listener instanceof WeakListener && ((WeakListener<?, ?>) listener).get() == null) {
+			removeChangeListener(listener);
+		} else {
+			listener.onChange(this, oldValue, newValue);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Object added(Object listeners, ChangeListener<T> listener) {
+		if (listeners == null) {
+			return listener;
+		} // else
+		if (listeners instanceof ChangeListener) {
+			return listeners.equals(listener) ? listeners :
+					new ChangeListener<?>[] {(ChangeListener<?>) listeners, listener};
+		} // else
+		return Listeners.add((ChangeListener<T>[]) listeners, listener);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Object removed(Object listeners, ChangeListener<T> listener) {
+		if (listeners == null) {
+			return null;
+		} // else
+		if (listeners instanceof ChangeListener) {
+			return Listeners.matches(listeners, listener) ? null : listeners;
+		} // else
+		ChangeListener<T>[] remaining = Listeners.remove((ChangeListener<T>[]) listeners, listener);
+		if (remaining == listeners) {
+			return listeners;
+		} // else
+		return remaining.length == 1 ? remaining[0] : remaining;
+	}
+
+	/**
+	 * {@link SimpleObservableValue.Binder} assigning the value of a {@code CompactObservableValue}.
+	 */
+	private static final class CompactBinder<T> extends SimpleObservableValue.Binder<T> {
+
+		CompactBinder(CompactObservableValue<T> obs0, ObservableValue<T> obs1) {
+			super(obs0, obs1);
+		}
+
+		@Override
+		protected void assign(T value) {
+			((CompactObservableValue<T>) getObs0()).value = value;
+		}
+	}
+}
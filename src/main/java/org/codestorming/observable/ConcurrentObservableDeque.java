@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe observable {@link Deque} backed by a lock-free {@link ConcurrentLinkedDeque}.
+ * <p/>
+ * An element is linked in the deque while holding its lock, so that a thread removing it from either end waits for
+ * its addition to be posted before posting its removal: the changes of an element are notified in the order they
+ * were made, see {@link AbstractConcurrentObservableCollection}. The iterators remove the iterated element itself.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConcurrentObservableDeque<E> extends AbstractConcurrentObservableCollection<E> implements Deque<E> {
+
+	private final ConcurrentLinkedDeque<E> deque;
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableDeque} with four lock stripes per available processor.
+	 */
+	public ConcurrentObservableDeque() {
+		this(LockStripes.defaultConcurrencyLevel());
+	}
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableDeque} with at least the given number of lock stripes.
+	 *
+	 * @param concurrencyLevel The estimated number of threads modifying the deque concurrently.
+	 */
+	public ConcurrentObservableDeque(int concurrencyLevel) {
+		this(new ConcurrentLinkedDeque<>(), concurrencyLevel);
+	}
+
+	private ConcurrentObservableDeque(ConcurrentLinkedDeque<E> deque, int concurrencyLevel) {
+		super(deque, concurrencyLevel);
+		this.deque = deque;
+	}
+
+	@Override
+	public boolean offerFirst(E e) {
+		ReentrantLock lock = lockOf(e);
+		lock.lock();
+		try {
+			deque.offerFirst(e);
+			fireChange(CollectionChange.ChangeType.ADD, e);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean offerLast(E e) {
+		ReentrantLock lock = lockOf(e);
+		lock.lock();
+		try {
+			deque.offerLast(e);
+			fireChange(CollectionChange.ChangeType.ADD, e);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E pollFirst() {
+		return removed(deque.pollFirst());
+	}
+
+	@Override
+	public E pollLast() {
+		return removed(deque.pollLast());
+	}
+
+	/**
+	 * Notifies the removal of the given element, once its addition has been posted.
+	 */
+	private E removed(E element) {
+		if (element != null) {
+			ReentrantLock lock = lockOf(element);
+			lock.lock();
+			try {
+				fireChange(CollectionChange.ChangeType.REMOVE, element);
+			} finally {
+				lock.unlock();
+			}
+		}
+		return element;
+	}
+
+	@Override
+	public void addFirst(E e) {
+		offerFirst(e);
+	}
+
+	@Override
+	public void addLast(E e) {
+		offerLast(e);
+	}
+
+	@Override
+	public E removeFirst() {
+		E element = pollFirst();
+		if (element == null) {
+			throw new NoSuchElementException();
+		} // else
+		return element;
+	}
+
+	@Override
+	public E removeLast() {
+		E element = pollLast();
+		if (element == null) {
+			throw new NoSuchElementException();
+		} // else
+		return element;
+	}
+
+	@Override
+	public E getFirst() {
+		return deque.getFirst();
+	}
+
+	@Override
+	public E getLast() {
+		return deque.getLast();
+	}
+
+	@Override
+	public E peekFirst() {
+		return deque.peekFirst();
+	}
+
+	@Override
+	public E peekLast() {
+		return deque.peekLast();
+	}
+
+	@Override
+	public boolean removeFirstOccurrence(Object o) {
+		return remove(o);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean removeLastOccurrence(Object o) {
+		ReentrantLock lock = lockOf(o);
+		lock.lock();
+		try {
+			if (!deque.removeLastOccurrence(o)) {
+				return false;
+			} // else
+			fireChange(CollectionChange.ChangeType.REMOVE, (E) o);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean add(E e) {
+		return offerLast(e);
+	}
+
+	@Override
+	public boolean offer(E e) {
+		return offerLast(e);
+	}
+
+	@Override
+	public E remove() {
+		return removeFirst();
+	}
+
+	@Override
+	public E poll() {
+		return pollFirst();
+	}
+
+	@Override
+	public E element() {
+		return getFirst();
+	}
+
+	@Override
+	public E peek() {
+		return peekFirst();
+	}
+
+	@Override
+	public void push(E e) {
+		addFirst(e);
+	}
+
+	@Override
+	public E pop() {
+		return removeFirst();
+	}
+
+	@Override
+	public void clear() {
+		while (pollFirst() != null) {
+			// Each removal is notified by pollFirst
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new NodeIterator(deque.iterator());
+	}
+
+	@Override
+	public Iterator<E> descendingIterator() {
+		return new NodeIterator(deque.descendingIterator());
+	}
+
+	/**
+	 * Iterator removing the iterated element itself rather than the first or last one equal to it.
+	 */
+	private final class NodeIterator extends AbstractIteratorWrapper<E> {
+
+		NodeIterator(Iterator<E> iterator) {
+			super(iterator);
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			} // else
+			ReentrantLock lock = lockOf(last);
+			lock.lock();
+			try {
+				iter.remove();
+				fireChange(CollectionChange.ChangeType.REMOVE, last);
+			} finally {
+				lock.unlock();
+			}
+			last = null;
+		}
+	}
+}
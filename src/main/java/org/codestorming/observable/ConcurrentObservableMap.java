@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe {@link ObservableMap} backed by a {@link ConcurrentHashMap}.
+ * <p/>
+ * The keys are spread over lock stripes: a modification happens under the lock of the stripe of the key, and its
+ * change is notified once the lock is released, so that the changes of a key are notified in the order they were made
+ * while the threads modifying keys of different stripes do not contend. As no lock is held while notifying, the
+ * listeners may modify the map. They may be notified concurrently by different threads, possibly other than the
+ * modifying ones, and must be thread-safe.
+ * <p/>
+ * Like {@link ConcurrentHashMap}, the bulk operations {@link #putAll(Map)} and {@link #clear()} are not atomic: each
+ * of their changes is notified on its own.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConcurrentObservableMap<K, V> extends ObservableMapWrapper<K, V> implements ConcurrentMap<K, V> {
+
+	private final ConcurrentMap<K, V> map;
+
+	private final LockStripes stripes;
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableMap} with four lock stripes per available processor.
+	 */
+	public ConcurrentObservableMap() {
+		this(LockStripes.defaultConcurrencyLevel());
+	}
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableMap} with at least the given number of lock stripes.
+	 *
+	 * @param concurrencyLevel The estimated number of threads modifying the map concurrently.
+	 */
+	public ConcurrentObservableMap(int concurrencyLevel) {
+		this(new ConcurrentHashMap<>(), concurrencyLevel);
+	}
+
+	private ConcurrentObservableMap(ConcurrentMap<K, V> map, int concurrencyLevel) {
+		super(map);
+		this.map = map;
+		stripes = new LockStripes(concurrencyLevel);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V oldValue = map.put(key, value);
+			if (oldValue == null) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.PUT, key, null, value)));
+			} else if (oldValue != value) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.REPLACE, key, oldValue, value)));
+			}
+			return oldValue;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V oldValue = map.remove(key);
+			if (oldValue != null) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.REMOVE, (K) key, oldValue, null)));
+			}
+			return oldValue;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> m) {
+		for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (K key : map.keySet()) {
+			remove(key);
+		}
+	}
+
+	@Override
+	protected void remove(Iterator<Map.Entry<K, V>> iterator, Map.Entry<K, V> entry) {
+		remove(entry.getKey());
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V oldValue = map.putIfAbsent(key, value);
+			if (oldValue == null) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.PUT, key, null, value)));
+			}
+			return oldValue;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object key, Object value) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V currentValue = map.get(key);
+			if (currentValue == null || !currentValue.equals(value)) {
+				return false;
+			} // else
+			map.remove(key);
+			lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.REMOVE, (K) key, currentValue, null)));
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V currentValue = map.get(key);
+			if (currentValue == null || !currentValue.equals(oldValue)) {
+				return false;
+			} // else
+			map.put(key, newValue);
+			if (currentValue != newValue) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.REPLACE, key, currentValue, newValue)));
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		LockStripes.Stripe lock = stripes.get(key);
+		lock.lock();
+		try {
+			V oldValue = map.replace(key, value);
+			if (oldValue != null && oldValue != value) {
+				lock.post(() -> fireChange(new MapChange<>(MapChange.ChangeType.REPLACE, key, oldValue, value)));
+			}
+			return oldValue;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
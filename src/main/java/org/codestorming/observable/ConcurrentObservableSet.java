@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe observable {@link Set} backed by a {@link ConcurrentHashMap}.
+ * <p/>
+ * The changes of an element are notified in the order they were made, see
+ * {@link AbstractConcurrentObservableCollection}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConcurrentObservableSet<E> extends AbstractConcurrentObservableCollection<E> implements Set<E> {
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableSet} with four lock stripes per available processor.
+	 */
+	public ConcurrentObservableSet() {
+		this(LockStripes.defaultConcurrencyLevel());
+	}
+
+	/**
+	 * Creates an empty {@code ConcurrentObservableSet} with at least the given number of lock stripes.
+	 *
+	 * @param concurrencyLevel The estimated number of threads modifying the set concurrently.
+	 */
+	public ConcurrentObservableSet(int concurrencyLevel) {
+		super(ConcurrentHashMap.<E> newKeySet(), concurrencyLevel);
+	}
+
+	@Override
+	public boolean add(E e) {
+		ReentrantLock lock = lockOf(e);
+		lock.lock();
+		try {
+			if (!wrapped.add(e)) {
+				return false;
+			} // else
+			fireChange(CollectionChange.ChangeType.ADD, e);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || wrapped.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return wrapped.hashCode();
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * {@link ObservableValue} whose listeners only receive the latest value.
+ * <p/>
+ * Setting the value only publishes it, without locking nor allocating. The listeners are notified later, either by a
+ * task of the {@link Executor} given at construction, or by a call to {@link #flush()} (e.g. on each tick of a UI
+ * loop). All the values set in the meantime are conflated into a single change from the last notified value to the
+ * latest one. While the listeners are being notified, new values are conflated until the notification ends.
+ * <p/>
+ * {@link #get()} always returns the latest value, which may not have been notified yet.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConflatingObservableValue<T> extends AbstractObservableValue<T> {
+
+	private static final int IDLE = 0;
+
+	private static final int PENDING = 1;
+
+	private static final int NOTIFYING = 2;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ConflatingObservableValue, Object> VALUE =
+			AtomicReferenceFieldUpdater.newUpdater(ConflatingObservableValue.class, Object.class, "value");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<ConflatingObservableValue> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(ConflatingObservableValue.class, "state");
+
+	private volatile T value;
+
+	private volatile int state;
+
+	/**
+	 * The last value notified to the listeners, only accessed by the notifying thread.
+	 */
+	private T notified;
+
+	private final Executor executor;
+
+	private final Runnable notification = this::flush;
+
+	/**
+	 * Creates a {@code ConflatingObservableValue} initialized with {@code null}, whose listeners are notified by
+	 * calling {@link #flush()}.
+	 */
+	public ConflatingObservableValue() {
+		this(null, null);
+	}
+
+	/**
+	 * Creates a {@code ConflatingObservableValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 * @param executor The executor notifying the listeners, or {@code null} if they are notified by calling
+	 * {@link #flush()}.
+	 */
+	public ConflatingObservableValue(T value, Executor executor) {
+		this.value = value;
+		this.notified = value;
+		this.executor = executor;
+	}
+
+	@Override
+	public T get() {
+		return value;
+	}
+
+	@Override
+	public void set(T value) {
+		if (VALUE.getAndSet(this, value) != value && STATE.compareAndSet(this, IDLE, PENDING)) {
+			schedule();
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the pending change, if any.
+	 * <p/>
+	 * Does nothing if another thread is already notifying the listeners.
+	 */
+	@SuppressWarnings("unchecked")
+	public void flush() {
+		if (!STATE.compareAndSet(this, PENDING, NOTIFYING)) {
+			return;
+		} // else
+		final T latest = (T) VALUE.get(this);
+		try {
+			if (latest != notified) {
+				T oldValue = notified;
+				notified = latest;
+				fireChange(oldValue, latest);
+			}
+		} finally {
+			state = IDLE;
+			// A value set while notifying has not scheduled any notification
+			if (value != latest && STATE.compareAndSet(this, IDLE, PENDING)) {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * Submits the notification of the pending change to the executor, if any.
+	 * <p/>
+	 * If the executor rejects the notification, the value goes back to idle so that the next change schedules a new
+	 * notification, and the exception is thrown.
+	 */
+	private void schedule() {
+		if (executor == null) {
+			return;
+		} // else
+		try {
+			executor.execute(notification);
+		} catch (RuntimeException | Error e) {
+			STATE.compareAndSet(this, PENDING, IDLE);
+			throw e;
+		}
+	}
+
+	@Override
+	public void bind(ObservableValue<T> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<T> observable, boolean notifyChange) {
+		new SimpleObservableValue.Binder<T>(this, observable) {
+			@Override
+			protected void assign(T value) {
+				ConflatingObservableValue.this.value = value;
+				notified = value;
+			}
+		}.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<T> observable) {
+		new SimpleObservableValue.Binder<>(this, observable).unbind();
+	}
+}
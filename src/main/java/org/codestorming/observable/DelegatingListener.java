@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Listener registered in place of another one, and removed by removing the listener it delegates to.
+ * <p/>
+ * A {@code DelegatingListener} is only equal to an equivalent {@code DelegatingListener}, so that the listener it
+ * delegates to can also be registered on its own. {@link Listeners#remove(Object[], Object)} matches the delegate
+ * explicitly.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+interface DelegatingListener {
+
+	/**
+	 * Returns the listener this listener delegates to, or {@code null} if it is no longer available.
+	 *
+	 * @return the listener this listener delegates to.
+	 */
+	Object getDelegate();
+}
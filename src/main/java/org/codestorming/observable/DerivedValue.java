@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-only {@link ObservableValue} computed from other {@code ObservableValue}s.
+ * <p/>
+ * The computed value is cached until one of the sources changes. A change of a source only invalidates the cache: the
+ * value is computed again by the next call to {@link #get()}, unless the derived value has listeners, in which case it
+ * is computed immediately to notify them. Listeners are only notified if the new value is not
+ * {@link Objects#equals(Object, Object) equal} to the old one.
+ * <p/>
+ * The sources only reference their derived values weakly: a derived value must be referenced as long as it is used.
+ * A derived value does not listen to the derived values it depends on: they push their invalidation to it instead, so
+ * that a derived value without listeners is never computed eagerly, even when other derived values depend on it.
+ * <p/>
+ * Derived values are recomputed in topological order: when a change reaches a derived value through several paths
+ * (e.g. {@code d = combine(a.map(f), a.map(g))}), the derived value is recomputed once, after all of its sources, and
+ * its listeners never observe an intermediate state. The order is given by the {@link #getHeight() height} of the
+ * derived values. This also holds for a change reaching several sources through their bindings.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public abstract class DerivedValue<T> extends AbstractObservableValue<T> {
+
+	private final ChangeListener<Object> invalidator = (source, oldValue, newValue) -> invalidate();
+
+	private final CollectionChangeListener<Object> collectionInvalidator = (source, changes) -> invalidate();
+
+	@SuppressWarnings("unchecked")
+	private volatile WeakReference<DerivedValue<?>>[] dependents =
+			(WeakReference<DerivedValue<?>>[]) new WeakReference<?>[0];
+
+	private T value;
+
+	private boolean valid;
+
+	/**
+	 * Indicates if the recomputation of this derived value is scheduled.
+	 */
+	private boolean pending;
+
+	/**
+	 * The last value notified to the listeners.
+	 */
+	private T notified;
+
+	private volatile int height;
+
+	/**
+	 * Creates a {@code DerivedValue} depending on the given sources.
+	 *
+	 * @param sources The values the derived value is computed from.
+	 */
+	protected DerivedValue(ObservableValue<?>... sources) {
+		for (ObservableValue<?> source : sources) {
+			listenTo(source);
+		}
+	}
+
+	/**
+	 * Creates a {@code DerivedValue} applying the given function to the value of the source.
+	 *
+	 * @param source The source value.
+	 * @param mapper The function computing the derived value.
+	 * @return the derived value.
+	 */
+	public static <T, R> DerivedValue<R> map(final ObservableValue<T> source,
+			final Function<? super T, ? extends R> mapper) {
+		return new DerivedValue<R>(source) {
+			@Override
+			protected R compute() {
+				return mapper.apply(source.get());
+			}
+		};
+	}
+
+	/**
+	 * Creates a {@code DerivedValue} combining the values of the two given sources.
+	 *
+	 * @param source0 The first source value.
+	 * @param source1 The second source value.
+	 * @param combiner The function computing the derived value.
+	 * @return the derived value.
+	 */
+	public static <A, B, R> DerivedValue<R> combine(final ObservableValue<A> source0,
+			final ObservableValue<B> source1, final BiFunction<? super A, ? super B, ? extends R> combiner) {
+		return new DerivedValue<R>(source0, source1) {
+			@Override
+			protected R compute() {
+				return combiner.apply(source0.get(), source1.get());
+			}
+		};
+	}
+
+	/**
+	 * Creates a {@code DerivedValue} whose value is the value of the {@code ObservableValue} obtained by applying the
+	 * given function to the value of the source.
+	 * <p/>
+	 * The derived value changes when either the source or the current {@code ObservableValue} changes.
+	 *
+	 * @param source The source value.
+	 * @param mapper The function returning the {@code ObservableValue} holding the derived value, or {@code null}.
+	 * @return the derived value.
+	 */
+	public static <T, R> DerivedValue<R> flatMap(final ObservableValue<T> source,
+			final Function<? super T, ? extends ObservableValue<R>> mapper) {
+		return new DerivedValue<R>(source) {
+
+			private ObservableValue<R> current;
+
+			@Override
+			protected R compute() {
+				ObservableValue<R> next = mapper.apply(source.get());
+				if (next != current) {
+					if (current != null) {
+						stopListeningTo(current);
+					}
+					if (next != null) {
+						listenTo(next);
+					}
+					current = next;
+				}
+				return next != null ? next.get() : null;
+			}
+		};
+	}
+
+	/**
+	 * Computes the value from the sources.
+	 * <p/>
+	 * Called while holding the lock of this derived value.
+	 *
+	 * @return the computed value.
+	 */
+	protected abstract T compute();
+
+	/**
+	 * Invalidates this derived value when the given value changes.
+	 *
+	 * @param source The value this derived value depends on.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void listenTo(ObservableValue<?> source) {
+		Propagation.enlist(source);
+		int sourceHeight = source instanceof DerivedValue ? ((DerivedValue<?>) source).height : 0;
+		if (sourceHeight >= height) {
+			height = sourceHeight + 1;
+		}
+		if (source instanceof DerivedValue) {
+			((DerivedValue<?>) source).addDependent(this);
+		} else {
+			((ObservableValue<Object>) source).addWeakChangeListener(invalidator);
+		}
+	}
+
+	/**
+	 * Invalidates this derived value when the given collection changes.
+	 *
+	 * @param source The collection this derived value depends on.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void listenTo(ObservableCollection<?> source) {
+		Propagation.enlist(source);
+		if (height == 0) {
+			height = 1;
+		}
+		((ObservableCollection<Object>) source).addWeakChangeListener(collectionInvalidator);
+	}
+
+	/**
+	 * No longer invalidates this derived value when the given collection changes.
+	 *
+	 * @param source The collection this derived value no longer depends on.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void stopListeningTo(ObservableCollection<?> source) {
+		((ObservableCollection<Object>) source).removeChangeListener(collectionInvalidator);
+	}
+
+	/**
+	 * Returns the height of this derived value in the dependency graph: {@code 1} more than the highest of its
+	 * sources, the sources that are not derived values (including collections) having a height of {@code 0}.
+	 *
+	 * @return the height of this derived value.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * No longer invalidates this derived value when the given value changes.
+	 *
+	 * @param source The value this derived value no longer depends on.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void stopListeningTo(ObservableValue<?> source) {
+		if (source instanceof DerivedValue) {
+			((DerivedValue<?>) source).removeDependent(this);
+		} else {
+			((ObservableValue<Object>) source).removeChangeListener(invalidator);
+		}
+	}
+
+	/**
+	 * Invalidates the given derived value whenever this derived value is invalidated.
+	 *
+	 * @param dependent The derived value depending on this one.
+	 */
+	private synchronized void addDependent(DerivedValue<?> dependent) {
+		WeakReference<DerivedValue<?>>[] current = dependents;
+		int size = 0;
+		for (WeakReference<DerivedValue<?>> reference : current) {
+			DerivedValue<?> value = reference.get();
+			if (value == dependent) {
+				return;
+			} // else
+			if (value != null) {
+				current[size++] = reference;
+			}
+		}
+		WeakReference<DerivedValue<?>>[] updated = Arrays.copyOf(current, size + 1);
+		updated[size] = new WeakReference<>(dependent);
+		dependents = updated;
+	}
+
+	/**
+	 * No longer invalidates the given derived value when this derived value is invalidated.
+	 *
+	 * @param dependent The derived value no longer depending on this one.
+	 */
+	private synchronized void removeDependent(DerivedValue<?> dependent) {
+		WeakReference<DerivedValue<?>>[] current = dependents;
+		WeakReference<DerivedValue<?>>[] updated = Arrays.copyOf(current, current.length);
+		int size = 0;
+		for (WeakReference<DerivedValue<?>> reference : current) {
+			DerivedValue<?> value = reference.get();
+			if (value != null && value != dependent) {
+				updated[size++] = reference;
+			}
+		}
+		dependents = Arrays.copyOf(updated, size);
+	}
+
+	/**
+	 * Indicates if the cached value is up to date.
+	 *
+	 * @return {@code true} if the cached value is up to date.
+	 */
+	public synchronized boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Invalidates the cached value and the derived values depending on this one, and schedules the computation of the
+	 * value if this derived value has listeners.
+	 */
+	public void invalidate() {
+		boolean recompute;
+		synchronized (this) {
+			recompute = changeListeners.length > 0;
+			if (valid) {
+				valid = false;
+			} else if (pending || !recompute) {
+				return;
+			}
+			if (recompute) {
+				pending = true;
+			} else {
+				value = null;
+				notified = null;
+			}
+		}
+		Propagation propagation = Propagation.begin();
+		try {
+			for (WeakReference<DerivedValue<?>> reference : dependents) {
+				DerivedValue<?> dependent = reference.get();
+				if (dependent != null) {
+					dependent.invalidate();
+				}
+			}
+			if (recompute) {
+				Propagation.schedule(this);
+			}
+		} finally {
+			propagation.end();
+		}
+	}
+
+	/**
+	 * Cancels the scheduled computation of this derived value, whose value is computed again on demand or when it is
+	 * invalidated again.
+	 */
+	synchronized void cancelRecompute() {
+		pending = false;
+	}
+
+	/**
+	 * Computes the value if it is invalid and notifies the listeners if it differs from the last notified one.
+	 */
+	void recompute() {
+		T oldValue;
+		T newValue;
+		synchronized (this) {
+			pending = false;
+			get();
+			oldValue = notified;
+			newValue = notified = value;
+		}
+		if (!Objects.equals(oldValue, newValue)) {
+			fireChange(oldValue, newValue);
+		}
+	}
+
+	@Override
+	public synchronized T get() {
+		if (!valid) {
+			value = compute();
+			valid = true;
+		}
+		return value;
+	}
+
+	/**
+	 * Unsupported, a derived value is read-only.
+	 *
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public void set(T value) {
+		throw new UnsupportedOperationException("A derived value is read-only");
+	}
+
+	@Override
+	public synchronized void addChangeListener(ChangeListener<T> listener) {
+		observe();
+		super.addChangeListener(listener);
+	}
+
+	@Override
+	public synchronized void addWeakChangeListener(ChangeListener<T> listener) {
+		observe();
+		super.addWeakChangeListener(listener);
+	}
+
+	/**
+	 * Computes the value before the first listener is added, the listeners being notified of the changes from it.
+	 */
+	private void observe() {
+		if (changeListeners.length == 0) {
+			notified = get();
+		}
+	}
+
+	/**
+	 * Unsupported, a derived value is read-only.
+	 *
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public void bind(ObservableValue<T> observable) {
+		throw new UnsupportedOperationException("A derived value is read-only");
+	}
+
+	/**
+	 * Unsupported, a derived value is read-only.
+	 *
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public void bind(ObservableValue<T> observable, boolean notifyChange) {
+		throw new UnsupportedOperationException("A derived value is read-only");
+	}
+
+	@Override
+	public void unbind(ObservableValue<T> observable) {}
+}
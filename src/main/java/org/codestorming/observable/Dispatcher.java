@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * A {@code Dispatcher} delivers the notifications of an observable to its listeners.
+ * <p/>
+ * Implementations must deliver the notifications of a same listener in the order they have been dispatched, so that
+ * each listener receives the changes of a source in the order they happened.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see SynchronousDispatcher
+ * @see ExecutorDispatcher
+ * @see TrampolineDispatcher
+ */
+public interface Dispatcher {
+
+	/**
+	 * Delivers, now or later, the given notification.
+	 *
+	 * @param notification The notification to deliver.
+	 */
+	void dispatch(Notification notification);
+
+	/**
+	 * Runs the given operation dispatching the notifications of a same change.
+	 * <p/>
+	 * The observables using a dispatcher other than the {@link SynchronousDispatcher} dispatch all the notifications
+	 * of a change from such an operation, so that the dispatcher can keep them together. This default implementation
+	 * simply runs the operation.
+	 *
+	 * @param dispatching The operation calling {@link #dispatch(Notification)} for each notification of the change.
+	 */
+	default void dispatchAll(Runnable dispatching) {
+		dispatching.run();
+	}
+
+	/**
+	 * The notification of a change to one listener.
+	 */
+	interface Notification {
+
+		/**
+		 * Returns the listener to notify.
+		 *
+		 * @return the listener to notify.
+		 */
+		Object getListener();
+
+		/**
+		 * Returns the observable whose change is notified.
+		 * <p/>
+		 * This default implementation returns {@code null}: the notifications of an unknown source are all considered
+		 * to come from the same one.
+		 *
+		 * @return the observable whose change is notified, or {@code null} if unknown.
+		 */
+		default Object getSource() {
+			return null;
+		}
+
+		/**
+		 * Notifies the listener.
+		 */
+		void deliver();
+
+		/**
+		 * Returns a notification equivalent to this one followed by the given one, for the same listener and the same
+		 * source.
+		 *
+		 * @param next The notification following this one.
+		 * @return the conflated notification.
+		 */
+		Notification conflate(Notification next);
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Listener notified when the listened {@link ObservableDoubleValue} changes of value.
+ * <p/>
+ * Unlike a {@link ChangeListener}, the values are received as {@code double}s so that no boxing occurs.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface DoubleChangeListener {
+
+	/**
+	 * Notified by the given {@code source} that the value has changed.
+	 *
+	 * @param source The source of the notification.
+	 * @param oldValue The old value.
+	 * @param newValue The new value.
+	 */
+	void onChange(ObservableDoubleValue source, double oldValue, double newValue);
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link Dispatcher} delivering the notifications asynchronously with an {@link Executor}.
+ * <p/>
+ * Each listener has its own queue of pending notifications, drained by one task of the executor at a time: the
+ * notifications of a listener are delivered in order and never concurrently, while a slow listener does not delay the
+ * other ones.
+ * <p/>
+ * When the queue of a listener is full, the {@link OverflowPolicy} decides what happens to a new notification.
+ * <p/>
+ * An exception thrown by a listener is given to the {@link Thread.UncaughtExceptionHandler} of the thread delivering
+ * the notification. An {@link Error} ends the task delivering the notifications of the listener, the pending ones are
+ * delivered by the task scheduled by the next dispatch to the listener.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ExecutorDispatcher implements Dispatcher {
+
+	/**
+	 * Behavior of the dispatcher when the queue of a listener is full.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * The thread dispatching the notification waits until the queue has room for it.
+		 * <p/>
+		 * If the waiting thread is interrupted, the notification is queued anyway, beyond the capacity, and the
+		 * interrupt status of the thread is restored.
+		 * <p/>
+		 * <em>A listener must not change, on the delivering thread, an observable it is listening to.</em>
+		 */
+		BLOCK,
+
+		/**
+		 * The notification is discarded.
+		 */
+		DROP,
+
+		/**
+		 * The notification is {@link Dispatcher.Notification#conflate(Dispatcher.Notification) conflated} with the
+		 * last pending one of the same {@link Dispatcher.Notification#getSource() source}, which moves to the end of
+		 * the queue.
+		 * <p/>
+		 * If there is none, the notification is queued beyond the capacity: a listener has at most one such
+		 * notification per source.
+		 */
+		CONFLATE,
+	}
+
+	/**
+	 * Maximum number of notifications delivered by a task before giving the executor thread back.
+	 */
+	private static final int MAX_DELIVERIES_PER_TASK = 64;
+
+	/**
+	 * Minimum number of channels before the idle ones are retired.
+	 */
+	private static final int MIN_SWEEP_THRESHOLD = 64;
+
+	private final Executor executor;
+
+	private final int capacity;
+
+	private final OverflowPolicy policy;
+
+	private final ConcurrentMap<Object, Channel> channels = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of channels from which the idle ones are retired when a new one is needed.
+	 */
+	private volatile int sweepThreshold = MIN_SWEEP_THRESHOLD;
+
+	/**
+	 * Creates an {@code ExecutorDispatcher} with unbounded queues.
+	 *
+	 * @param executor The executor delivering the notifications.
+	 */
+	public ExecutorDispatcher(Executor executor) {
+		this(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Creates an {@code ExecutorDispatcher}.
+	 *
+	 * @param executor The executor delivering the notifications.
+	 * @param capacity The maximum number of pending notifications of a listener.
+	 * @param policy The behavior when the queue of a listener is full.
+	 */
+	public ExecutorDispatcher(Executor executor, int capacity, OverflowPolicy policy) {
+		if (executor == null || policy == null) {
+			throw new NullPointerException("The executor and the policy cannot be null");
+		} // else
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		} // else
+		this.executor = executor;
+		this.capacity = capacity;
+		this.policy = policy;
+	}
+
+	/**
+	 * Creates an {@code ExecutorDispatcher} draining the queue of each listener on a virtual thread.
+	 *
+	 * @param capacity The maximum number of pending notifications of a listener.
+	 * @param policy The behavior when the queue of a listener is full.
+	 * @return the new dispatcher.
+	 * @throws UnsupportedOperationException if virtual threads are not available (before Java 21).
+	 */
+	public static ExecutorDispatcher virtualThreads(int capacity, OverflowPolicy policy)
+			throws UnsupportedOperationException {
+		Executor executor;
+		try {
+			executor = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+		}
+		return new ExecutorDispatcher(executor, capacity, policy);
+	}
+
+	@Override
+	public void dispatch(Notification notification) {
+		final Object listener = notification.getListener();
+		Channel channel = channels.get(listener);
+		if (channel == null) {
+			channel = newChannel(listener);
+		}
+		while (!channel.offer(notification)) {
+			channel = newChannel(listener);
+		}
+	}
+
+	private Channel newChannel(Object listener) {
+		if (channels.size() >= sweepThreshold) {
+			// Retires the idle channels of the listeners that may no longer be notified
+			for (Channel channel : channels.values()) {
+				channel.retireIfIdle();
+			}
+			sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, 2 * channels.size());
+		}
+		return channels.computeIfAbsent(listener, Channel::new);
+	}
+
+	/**
+	 * Queue of the pending notifications of a listener.
+	 * <p/>
+	 * A drained channel stays idle in the map, ready for the next notification of its listener. The idle channels are
+	 * only retired when the number of channels doubles, a new one is then created by the next dispatch.
+	 */
+	private final class Channel implements Runnable {
+
+		private final Object listener;
+
+		private final ArrayDeque<Notification> queue = new ArrayDeque<>();
+
+		private boolean scheduled;
+
+		private boolean retired;
+
+		Channel(Object listener) {
+			this.listener = listener;
+		}
+
+		/**
+		 * Queues the given notification.
+		 *
+		 * @param notification The notification.
+		 * @return {@code false} if this channel is retired.
+		 */
+		boolean offer(Notification notification) {
+			synchronized (this) {
+				if (retired) {
+					return false;
+				} // else
+				boolean interrupted = false;
+				while (queue.size() >= capacity && !interrupted) {
+					if (policy == OverflowPolicy.DROP) {
+						return true;
+					} // else
+					if (policy == OverflowPolicy.CONFLATE) {
+						Notification pending = removeLast(notification.getSource());
+						if (pending == null) {
+							// The first pending notification of its source exceeds the capacity
+							break;
+						} // else
+						queue.addLast(pending.conflate(notification));
+						return true;
+					} // else
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						// The notification exceeds the capacity rather than being lost
+						Thread.currentThread().interrupt();
+						interrupted = true;
+					}
+					if (retired) {
+						return false;
+					}
+				}
+				queue.addLast(notification);
+				if (scheduled) {
+					return true;
+				} // else
+				scheduled = true;
+			}
+			schedule();
+			return true;
+		}
+
+		/**
+		 * Removes the last pending notification of the given source.
+		 *
+		 * @param source The source of the notification.
+		 * @return the removed notification, or {@code null} if there is none.
+		 */
+		private Notification removeLast(Object source) {
+			for (Iterator<Notification> iterator = queue.descendingIterator(); iterator.hasNext(); ) {
+				Notification pending = iterator.next();
+				if (pending.getSource() == source) {
+					iterator.remove();
+					return pending;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Retires this channel if it has no pending notification.
+		 */
+		synchronized void retireIfIdle() {
+			if (!scheduled && queue.isEmpty()) {
+				retired = true;
+				channels.remove(listener, this);
+				notifyAll();
+			}
+		}
+
+		private void schedule() {
+			try {
+				executor.execute(this);
+			} catch (RuntimeException | Error e) {
+				synchronized (this) {
+					scheduled = false;
+				}
+				throw e;
+			}
+		}
+
+		@Override
+		public void run() {
+			boolean delivering = true;
+			try {
+				for (int delivered = 0; delivered < MAX_DELIVERIES_PER_TASK; delivered++) {
+					Notification notification;
+					synchronized (this) {
+						notification = queue.pollFirst();
+						if (notification == null) {
+							scheduled = false;
+							delivering = false;
+							return;
+						} // else
+						notifyAll();
+					}
+					try {
+						notification.deliver();
+					} catch (RuntimeException e) {
+						Thread thread = Thread.currentThread();
+						thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+					}
+				}
+				delivering = false;
+			} finally {
+				if (delivering) {
+					// An error escaped from the listener, the next dispatch schedules the pending notifications
+					synchronized (this) {
+						scheduled = false;
+					}
+				}
+			}
+			schedule();
+		}
+	}
+}
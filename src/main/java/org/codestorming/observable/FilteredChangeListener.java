@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link CollectionChangeListener} delegating only the changes of some types whose element matches a filter.
+ * <p/>
+ * The element of a {@link CollectionChange.ChangeType#REPLACE REPLACE} matches if either the old or the new element
+ * matches, while a {@link CollectionChange.ChangeType#PERMUTATION PERMUTATION} has no element and is only filtered by
+ * its type.
+ * <p/>
+ * The observables maintaining a {@link SubscriptionIndex} give a {@code FilteredChangeListener} the changes it accepts
+ * directly to its delegate, the other observables notify it of all their changes and it filters them itself.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class FilteredChangeListener<E> implements CollectionChangeListener<E> {
+
+	private final CollectionChangeListener<E> delegate;
+
+	private final Set<CollectionChange.ChangeType> types;
+
+	private final Predicate<? super E> filter;
+
+	private final Function<? super E, ?> keyFunction;
+
+	private final Object key;
+
+	/**
+	 * Creates a {@code FilteredChangeListener}.
+	 *
+	 * @param delegate The listener notified of the accepted changes.
+	 * @param types The accepted types of change.
+	 * @param filter The filter of the elements, or {@code null} to accept all the elements.
+	 * @param keyFunction The function computing the key of an element, or {@code null} to accept all the keys.
+	 * @param key The key of the accepted elements.
+	 */
+	FilteredChangeListener(CollectionChangeListener<E> delegate, Set<CollectionChange.ChangeType> types,
+			Predicate<? super E> filter, Function<? super E, ?> keyFunction, Object key) {
+		if (delegate == null || types == null) {
+			throw new NullPointerException("The listener and the types cannot be null");
+		} // else
+		this.delegate = delegate;
+		this.types = types.isEmpty() ? EnumSet.noneOf(CollectionChange.ChangeType.class) : EnumSet.copyOf(types);
+		this.filter = filter;
+		this.keyFunction = keyFunction;
+		this.key = key;
+	}
+
+	CollectionChangeListener<E> getDelegate() {
+		return delegate;
+	}
+
+	Set<CollectionChange.ChangeType> getTypes() {
+		return types;
+	}
+
+	Function<? super E, ?> getKeyFunction() {
+		return keyFunction;
+	}
+
+	Object getKey() {
+		return key;
+	}
+
+	/**
+	 * Indicates if the given change is accepted by this listener.
+	 *
+	 * @param change The change.
+	 * @return {@code true} if the change is of an accepted type and its element matches.
+	 */
+	boolean accepts(CollectionChange<E> change) {
+		return types.contains(change.getType()) && (keyFunction == null ? acceptsElement(change) :
+				acceptsElement(change, keyFunction, key));
+	}
+
+	/**
+	 * Indicates if the element of the given change matches the filter of this listener, whatever its key.
+	 *
+	 * @param change The change.
+	 * @return {@code true} if the element of the change matches the filter.
+	 */
+	boolean acceptsElement(CollectionChange<E> change) {
+		if (filter == null || change.getType() == CollectionChange.ChangeType.PERMUTATION) {
+			return true;
+		} // else
+		return filter.test(change.getValue()) || change.getType() == CollectionChange.ChangeType.REPLACE &&
+				change instanceof ListChange && filter.test(((ListChange<E>) change).getOldValue());
+	}
+
+	private boolean acceptsElement(CollectionChange<E> change, Function<? super E, ?> keyFunction, Object key) {
+		if (change.getType() == CollectionChange.ChangeType.PERMUTATION) {
+			return true;
+		} // else
+		boolean matches = Objects.equals(keyFunction.apply(change.getValue()), key) ||
+				change.getType() == CollectionChange.ChangeType.REPLACE && change instanceof ListChange &&
+						Objects.equals(keyFunction.apply(((ListChange<E>) change).getOldValue()), key);
+		return matches && acceptsElement(change);
+	}
+
+	@Override
+	public void onChange(ObservableCollection<E> source, Iterable<CollectionChange<E>> changes) {
+		List<CollectionChange<E>> accepted = new ArrayList<>();
+		for (CollectionChange<E> change : changes) {
+			if (accepts(change)) {
+				accepted.add(change);
+			}
+		}
+		if (!accepted.isEmpty()) {
+			delegate.onChange(source, accepted);
+		}
+	}
+}
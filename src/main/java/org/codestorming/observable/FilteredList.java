@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.codestorming.observable.CollectionChange.ChangeType;
+
+/**
+ * View of the elements of an {@link ObservableList} matching a {@link Predicate}.
+ * <p/>
+ * A {@link PositionTree} marks the positions of the source whose element matches, so that each change of the source
+ * is translated in logarithmic time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see ObservableList#filtered(Predicate)
+ */
+final class FilteredList<E> extends AbstractObservableListView<E> {
+
+	private final ObservableList<E> source;
+
+	private final Predicate<? super E> predicate;
+
+	private final PositionTree positions = new PositionTree();
+
+	private final CollectionChangeListener<E> sourceListener = (source, changes) -> sourceChanged(changes);
+
+	FilteredList(ObservableList<E> source, Predicate<? super E> predicate) {
+		this.source = source;
+		this.predicate = predicate;
+		refilter();
+		source.addWeakChangeListener(sourceListener);
+	}
+
+	@Override
+	public E get(int index) {
+		return source.get(positions.indexOfMarked(index));
+	}
+
+	@Override
+	public int size() {
+		return positions.markedCount();
+	}
+
+	private void refilter() {
+		positions.clear();
+		for (E element : source) {
+			positions.insert(positions.size(), predicate.test(element));
+		}
+	}
+
+	private void sourceChanged(Iterable<CollectionChange<E>> changes) {
+		if (changes instanceof CollectionChangeSet) {
+			sourceChanged((CollectionChangeSet<E>) changes);
+			return;
+		} // else
+		for (CollectionChange<E> change : changes) {
+			if (!(change instanceof ListChange)) {
+				reset();
+				return;
+			}
+		}
+		List<CollectionChange<E>> filtered = new ArrayList<>();
+		for (CollectionChange<E> change : changes) {
+			ListChange<E> listChange = (ListChange<E>) change;
+			int index = listChange.getFrom();
+			switch (change.getType()) {
+			case ADD:
+				added(index, change.getValue(), filtered);
+				break;
+			case REMOVE:
+				removed(index, change.getValue(), filtered);
+				break;
+			case REPLACE:
+				replaced(index, listChange.getOldValue(), change.getValue(), filtered);
+				break;
+			case PERMUTATION:
+				permuted(listChange, filtered);
+				break;
+			}
+		}
+		if (!filtered.isEmpty()) {
+			fireChange(filtered);
+		}
+	}
+
+	private void sourceChanged(CollectionChangeSet<E> changes) {
+		for (CollectionChangeSet.Run<E> run : changes.getRuns()) {
+			if (run.getIndex() < 0) {
+				reset();
+				return;
+			}
+		}
+		List<CollectionChangeSet.Run<E>> runs = new ArrayList<>();
+		for (CollectionChangeSet.Run<E> run : changes.getRuns()) {
+			int index = run.getIndex();
+			int viewIndex = positions.countMarkedBefore(index);
+			Object[] values = new Object[run.size()];
+			int count = 0;
+			for (int i = 0; i < run.size(); i++) {
+				E value = run.get(i);
+				boolean marked;
+				if (run.getType() == ChangeType.ADD) {
+					marked = predicate.test(value);
+					positions.insert(index + i, marked);
+				} else {
+					marked = positions.remove(index);
+				}
+				if (marked) {
+					values[count++] = value;
+				}
+			}
+			if (count > 0) {
+				runs.add(new CollectionChangeSet.Run<>(run.getType(), values, 0, count, viewIndex));
+			}
+		}
+		if (!runs.isEmpty()) {
+			fireChange(new CollectionChangeSet<>(runs));
+		}
+	}
+
+	private void added(int index, E value, List<CollectionChange<E>> filtered) {
+		boolean marked = predicate.test(value);
+		positions.insert(index, marked);
+		if (marked) {
+			filtered.add(new ListChange<>(ChangeType.ADD, value, positions.countMarkedBefore(index)));
+		}
+	}
+
+	private void removed(int index, E value, List<CollectionChange<E>> filtered) {
+		int viewIndex = positions.countMarkedBefore(index);
+		if (positions.remove(index)) {
+			filtered.add(new ListChange<>(ChangeType.REMOVE, value, viewIndex));
+		}
+	}
+
+	private void replaced(int index, E oldValue, E newValue, List<CollectionChange<E>> filtered) {
+		boolean wasMarked = positions.isMarked(index);
+		boolean marked = predicate.test(newValue);
+		int viewIndex = positions.countMarkedBefore(index);
+		positions.setMarked(index, marked);
+		if (wasMarked && marked) {
+			filtered.add(new ListChange<>(viewIndex, oldValue, newValue));
+		} else if (wasMarked) {
+			filtered.add(new ListChange<>(ChangeType.REMOVE, oldValue, viewIndex));
+		} else if (marked) {
+			filtered.add(new ListChange<>(ChangeType.ADD, newValue, viewIndex));
+		}
+	}
+
+	private void permuted(ListChange<E> change, List<CollectionChange<E>> filtered) {
+		int from = change.getFrom();
+		int length = change.getTo() - from;
+		boolean[] marks = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			if (positions.isMarked(from + i)) {
+				marks[change.getNewIndex(from + i) - from] = true;
+			}
+		}
+		int[] ranks = new int[length];
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			positions.setMarked(from + i, marks[i]);
+			ranks[i] = marks[i] ? count++ : -1;
+		}
+		if (count == 0) {
+			return;
+		} // else
+		int viewFrom = positions.countMarkedBefore(from);
+		int[] permutation = new int[count];
+		int rank = 0;
+		boolean identity = true;
+		for (int i = 0; i < length; i++) {
+			int newIndex = change.getNewIndex(from + i) - from;
+			if (marks[newIndex]) {
+				permutation[rank] = viewFrom + ranks[newIndex];
+				identity &= ranks[newIndex] == rank;
+				rank++;
+			}
+		}
+		if (!identity) {
+			filtered.add(new ListChange<E>(viewFrom, permutation));
+		}
+	}
+
+	/**
+	 * Filters the whole source again, notifying the removal of the previous elements then the addition of the new
+	 * ones.
+	 */
+	private void reset() {
+		Object[] removed = toArray();
+		refilter();
+		Object[] added = toArray();
+		fireReset(removed, added);
+	}
+}
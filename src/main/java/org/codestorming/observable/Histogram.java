@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Number of elements of an {@link ObservableCollection} for each key, maintained from its changes.
+ * <p/>
+ * The count of a key is an {@link ObservableIntValue} notified only when elements with this key are added or
+ * removed. The counts are only referenced weakly by the histogram: a count must be referenced as long as it is used.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see Aggregates#histogram(ObservableCollection, java.util.function.Function)
+ */
+public final class Histogram<K> {
+
+	private final Map<K, int[]> counts = new HashMap<>();
+
+	private final Map<K, CountReference<K>> values = new HashMap<>();
+
+	private final ReferenceQueue<Aggregates.IntAggregate> collectedValues = new ReferenceQueue<>();
+
+	private final Set<K> changed = new HashSet<>();
+
+	CollectionAggregator<?> aggregator;
+
+	Histogram() {}
+
+	/**
+	 * Returns the number of elements with the given key.
+	 *
+	 * @param key The key.
+	 * @return the number of elements with the key.
+	 */
+	public ObservableIntValue getCount(K key) {
+		purge();
+		CountReference<K> reference = values.get(key);
+		Aggregates.IntAggregate value = reference != null ? reference.get() : null;
+		if (value == null) {
+			value = new Aggregates.IntAggregate();
+			value.owner = this;
+			value.update(count(key));
+			values.put(key, new CountReference<>(key, value, collectedValues));
+		}
+		return value;
+	}
+
+	/**
+	 * Returns an unmodifiable view of the keys of at least one element.
+	 *
+	 * @return the keys of the histogram.
+	 */
+	public Set<K> keySet() {
+		return Collections.unmodifiableSet(counts.keySet());
+	}
+
+	private int count(K key) {
+		int[] count = counts.get(key);
+		return count != null ? count[0] : 0;
+	}
+
+	void increment(K key, int delta) {
+		int[] count = counts.get(key);
+		if (count == null) {
+			if (delta <= 0) {
+				// Removal of an unknown element
+				return;
+			} // else
+			counts.put(key, new int[] {delta});
+		} else if ((count[0] += delta) <= 0) {
+			counts.remove(key);
+		}
+		changed.add(key);
+	}
+
+	void clear() {
+		changed.addAll(counts.keySet());
+		counts.clear();
+	}
+
+	void publish() {
+		purge();
+		for (K key : changed) {
+			CountReference<K> reference = values.get(key);
+			if (reference != null) {
+				Aggregates.IntAggregate value = reference.get();
+				if (value != null) {
+					value.update(count(key));
+				}
+			}
+		}
+		changed.clear();
+	}
+
+	/**
+	 * Removes the entries of the counts that have been garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	private void purge() {
+		CountReference<K> collected;
+		while ((collected = (CountReference<K>) collectedValues.poll()) != null) {
+			values.remove(collected.key, collected);
+		}
+	}
+
+	/**
+	 * Weak reference to the count of a key, remembering the key to remove its entry once collected.
+	 */
+	private static final class CountReference<K> extends WeakReference<Aggregates.IntAggregate> {
+
+		final K key;
+
+		CountReference(K key, Aggregates.IntAggregate value, ReferenceQueue<Aggregates.IntAggregate> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+	}
+}
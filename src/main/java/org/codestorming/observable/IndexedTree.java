@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sequence of elements supporting access, insertions and removals at an index in logarithmic time.
+ * <p/>
+ * Implemented as an implicit treap whose nodes count the elements of their subtree. When the elements are sorted, the
+ * index of a value is also found in logarithmic time with {@link #rank(Object, Comparator, boolean)}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see PositionTree
+ */
+final class IndexedTree<E> {
+
+	private static final class Node<E> {
+
+		final int priority = ThreadLocalRandom.current().nextInt();
+
+		E value;
+
+		int size = 1;
+
+		Node<E> left;
+
+		Node<E> right;
+
+		Node(E value) {
+			this.value = value;
+		}
+
+		void update() {
+			size = 1 + size(left) + size(right);
+		}
+	}
+
+	private Node<E> root;
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	/**
+	 * Returns the number of elements.
+	 *
+	 * @return the number of elements.
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	void clear() {
+		root = null;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 *
+	 * @param index The index of the element.
+	 * @return the element at the index.
+	 */
+	E get(int index) {
+		checkIndex(index, size());
+		return node(index).value;
+	}
+
+	/**
+	 * Replaces the element at the given index.
+	 *
+	 * @param index The index of the element.
+	 * @param value The new element.
+	 * @return the replaced element.
+	 */
+	E set(int index, E value) {
+		checkIndex(index, size());
+		Node<E> node = node(index);
+		E oldValue = node.value;
+		node.value = value;
+		return oldValue;
+	}
+
+	private Node<E> node(int index) {
+		Node<E> node = root;
+		for (;;) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Inserts an element at the given index.
+	 *
+	 * @param index The index of the new element.
+	 * @param value The new element.
+	 */
+	void insert(int index, E value) {
+		checkIndex(index, size() + 1);
+		Node<E>[] parts = split(root, index);
+		root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+	}
+
+	/**
+	 * Inserts the given elements at the given index, in {@code O(k + log n)} time.
+	 *
+	 * @param index The index of the first new element.
+	 * @param values The new elements.
+	 */
+	void insertAll(int index, Object[] values) {
+		checkIndex(index, size() + 1);
+		Node<E> inserted = build(values, 0, values.length);
+		Node<E>[] parts = split(root, index);
+		root = merge(merge(parts[0], inserted), parts[1]);
+	}
+
+	/**
+	 * Removes the element at the given index.
+	 *
+	 * @param index The index of the element.
+	 * @return the removed element.
+	 */
+	E remove(int index) {
+		checkIndex(index, size());
+		Node<E>[] parts = split(root, index);
+		Node<E>[] rest = split(parts[1], 1);
+		root = merge(parts[0], rest[1]);
+		return rest[0].value;
+	}
+
+	/**
+	 * Removes the elements between the given indexes, in {@code O(k + log n)} time.
+	 *
+	 * @param fromIndex The index of the first removed element.
+	 * @param toIndex The index after the last removed element.
+	 * @return the removed elements.
+	 */
+	Object[] removeRange(int fromIndex, int toIndex) {
+		checkIndex(fromIndex, size() + 1);
+		checkIndex(toIndex, size() + 1);
+		if (fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("From index: " + fromIndex + " > To index: " + toIndex);
+		} // else
+		Node<E>[] parts = split(root, fromIndex);
+		Node<E>[] rest = split(parts[1], toIndex - fromIndex);
+		root = merge(parts[0], rest[1]);
+		Object[] removed = new Object[toIndex - fromIndex];
+		fill(rest[0], removed, 0);
+		return removed;
+	}
+
+	/**
+	 * Returns the number of elements before the given value, assuming the elements are sorted by the given
+	 * {@link Comparator}.
+	 *
+	 * @param value The value.
+	 * @param comparator The comparator sorting the elements.
+	 * @param inclusive Indicates if the elements equal to the value are counted.
+	 * @return the index of the first element greater than the value, or greater or equal if not {@code inclusive}.
+	 */
+	int rank(E value, Comparator<? super E> comparator, boolean inclusive) {
+		int index = 0;
+		Node<E> node = root;
+		while (node != null) {
+			int comparison = comparator.compare(node.value, value);
+			if (comparison < 0 || inclusive && comparison == 0) {
+				index += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the elements in order.
+	 *
+	 * @return the elements in order.
+	 */
+	Object[] toArray() {
+		Object[] array = new Object[size()];
+		fill(root, array, 0);
+		return array;
+	}
+
+	private static int fill(Node<?> node, Object[] array, int index) {
+		while (node != null) {
+			index = fill(node.left, array, index);
+			array[index++] = node.value;
+			node = node.right;
+		}
+		return index;
+	}
+
+	private static void checkIndex(int index, int bound) {
+		if (index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+		}
+	}
+
+	/**
+	 * Builds a treap of the given values in linear time, giving the highest priority to the root of each subtree.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> Node<E> build(Object[] values, int from, int to) {
+		Node<E>[] spine = (Node<E>[]) new Node<?>[to - from];
+		int height = 0;
+		for (int i = from; i < to; i++) {
+			Node<E> node = new Node<>((E) values[i]);
+			Node<E> last = null;
+			while (height > 0 && spine[height - 1].priority < node.priority) {
+				last = spine[--height];
+				last.update();
+			}
+			node.left = last;
+			if (height > 0) {
+				spine[height - 1].right = node;
+			}
+			spine[height++] = node;
+		}
+		for (int i = height - 1; i >= 0; i--) {
+			spine[i].update();
+		}
+		return height > 0 ? spine[0] : null;
+	}
+
+	/**
+	 * Splits the given subtree into the nodes before the given index and the other ones.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> Node<E>[] split(Node<E> node, int index) {
+		if (node == null) {
+			return (Node<E>[]) new Node<?>[2];
+		} // else
+		Node<E>[] parts;
+		if (index <= size(node.left)) {
+			parts = split(node.left, index);
+			node.left = parts[1];
+			parts[1] = node;
+		} else {
+			parts = split(node.right, index - size(node.left) - 1);
+			node.right = parts[0];
+			parts[0] = node;
+		}
+		node.update();
+		return parts;
+	}
+
+	private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) {
+			return right;
+		} // else
+		if (right == null) {
+			return left;
+		} // else
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		} // else
+		right.left = merge(left, right.left);
+		right.update();
+		return right;
+	}
+}
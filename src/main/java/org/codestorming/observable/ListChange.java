@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Describes a change that happened at a known position of an {@link ObservableList}.
+ * <p/>
+ * The change concerns the {@code [from, to)} range of the list:
+ * <ul>
+ * <li>{@link ChangeType#ADD ADD}: the value has been inserted at {@code from}.</li>
+ * <li>{@link ChangeType#REMOVE REMOVE}: the value has been removed from {@code from}.</li>
+ * <li>{@link ChangeType#REPLACE REPLACE}: the {@link #getOldValue() old value} at {@code from} has been replaced by
+ * the value.</li>
+ * <li>{@link ChangeType#PERMUTATION PERMUTATION}: the elements in the range have been reordered, the value is
+ * {@code null} and the new positions are given by {@link #getNewIndex(int)}.</li>
+ * </ul>
+ * When several changes are notified together, the indices of each change are relative to the state of the list after
+ * the preceding changes have been applied.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ListChange<T> extends CollectionChange<T> {
+
+	protected final int from;
+
+	protected final int to;
+
+	protected final T oldValue;
+
+	protected final int[] permutation;
+
+	/**
+	 * Creates a {@link ChangeType#ADD ADD} or {@link ChangeType#REMOVE REMOVE} {@code ListChange}.
+	 *
+	 * @param type The type of change.
+	 * @param value The added or removed value.
+	 * @param index The position of the value in the list.
+	 */
+	public ListChange(ChangeType type, T value, int index) {
+		this(type, value, null, index, index + 1, null);
+		if (type != ChangeType.ADD && type != ChangeType.REMOVE) {
+			throw new IllegalArgumentException("Expected ADD or REMOVE but was " + type);
+		}
+	}
+
+	/**
+	 * Creates a {@link ChangeType#REPLACE REPLACE} {@code ListChange}.
+	 *
+	 * @param index The position of the replaced value in the list.
+	 * @param oldValue The replaced value.
+	 * @param newValue The new value.
+	 */
+	public ListChange(int index, T oldValue, T newValue) {
+		this(ChangeType.REPLACE, newValue, oldValue, index, index + 1, null);
+	}
+
+	/**
+	 * Creates a {@link ChangeType#PERMUTATION PERMUTATION} {@code ListChange}.
+	 * <p/>
+	 * The element previously at {@code from + i} is now at {@code permutation[i]}. The array must not be modified
+	 * afterwards.
+	 *
+	 * @param from The position of the first permuted element.
+	 * @param permutation The new positions of the permuted elements.
+	 */
+	public ListChange(int from, int[] permutation) {
+		this(ChangeType.PERMUTATION, null, null, from, from + permutation.length, permutation);
+	}
+
+	private ListChange(ChangeType type, T value, T oldValue, int from, int to, int[] permutation) {
+		super(type, value);
+		if (from < 0) {
+			throw new IndexOutOfBoundsException("Index: " + from);
+		} // else
+		this.from = from;
+		this.to = to;
+		this.oldValue = oldValue;
+		this.permutation = permutation;
+	}
+
+	/**
+	 * Returns the position of the first element concerned by the change.
+	 *
+	 * @return the position of the first element concerned by the change.
+	 */
+	public int getFrom() {
+		return from;
+	}
+
+	/**
+	 * Returns the position following the last element concerned by the change.
+	 *
+	 * @return the position following the last element concerned by the change.
+	 */
+	public int getTo() {
+		return to;
+	}
+
+	/**
+	 * Returns the replaced value if the change type is {@link ChangeType#REPLACE}, {@code null} otherwise.
+	 *
+	 * @return the replaced value.
+	 */
+	public T getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * Returns the new position of the element that was at the given position before a
+	 * {@link ChangeType#PERMUTATION PERMUTATION}.
+	 *
+	 * @param oldIndex The position of the element before the permutation.
+	 * @return the position of the element after the permutation.
+	 * @throws IllegalStateException if the change type is not {@link ChangeType#PERMUTATION}.
+	 */
+	public int getNewIndex(int oldIndex) throws IllegalStateException {
+		if (permutation == null) {
+			throw new IllegalStateException("Not a permutation");
+		} // else
+		if (oldIndex < from || oldIndex >= to) {
+			throw new IndexOutOfBoundsException("Index " + oldIndex + " not in [" + from + ", " + to + ")");
+		} // else
+		return permutation[oldIndex - from];
+	}
+
+	/**
+	 * Returns a copy of this {@link ChangeType#ADD ADD}, {@link ChangeType#REMOVE REMOVE} or
+	 * {@link ChangeType#REPLACE REPLACE} change at the given position.
+	 *
+	 * @param index The new position.
+	 * @return the moved change.
+	 */
+	ListChange<T> moveTo(int index) {
+		return new ListChange<>(type, value, oldValue, index, index + 1, null);
+	}
+
+	/**
+	 * Returns a copy of this change whose positions are shifted by the given offset.
+	 *
+	 * @param offset The offset to add to the positions.
+	 * @return the shifted change.
+	 */
+	ListChange<T> shift(int offset) {
+		if (permutation == null) {
+			return moveTo(from + offset);
+		} // else
+		int[] shifted = new int[permutation.length];
+		for (int i = 0; i < shifted.length; i++) {
+			shifted[i] = permutation[i] + offset;
+		}
+		return new ListChange<>(from + offset, shifted);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operations on the changes notified by an {@link ObservableList}.
+ * <p/>
+ * {@link CollectionChangeSet}s are transformed run by run, without creating a change per element.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class ListChanges {
+
+	private ListChanges() {}
+
+	/**
+	 * Returns the given changes with their positions shifted by the given offset.
+	 *
+	 * @param changes The changes notified by a list.
+	 * @param offset The offset to add to the positions.
+	 * @return the shifted changes.
+	 */
+	static <E> Iterable<CollectionChange<E>> shift(Iterable<CollectionChange<E>> changes, int offset) {
+		if (offset == 0) {
+			return changes;
+		} // else
+		if (changes instanceof CollectionChangeSet) {
+			List<CollectionChangeSet.Run<E>> runs = ((CollectionChangeSet<E>) changes).getRuns();
+			List<CollectionChangeSet.Run<E>> shifted = new ArrayList<>(runs.size());
+			for (CollectionChangeSet.Run<E> run : runs) {
+				shifted.add(new CollectionChangeSet.Run<>(run.type, run.values, run.from, run.to,
+						run.index < 0 ? -1 : run.index + offset));
+			}
+			return new CollectionChangeSet<>(shifted);
+		} // else
+		List<CollectionChange<E>> shifted = new ArrayList<>();
+		for (CollectionChange<E> change : changes) {
+			shifted.add(change instanceof ListChange ? ((ListChange<E>) change).shift(offset) : change);
+		}
+		return shifted;
+	}
+
+	/**
+	 * Returns the changes that may affect the content of the {@code [fromIndex, toIndex)} range of the list.
+	 * <p/>
+	 * Additions and removals before the range are kept since they shift its content, while replacements and
+	 * permutations are only kept if they overlap the range. Changes without a known position are always kept.
+	 *
+	 * @param changes The changes notified by a list.
+	 * @param fromIndex The first position of the range (inclusive).
+	 * @param toIndex The last position of the range (exclusive).
+	 * @return the changes affecting the range, or an empty list.
+	 */
+	static <E> Iterable<CollectionChange<E>> window(Iterable<CollectionChange<E>> changes, int fromIndex,
+			int toIndex) {
+		if (changes instanceof CollectionChangeSet) {
+			List<CollectionChangeSet.Run<E>> runs = ((CollectionChangeSet<E>) changes).getRuns();
+			List<CollectionChangeSet.Run<E>> kept = new ArrayList<>(runs.size());
+			for (CollectionChangeSet.Run<E> run : runs) {
+				if (run.index < toIndex) {
+					kept.add(run);
+				}
+			}
+			return kept.size() == runs.size() ? changes : new CollectionChangeSet<>(kept);
+		} // else
+		List<CollectionChange<E>> kept = new ArrayList<>();
+		for (CollectionChange<E> change : changes) {
+			if (!(change instanceof ListChange)) {
+				kept.add(change);
+				continue;
+			} // else
+			ListChange<E> listChange = (ListChange<E>) change;
+			boolean overlaps = listChange.from < toIndex && listChange.to > fromIndex;
+			switch (change.getType()) {
+			case ADD:
+			case REMOVE:
+				if (listChange.from < toIndex) {
+					kept.add(change);
+				}
+				break;
+			default:
+				if (overlaps) {
+					kept.add(change);
+				}
+			}
+		}
+		return kept;
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.codestorming.observable.CollectionChange.ChangeType;
+
+/**
+ * Computes the runs of additions and removals transforming a list into another one.
+ * <p/>
+ * The common prefix and suffix are skipped first. If the remaining elements have nothing in common, according to
+ * their hash codes, they are simply replaced. Otherwise, the shortest edit script is computed with the Myers
+ * algorithm, comparing the hash codes of the elements before calling {@code equals}. When the edit script would be
+ * too long to compute within {@link #MAX_TRACE} memory, the remaining elements are replaced as well.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class ListDiff {
+
+	/**
+	 * Maximum number of positions recorded while searching for the shortest edit script.
+	 */
+	private static final long MAX_TRACE = 1L << 22;
+
+	private static final byte EQUAL = 0;
+
+	private static final byte INSERT = 1;
+
+	private static final byte DELETE = 2;
+
+	private final Object[] oldValues;
+
+	private final Object[] newValues;
+
+	private final int[] oldHashes;
+
+	private final int[] newHashes;
+
+	private final int start;
+
+	private final int oldEnd;
+
+	private final int newEnd;
+
+	private ListDiff(Object[] oldValues, Object[] newValues) {
+		this.oldValues = oldValues;
+		this.newValues = newValues;
+		int prefix = 0;
+		int common = Math.min(oldValues.length, newValues.length);
+		while (prefix < common && Objects.equals(oldValues[prefix], newValues[prefix])) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < common - prefix
+				&& Objects.equals(oldValues[oldValues.length - 1 - suffix], newValues[newValues.length - 1 - suffix])) {
+			suffix++;
+		}
+		start = prefix;
+		oldEnd = oldValues.length - suffix;
+		newEnd = newValues.length - suffix;
+		oldHashes = hashes(oldValues, start, oldEnd);
+		newHashes = hashes(newValues, start, newEnd);
+	}
+
+	private static int[] hashes(Object[] values, int from, int to) {
+		int[] hashes = new int[to - from];
+		for (int i = from; i < to; i++) {
+			hashes[i - from] = Objects.hashCode(values[i]);
+		}
+		return hashes;
+	}
+
+	/**
+	 * Returns the runs transforming the old values into the new ones, each run being positioned relatively to the list
+	 * modified by the preceding runs.
+	 *
+	 * @param oldValues The current values of the list.
+	 * @param newValues The new values of the list.
+	 * @return the runs of additions and removals, empty if the values are equal.
+	 */
+	static <E> List<CollectionChangeSet.Run<E>> diff(Object[] oldValues, Object[] newValues) {
+		return new ListDiff(oldValues, newValues).runs();
+	}
+
+	private <E> List<CollectionChangeSet.Run<E>> runs() {
+		int n = oldEnd - start;
+		int m = newEnd - start;
+		List<CollectionChangeSet.Run<E>> runs = new ArrayList<>();
+		if (n == 0 && m == 0) {
+			return runs;
+		} // else
+		byte[] script = n > 0 && m > 0 && shareElements() ? shortestEditScript(n, m) : null;
+		if (script == null) {
+			if (n > 0) {
+				runs.add(new CollectionChangeSet.Run<>(ChangeType.REMOVE, oldValues, start, oldEnd, start));
+			}
+			if (m > 0) {
+				runs.add(new CollectionChangeSet.Run<>(ChangeType.ADD, newValues, start, newEnd, start));
+			}
+			return runs;
+		} // else
+		int x = start;
+		int y = start;
+		int position = start;
+		int i = 0;
+		while (i < script.length) {
+			byte operation = script[i];
+			int length = 0;
+			while (i < script.length && script[i] == operation) {
+				length++;
+				i++;
+			}
+			if (operation == EQUAL) {
+				x += length;
+				y += length;
+				position += length;
+			} else if (operation == DELETE) {
+				runs.add(new CollectionChangeSet.Run<>(ChangeType.REMOVE, oldValues, x, x + length, position));
+				x += length;
+			} else {
+				runs.add(new CollectionChangeSet.Run<>(ChangeType.ADD, newValues, y, y + length, position));
+				y += length;
+				position += length;
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Indicates if the remaining old and new values have at least one hash code in common.
+	 */
+	private boolean shareElements() {
+		int[] smaller = oldHashes.length <= newHashes.length ? oldHashes : newHashes;
+		int[] larger = smaller == oldHashes ? newHashes : oldHashes;
+		Set<Integer> hashes = new HashSet<>(smaller.length * 2);
+		for (int hash : smaller) {
+			hashes.add(hash);
+		}
+		for (int hash : larger) {
+			if (hashes.contains(hash)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean equal(int x, int y) {
+		return oldHashes[x] == newHashes[y] && Objects.equals(oldValues[start + x], newValues[start + y]);
+	}
+
+	/**
+	 * Returns the shortest sequence of operations transforming the remaining old values into the new ones, or
+	 * {@code null} if it cannot be computed within {@link #MAX_TRACE} memory.
+	 */
+	private byte[] shortestEditScript(int n, int m) {
+		int max = n + m;
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		List<int[]> trace = new ArrayList<>();
+		long traced = 0;
+		for (int d = 0; d <= max; d++) {
+			// Records the furthest positions before this step, for the diagonals [-d - 1, d + 1]
+			int[] snapshot = new int[2 * d + 3];
+			System.arraycopy(v, offset - d - 1, snapshot, 0, snapshot.length);
+			trace.add(snapshot);
+			traced += snapshot.length;
+			if (traced > MAX_TRACE) {
+				return null;
+			} // else
+			for (int k = -d; k <= d; k += 2) {
+				int x;
+				if (k == -d || k != d && v[offset + k - 1] < v[offset + k + 1]) {
+					x = v[offset + k + 1];
+				} else {
+					x = v[offset + k - 1] + 1;
+				}
+				int y = x - k;
+				while (x < n && y < m && equal(x, y)) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					return backtrack(trace, n, m);
+				}
+			}
+		}
+		throw new IllegalStateException("No edit script found");
+	}
+
+	private static byte[] backtrack(List<int[]> trace, int n, int m) {
+		byte[] reversed = new byte[n + m];
+		int length = 0;
+		int x = n;
+		int y = m;
+		for (int d = trace.size() - 1; d > 0; d--) {
+			int[] v = trace.get(d);
+			// v[i] holds the diagonal i - d - 1
+			int k = x - y;
+			int previousK;
+			if (k == -d || k != d && v[k - 1 + d + 1] < v[k + 1 + d + 1]) {
+				previousK = k + 1;
+			} else {
+				previousK = k - 1;
+			}
+			int previousX = v[previousK + d + 1];
+			int previousY = previousX - previousK;
+			while (x > previousX && y > previousY) {
+				reversed[length++] = EQUAL;
+				x--;
+				y--;
+			}
+			reversed[length++] = x == previousX ? INSERT : DELETE;
+			x = previousX;
+			y = previousY;
+		}
+		while (x > 0 && y > 0) {
+			reversed[length++] = EQUAL;
+			x--;
+			y--;
+		}
+		byte[] script = new byte[length];
+		for (int i = 0; i < length; i++) {
+			script[i] = reversed[length - 1 - i];
+		}
+		return script;
+	}
+}
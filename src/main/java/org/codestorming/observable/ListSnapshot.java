@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+
+/**
+ * Immutable point-in-time view of a {@link PersistentObservableList}.
+ * <p/>
+ * A snapshot shares its structure with the list and the other snapshots, so that taking one costs nothing. It can be
+ * read by any thread without synchronization while the list keeps being modified.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public final class ListSnapshot<E> extends AbstractList<E> {
+
+	private static final ListSnapshot<?> EMPTY = new ListSnapshot<>(null, 0L);
+
+	final PersistentTree.Node<E> root;
+
+	private final long version;
+
+	ListSnapshot(PersistentTree.Node<E> root, long version) {
+		this.root = root;
+		this.version = version;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E> ListSnapshot<E> empty() {
+		return (ListSnapshot<E>) EMPTY;
+	}
+
+	/**
+	 * Returns the version of the list this snapshot was taken at.
+	 * <p/>
+	 * Each modification of the list increments its version: the changes following this snapshot are notified with a
+	 * greater version.
+	 *
+	 * @return the version of this snapshot.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		} // else
+		return PersistentTree.get(root, index);
+	}
+
+	@Override
+	public int size() {
+		return PersistentTree.size(root);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new PersistentTree.InOrderIterator<>(root);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PersistentTree.toArray(root);
+	}
+}
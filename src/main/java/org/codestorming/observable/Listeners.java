@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write operations on listener arrays.
+ * <p/>
+ * The returned arrays are never modified afterwards so they can be safely published through a {@code volatile} field
+ * and iterated without locking.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class Listeners {
+
+	private Listeners() {}
+
+	/**
+	 * Returns a copy of the given array with the given listener appended, or the array itself if it already contains
+	 * the listener.
+	 *
+	 * @param listeners The current listeners.
+	 * @param listener The listener to add.
+	 * @return the new listeners array.
+	 */
+	static <L> L[] add(L[] listeners, L listener) {
+		if (indexOf(listeners, listener) >= 0) {
+			return listeners;
+		} // else
+		L[] added = Arrays.copyOf(listeners, listeners.length + 1);
+		added[listeners.length] = listener;
+		return added;
+	}
+
+	/**
+	 * Returns a copy of the given array without the given listener, or the array itself if it does not contain the
+	 * listener.
+	 * <p/>
+	 * If the array does not contain the listener itself, the first {@link DelegatingListener} delegating to it is
+	 * removed instead.
+	 *
+	 * @param listeners The current listeners.
+	 * @param listener The listener to remove.
+	 * @return the new listeners array.
+	 */
+	static <L> L[] remove(L[] listeners, L listener) {
+		int index = indexOf(listeners, listener);
+		if (index < 0) {
+			index = indexOfDelegating(listeners, listener);
+		}
+		if (index < 0) {
+			return listeners;
+		} // else
+		L[] removed = Arrays.copyOf(listeners, listeners.length - 1);
+		System.arraycopy(listeners, index + 1, removed, index, listeners.length - index - 1);
+		return removed;
+	}
+
+	private static int indexOf(Object[] listeners, Object listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOfDelegating(Object[] listeners, Object listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (delegatesTo(listeners[i], listener)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Indicates if the given registered listener is the given listener or delegates to it.
+	 *
+	 * @param registered The registered listener.
+	 * @param listener The listener to remove.
+	 * @return {@code true} if removing {@code listener} removes {@code registered}.
+	 */
+	static boolean matches(Object registered, Object listener) {
+		return registered.equals(listener) || delegatesTo(registered, listener);
+	}
+
+	private static boolean delegatesTo(Object registered, Object listener) {
+		if (!(registered instanceof DelegatingListener)) {
+			return false;
+		} // else
+		Object delegate = ((DelegatingListener) registered).getDelegate();
+		return delegate != null && delegate.equals(listener);
+	}
+}
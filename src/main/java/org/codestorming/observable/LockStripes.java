@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks, each key being guarded by the lock of its stripe.
+ * <p/>
+ * Equal keys always share the same lock, so that the modifications of a key are serialized while the threads working
+ * on keys of different stripes do not contend.
+ * <p/>
+ * The notifications of the modifications are {@link Stripe#post(Runnable) posted} to the stripe while holding its lock,
+ * and run once the lock is released, in the order they were posted. The listeners are thus never called while holding a
+ * lock, and may modify keys of any stripe without deadlocking.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class LockStripes {
+
+	private final Stripe[] locks;
+
+	/**
+	 * Creates a power of two number of stripes, at least the given concurrency level.
+	 *
+	 * @param concurrencyLevel The estimated number of threads modifying the guarded keys concurrently.
+	 */
+	LockStripes(int concurrencyLevel) {
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("The concurrency level must be positive");
+		} // else
+		int size = Integer.highestOneBit(Math.max(concurrencyLevel - 1, 1)) << 1;
+		locks = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new Stripe();
+		}
+	}
+
+	/**
+	 * Returns the number of stripes for the default concurrency level, four per available processor.
+	 *
+	 * @return the default concurrency level.
+	 */
+	static int defaultConcurrencyLevel() {
+		return 4 * Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Returns the lock guarding the given key.
+	 *
+	 * @param key The key, not {@code null}.
+	 * @return the lock of the key.
+	 */
+	Stripe get(Object key) {
+		int hash = key.hashCode();
+		return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+	}
+
+	/**
+	 * Lock of a stripe, running the notifications posted while holding it once it is released.
+	 * <p/>
+	 * A single thread at a time runs the notifications of a stripe: a thread releasing the lock while another one runs
+	 * them leaves its notifications to that thread, so that they are run in the order they were posted.
+	 */
+	static final class Stripe extends ReentrantLock {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ConcurrentLinkedQueue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+
+		private final AtomicBoolean notifying = new AtomicBoolean();
+
+		/**
+		 * Posts a notification, run once the lock is released.
+		 * <p/>
+		 * Must be called while holding the lock.
+		 *
+		 * @param notification The notification.
+		 */
+		void post(Runnable notification) {
+			notifications.add(notification);
+		}
+
+		/**
+		 * Releases the lock and, if it is no longer held by the current thread, runs the posted notifications.
+		 */
+		@Override
+		public void unlock() {
+			super.unlock();
+			if (!isHeldByCurrentThread()) {
+				runNotifications();
+			}
+		}
+
+		private void runNotifications() {
+			while (!notifications.isEmpty() && notifying.compareAndSet(false, true)) {
+				try {
+					Runnable notification;
+					while ((notification = notifications.poll()) != null) {
+						notification.run();
+					}
+				} finally {
+					notifying.set(false);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Describes a change that happened on an entry of an {@link ObservableMap}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class MapChange<K, V> {
+
+	/**
+	 * Type of change that can occur on an entry of an observable map.
+	 * <p/>
+	 * A {@link #PUT} maps a key which was not mapped, a {@link #REPLACE} changes the value of a mapped key and a
+	 * {@link #REMOVE} unmaps a key.
+	 */
+	public enum ChangeType {
+		PUT, REMOVE, REPLACE,
+	}
+
+	protected final ChangeType type;
+
+	protected final K key;
+
+	protected final V oldValue;
+
+	protected final V newValue;
+
+	public MapChange(ChangeType type, K key, V oldValue, V newValue) {
+		this.type = type;
+		this.key = key;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	/**
+	 * Returns the type of change that occured on the map.
+	 *
+	 * @return the type of change that occured on the map.
+	 */
+	public ChangeType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the key of the changed entry.
+	 *
+	 * @return the key of the changed entry.
+	 */
+	public K getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the value of the key before the change, or {@code null} if the change type is {@link ChangeType#PUT}.
+	 *
+	 * @return the value of the key before the change.
+	 */
+	public V getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * Returns the value of the key after the change, or {@code null} if the change type is
+	 * {@link ChangeType#REMOVE}.
+	 *
+	 * @return the value of the key after the change.
+	 */
+	public V getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + key + ": " + oldValue + " -> " + newValue;
+	}
+}
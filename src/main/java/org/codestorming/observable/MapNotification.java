@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notification of the changes of an {@link ObservableMap} to a {@link MapChangeListener}.
+ * <p/>
+ * Conflated notifications are delivered as the concatenation of their changes.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class MapNotification<K, V> implements Dispatcher.Notification {
+
+	private final ObservableMap<K, V> source;
+
+	private final MapChangeListener<K, V> listener;
+
+	private final Iterable<MapChange<K, V>> changes;
+
+	MapNotification(ObservableMap<K, V> source, MapChangeListener<K, V> listener, Iterable<MapChange<K, V>> changes) {
+		this.source = source;
+		this.listener = listener;
+		this.changes = changes;
+	}
+
+	@Override
+	public Object getListener() {
+		return listener;
+	}
+
+	@Override
+	public Object getSource() {
+		return source;
+	}
+
+	@Override
+	public void deliver() {
+		listener.onChange(source, changes);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Dispatcher.Notification conflate(Dispatcher.Notification next) {
+		List<MapChange<K, V>> conflated = new ArrayList<>();
+		for (MapChange<K, V> change : changes) {
+			conflated.add(change);
+		}
+		for (MapChange<K, V> change : ((MapNotification<K, V>) next).changes) {
+			conflated.add(change);
+		}
+		return new MapNotification<>(source, listener, conflated);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.codestorming.observable.CollectionChange.ChangeType;
+
+/**
+ * View of the elements of an {@link ObservableList} transformed by a {@link Function}.
+ * <p/>
+ * The transformed elements are cached so that the function is applied once per element, and the removed elements
+ * are notified with the value the view held. The cache is an {@link IndexedTree} so that each change of the source
+ * is applied in logarithmic time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see ObservableList#mapped(Function)
+ */
+final class MappedList<S, E> extends AbstractObservableListView<E> {
+
+	private final ObservableList<S> source;
+
+	private final Function<? super S, ? extends E> mapper;
+
+	private final IndexedTree<E> elements = new IndexedTree<>();
+
+	private final CollectionChangeListener<S> sourceListener = (source, changes) -> sourceChanged(changes);
+
+	MappedList(ObservableList<S> source, Function<? super S, ? extends E> mapper) {
+		this.source = source;
+		this.mapper = mapper;
+		remap();
+		source.addWeakChangeListener(sourceListener);
+	}
+
+	@Override
+	public E get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	private void remap() {
+		List<E> mapped = new ArrayList<>(source.size());
+		for (S element : source) {
+			mapped.add(mapper.apply(element));
+		}
+		elements.clear();
+		elements.insertAll(0, mapped.toArray());
+	}
+
+	private void sourceChanged(Iterable<CollectionChange<S>> changes) {
+		if (changes instanceof CollectionChangeSet) {
+			sourceChanged((CollectionChangeSet<S>) changes);
+			return;
+		} // else
+		for (CollectionChange<S> change : changes) {
+			if (!(change instanceof ListChange)) {
+				reset();
+				return;
+			}
+		}
+		List<CollectionChange<E>> mapped = new ArrayList<>();
+		for (CollectionChange<S> change : changes) {
+			ListChange<S> listChange = (ListChange<S>) change;
+			int index = listChange.getFrom();
+			switch (change.getType()) {
+			case ADD:
+				E value = mapper.apply(change.getValue());
+				elements.insert(index, value);
+				mapped.add(new ListChange<>(ChangeType.ADD, value, index));
+				break;
+			case REMOVE:
+				mapped.add(new ListChange<>(ChangeType.REMOVE, elements.remove(index), index));
+				break;
+			case REPLACE:
+				E newValue = mapper.apply(change.getValue());
+				mapped.add(new ListChange<>(index, elements.set(index, newValue), newValue));
+				break;
+			case PERMUTATION:
+				List<E> range = new ArrayList<>(listChange.getTo() - index);
+				for (int i = index; i < listChange.getTo(); i++) {
+					range.add(elements.get(i));
+				}
+				int[] permutation = new int[range.size()];
+				for (int i = 0; i < permutation.length; i++) {
+					permutation[i] = listChange.getNewIndex(index + i);
+					elements.set(permutation[i], range.get(i));
+				}
+				mapped.add(new ListChange<E>(index, permutation));
+				break;
+			}
+		}
+		if (!mapped.isEmpty()) {
+			fireChange(mapped);
+		}
+	}
+
+	private void sourceChanged(CollectionChangeSet<S> changes) {
+		for (CollectionChangeSet.Run<S> run : changes.getRuns()) {
+			if (run.getIndex() < 0) {
+				reset();
+				return;
+			}
+		}
+		List<CollectionChangeSet.Run<E>> runs = new ArrayList<>(changes.getRuns().size());
+		for (CollectionChangeSet.Run<S> run : changes.getRuns()) {
+			if (run.size() == 0) {
+				continue;
+			} // else
+			int index = run.getIndex();
+			Object[] values;
+			if (run.getType() == ChangeType.ADD) {
+				values = new Object[run.size()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = mapper.apply(run.get(i));
+				}
+				elements.insertAll(index, values);
+			} else {
+				values = elements.removeRange(index, index + run.size());
+			}
+			runs.add(new CollectionChangeSet.Run<E>(run.getType(), values, 0, values.length, index));
+		}
+		if (!runs.isEmpty()) {
+			fireChange(new CollectionChangeSet<>(runs));
+		}
+	}
+
+	/**
+	 * Transforms the whole source again, notifying the removal of the previous elements then the addition of the new
+	 * ones.
+	 */
+	private void reset() {
+		Object[] removed = elements.toArray();
+		remap();
+		fireReset(removed, elements.toArray());
+	}
+}
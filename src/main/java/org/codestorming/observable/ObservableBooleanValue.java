@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link ObservableValue} specialized for {@code boolean} values.
+ * <p/>
+ * The {@code boolean} accessors and the {@link BooleanChangeListener}s do not box the value. The
+ * {@link ObservableValue} methods remain available for interoperability with generic code.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface ObservableBooleanValue extends ObservableValue<Boolean> {
+
+	/**
+	 * Returns the observed value.
+	 *
+	 * @return the observed value.
+	 */
+	boolean getBoolean();
+
+	/**
+	 * Changes the value and notifies the registered listeners of the change.
+	 *
+	 * @param value the new value.
+	 */
+	void setBoolean(boolean value);
+
+	/**
+	 * Add the given {@link BooleanChangeListener} to this {@code ObservableBooleanValue}.
+	 *
+	 * @param listener The {@link BooleanChangeListener} to add.
+	 */
+	void addBooleanChangeListener(BooleanChangeListener listener);
+
+	/**
+	 * Remove the given {@link BooleanChangeListener} from this {@code ObservableBooleanValue}.
+	 *
+	 * @param listener The {@link BooleanChangeListener} to remove.
+	 */
+	void removeBooleanChangeListener(BooleanChangeListener listener);
+}
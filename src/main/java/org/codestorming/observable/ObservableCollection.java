@@ -12,6 +12,10 @@
 package org.codestorming.observable;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * {@code ObservableCollection} is a {@link Collection} that notifies its referenced listeners of changes that happened
@@ -24,4 +28,157 @@ public interface ObservableCollection<E> extends Collection<E> {
 	void addChangeListener(CollectionChangeListener<E> listener);
 
 	void removeChangeListener(CollectionChangeListener<E> listener);
+
+	/**
+	 * Add the given {@link CollectionChangeListener} to this collection without preventing it from being garbage
+	 * collected.
+	 * <p/>
+	 * The listener is automatically removed once collected. It can also be removed with
+	 * {@link #removeChangeListener(CollectionChangeListener)}.
+	 *
+	 * <p/>
+	 * This default implementation adds a listener referencing the given one weakly, which stops notifying it once
+	 * collected but stays registered.
+	 *
+	 * @param listener The {@link CollectionChangeListener} to add.
+	 */
+	default void addWeakChangeListener(CollectionChangeListener<E> listener) {
+		addChangeListener(new WeakListener<E, Object>(listener, null));
+	}
+
+	/**
+	 * Add the given {@link CollectionChangeListener} to this collection and returns the {@link Subscription} removing
+	 * it.
+	 *
+	 * @param listener The {@link CollectionChangeListener} to add.
+	 * @return the subscription of the listener.
+	 */
+	default Subscription subscribe(CollectionChangeListener<E> listener) {
+		final SubscribedListener<E, Object> subscribed = new SubscribedListener<>(listener);
+		Subscription subscription = subscribed.subscribe(() -> removeChangeListener(subscribed));
+		addChangeListener(subscribed);
+		return subscription;
+	}
+
+	/**
+	 * Adds the given {@link CollectionChangeListener}, notified only of the changes of the given types whose element
+	 * matches the given filter, and returns the {@link Subscription} removing it.
+	 * <p/>
+	 * The listener receives the subset of each notification that it accepts, and is not notified if there is none. The
+	 * element of a {@link CollectionChange.ChangeType#REPLACE REPLACE} matches if either the old or the new element
+	 * matches, while a {@link CollectionChange.ChangeType#PERMUTATION PERMUTATION} is only filtered by its type. The
+	 * positions of the {@link ListChange}s are those of the complete notification.
+	 * <p/>
+	 * This default implementation filters the changes in the listener, {@link AbstractObservableCollection} only
+	 * submits a change to the listeners of its type.
+	 *
+	 * @param listener The {@link CollectionChangeListener} to add.
+	 * @param types The types of change notified to the listener.
+	 * @param filter The filter of the elements of the changes, or {@code null} to accept all the elements.
+	 * @return the subscription of the listener.
+	 */
+	default Subscription subscribe(CollectionChangeListener<E> listener, Set<CollectionChange.ChangeType> types,
+			Predicate<? super E> filter) {
+		return subscribe(new FilteredChangeListener<>(listener, types, filter, null, null));
+	}
+
+	/**
+	 * Adds the given {@link CollectionChangeListener}, notified only of the changes of the given types whose element
+	 * has the given key, and returns the {@link Subscription} removing it.
+	 * <p/>
+	 * {@link AbstractObservableCollection} indexes such listeners by key, so that the key of the element of a change
+	 * is computed once for all the listeners sharing the same key function. The key function must then be the same
+	 * instance for all of them.
+	 *
+	 * @param listener The {@link CollectionChangeListener} to add.
+	 * @param types The types of change notified to the listener.
+	 * @param keyFunction The function computing the key of an element.
+	 * @param key The key of the elements of the changes notified to the listener.
+	 * @return the subscription of the listener.
+	 * @see #subscribe(CollectionChangeListener, Set, Predicate)
+	 */
+	default <K> Subscription subscribe(CollectionChangeListener<E> listener, Set<CollectionChange.ChangeType> types,
+			Function<? super E, ? extends K> keyFunction, K key) {
+		if (keyFunction == null) {
+			throw new NullPointerException("The key function cannot be null");
+		} // else
+		return subscribe(new FilteredChangeListener<>(listener, types, null, keyFunction, key));
+	}
+
+	/**
+	 * Starts a batch: until the matching {@link #endBatch()}, the changes are buffered instead of being notified.
+	 * <p/>
+	 * Batches can be nested, the buffered changes are delivered to each {@link CollectionChangeListener} in a single
+	 * notification when the outermost batch ends. An element added then removed during the batch is not notified.
+	 * <p/>
+	 * This default implementation does nothing: the changes are notified as they happen.
+	 */
+	default void beginBatch() {}
+
+	/**
+	 * Ends the batch started by the last call to {@link #beginBatch()}.
+	 * <p/>
+	 * This default implementation does nothing.
+	 *
+	 * @throws IllegalStateException if no batch is in progress.
+	 */
+	default void endBatch() {}
+
+	/**
+	 * Runs the given operations in a batch.
+	 *
+	 * @param operations The operations modifying this collection.
+	 * @see #beginBatch()
+	 */
+	default void batch(Runnable operations) {
+		beginBatch();
+		try {
+			operations.run();
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Removes the elements of this collection matching the given filter, testing them in parallel, and notifies the
+	 * removals in a single change.
+	 * <p/>
+	 * The filter may be called concurrently from the threads of the common
+	 * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}. This default implementation tests the elements
+	 * sequentially in a batch.
+	 *
+	 * @param filter The thread-safe filter of the elements to remove.
+	 * @return {@code true} if at least one element has been removed.
+	 */
+	default boolean parallelRemoveIf(Predicate<? super E> filter) {
+		final boolean[] removed = new boolean[1];
+		batch(() -> removed[0] = removeIf(filter));
+		return removed[0];
+	}
+
+	/**
+	 * Returns a read-only view of the elements of this collection sorted by the given {@link Comparator}.
+	 * <p/>
+	 * The view is maintained from the changes of this collection, each element being located by binary search.
+	 *
+	 * @param comparator The comparator ordering the elements, or {@code null} for their natural ordering.
+	 * @return the sorted view.
+	 * @see AbstractObservableListView
+	 */
+	default ObservableList<E> sorted(Comparator<? super E> comparator) {
+		return new SortedList<>(this, comparator);
+	}
+
+	/**
+	 * Returns the elements of this collection grouped by the key computed by the given {@link Function}.
+	 * <p/>
+	 * The index is maintained from the changes of this collection, and the listeners of a group are only notified of
+	 * the changes of the elements with its key. The key of an element must not change while it is in the collection.
+	 *
+	 * @param keyFunction The function computing the key of an element.
+	 * @return the index of the elements.
+	 */
+	default <K> ObservableIndex<K, E> indexBy(Function<? super E, ? extends K> keyFunction) {
+		return new ObservableIndex<>(this, keyFunction);
+	}
 }
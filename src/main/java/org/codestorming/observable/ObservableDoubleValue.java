@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link ObservableValue} specialized for {@code double} values.
+ * <p/>
+ * The {@code double} accessors and the {@link DoubleChangeListener}s do not box the value. The {@link ObservableValue}
+ * methods remain available for interoperability with generic code.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface ObservableDoubleValue extends ObservableValue<Double> {
+
+	/**
+	 * Returns the observed value.
+	 *
+	 * @return the observed value.
+	 */
+	double getDouble();
+
+	/**
+	 * Changes the value and notifies the registered listeners of the change.
+	 *
+	 * @param value the new value.
+	 */
+	void setDouble(double value);
+
+	/**
+	 * Add the given {@link DoubleChangeListener} to this {@code ObservableDoubleValue}.
+	 *
+	 * @param listener The {@link DoubleChangeListener} to add.
+	 */
+	void addDoubleChangeListener(DoubleChangeListener listener);
+
+	/**
+	 * Remove the given {@link DoubleChangeListener} from this {@code ObservableDoubleValue}.
+	 *
+	 * @param listener The {@link DoubleChangeListener} to remove.
+	 */
+	void removeDoubleChangeListener(DoubleChangeListener listener);
+}
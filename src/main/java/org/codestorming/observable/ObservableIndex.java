@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Elements of an {@link ObservableCollection} grouped by key, maintained from its changes.
+ * <p/>
+ * Each group is a read-only {@link ObservableCollection} notifying only the changes of its own elements, so that
+ * listening to a key does not wake up on changes of unrelated keys. Finding the elements of a key takes constant
+ * time. The {@link #keys() keys} are also observable, notifying when a key gets its first element or loses its last
+ * one.
+ * <p/>
+ * The collection only references its indexes weakly, and the index only references its empty groups weakly: an index
+ * or a group must be referenced as long as it is used. Indexes are not thread-safe, their collection must be modified
+ * by a single thread at a time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see ObservableCollection#indexBy(Function)
+ */
+public final class ObservableIndex<K, E> {
+
+	private final Function<? super E, ? extends K> keyFunction;
+
+	private final Map<K, Group<K, E>> groups = new HashMap<>();
+
+	private final Map<K, GroupReference<K, E>> emptyGroups = new HashMap<>();
+
+	private final ReferenceQueue<Group<K, E>> collectedGroups = new ReferenceQueue<>();
+
+	private final Set<Group<K, E>> changedGroups = new LinkedHashSet<>();
+
+	private final Keys<K, E> keys = new Keys<>(this);
+
+	private final CollectionAggregator<E> aggregator;
+
+	ObservableIndex(ObservableCollection<E> source, Function<? super E, ? extends K> keyFunction) {
+		this.keyFunction = keyFunction;
+		aggregator = new CollectionAggregator<E>(source) {
+			@Override
+			protected void added(E element) {
+				ObservableIndex.this.added(element);
+			}
+
+			@Override
+			protected void removed(E element) {
+				ObservableIndex.this.removed(element);
+			}
+
+			@Override
+			protected void clear() {
+				ObservableIndex.this.clear();
+			}
+
+			@Override
+			protected void publish() {
+				ObservableIndex.this.publish();
+			}
+		};
+		aggregator.start();
+	}
+
+	/**
+	 * Returns the elements with the given key.
+	 * <p/>
+	 * The returned group is kept up to date as long as it is referenced, even while no element has its key.
+	 *
+	 * @param key The key.
+	 * @return the read-only group of the elements with the key.
+	 */
+	public ObservableCollection<E> get(K key) {
+		Group<K, E> group = groups.get(key);
+		return group != null ? group : emptyGroup(key);
+	}
+
+	/**
+	 * Indicates if at least one element has the given key.
+	 *
+	 * @param key The key.
+	 * @return {@code true} if an element has the key.
+	 */
+	public boolean containsKey(K key) {
+		return groups.containsKey(key);
+	}
+
+	/**
+	 * Returns an unmodifiable view of the keys of at least one element.
+	 *
+	 * @return the keys of the index.
+	 */
+	public Set<K> keySet() {
+		return Collections.unmodifiableSet(groups.keySet());
+	}
+
+	/**
+	 * Returns the keys of at least one element as a read-only {@link ObservableCollection}.
+	 * <p/>
+	 * The listeners of the keys are notified of the addition of a key when it gets its first element, and of its
+	 * removal when it loses its last one, once per notification of the source.
+	 *
+	 * @return the observable keys of the index.
+	 */
+	public ObservableCollection<K> keys() {
+		return keys;
+	}
+
+	/**
+	 * Returns the number of keys of at least one element.
+	 *
+	 * @return the number of keys.
+	 */
+	public int size() {
+		return groups.size();
+	}
+
+	private Group<K, E> emptyGroup(K key) {
+		expungeCollectedGroups();
+		GroupReference<K, E> reference = emptyGroups.get(key);
+		Group<K, E> group = reference != null ? reference.get() : null;
+		if (group == null) {
+			group = new Group<>(this);
+			emptyGroups.put(key, new GroupReference<>(key, group, collectedGroups));
+		}
+		return group;
+	}
+
+	private void added(E element) {
+		K key = keyFunction.apply(element);
+		Group<K, E> group = groups.get(key);
+		if (group == null) {
+			group = emptyGroup(key);
+			emptyGroups.remove(key);
+			groups.put(key, group);
+			keys.changes.add(new CollectionChange<>(CollectionChange.ChangeType.ADD, key));
+		}
+		group.addElement(element);
+		changedGroups.add(group);
+	}
+
+	private void removed(E element) {
+		K key = keyFunction.apply(element);
+		Group<K, E> group = groups.get(key);
+		if (group != null && group.removeElement(element)) {
+			changedGroups.add(group);
+			if (group.isEmpty()) {
+				groups.remove(key);
+				emptyGroups.put(key, new GroupReference<>(key, group, collectedGroups));
+				keys.changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, key));
+			}
+		}
+	}
+
+	private void clear() {
+		for (Map.Entry<K, Group<K, E>> entry : groups.entrySet()) {
+			Group<K, E> group = entry.getValue();
+			group.clearAll();
+			changedGroups.add(group);
+			emptyGroups.put(entry.getKey(), new GroupReference<>(entry.getKey(), group, collectedGroups));
+			keys.changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, entry.getKey()));
+		}
+		groups.clear();
+	}
+
+	private void publish() {
+		for (Group<K, E> group : changedGroups) {
+			group.publish();
+		}
+		changedGroups.clear();
+		keys.publish();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void expungeCollectedGroups() {
+		Reference<? extends Group<K, E>> reference;
+		while ((reference = collectedGroups.poll()) != null) {
+			K key = ((GroupReference<K, E>) reference).key;
+			if (emptyGroups.get(key) == reference) {
+				emptyGroups.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Weak reference to an empty group, enqueued with its key once the group has been collected.
+	 */
+	private static final class GroupReference<K, E> extends WeakReference<Group<K, E>> {
+
+		private final K key;
+
+		GroupReference(K key, Group<K, E> group, ReferenceQueue<Group<K, E>> queue) {
+			super(group, queue);
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Read-only {@link ObservableCollection} whose changes are recorded by the index and notified once per
+	 * notification of the source.
+	 */
+	private abstract static class ReadOnlyCollection<E> extends AbstractObservableCollection<E> {
+
+		final List<CollectionChange<E>> changes = new ArrayList<>();
+
+		/**
+		 * Returns an unmodifiable view of the elements.
+		 */
+		abstract Collection<E> elements();
+
+		void publish() {
+			if (!changes.isEmpty()) {
+				List<CollectionChange<E>> published = new ArrayList<>(changes);
+				changes.clear();
+				fireChange(published);
+			}
+		}
+
+		@Override
+		public int size() {
+			return elements().size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return elements().contains(o);
+		}
+
+		@Override
+		public boolean containsAll(Collection<?> c) {
+			return elements().containsAll(c);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return elements().iterator();
+		}
+
+		@Override
+		public Object[] toArray() {
+			return elements().toArray();
+		}
+
+		@Override
+		public <T> T[] toArray(T[] a) {
+			return elements().toArray(a);
+		}
+
+		@Override
+		public boolean add(E e) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return elements().toString();
+		}
+	}
+
+	/**
+	 * Read-only collection of the elements with the same key.
+	 * <p/>
+	 * The equal elements are grouped so that finding an element takes constant time, each group keeping the
+	 * instances that were added.
+	 */
+	private static final class Group<K, E> extends ReadOnlyCollection<E> {
+
+		private final Map<E, Deque<E>> instances = new HashMap<>();
+
+		private final Collection<E> elements = Collections.unmodifiableCollection(new AbstractCollection<E>() {
+			@Override
+			public Iterator<E> iterator() {
+				return new GroupIterator<>(instances.values().iterator());
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		});
+
+		/**
+		 * Keeps the index, and so its listener, alive as long as the group is referenced.
+		 */
+		@SuppressWarnings("unused")
+		private final ObservableIndex<K, E> index;
+
+		private int size;
+
+		Group(ObservableIndex<K, E> index) {
+			this.index = index;
+		}
+
+		@Override
+		Collection<E> elements() {
+			return elements;
+		}
+
+		void addElement(E element) {
+			instances.computeIfAbsent(element, key -> new LinkedList<>()).addLast(element);
+			size++;
+			changes.add(new CollectionChange<>(CollectionChange.ChangeType.ADD, element));
+		}
+
+		boolean removeElement(E element) {
+			Deque<E> equal = instances.get(element);
+			if (equal == null) {
+				return false;
+			} // else
+			E removed = null;
+			boolean found = false;
+			for (Iterator<E> iterator = equal.iterator(); iterator.hasNext();) {
+				E instance = iterator.next();
+				if (instance == element) {
+					iterator.remove();
+					removed = instance;
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				removed = equal.removeFirst();
+			}
+			if (equal.isEmpty()) {
+				instances.remove(element);
+			}
+			size--;
+			changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, removed));
+			return true;
+		}
+
+		void clearAll() {
+			for (E element : elements) {
+				changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, element));
+			}
+			instances.clear();
+			size = 0;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return instances.containsKey(o);
+		}
+	}
+
+	/**
+	 * Read-only collection of the keys of at least one element.
+	 */
+	private static final class Keys<K, E> extends ReadOnlyCollection<K> {
+
+		private final ObservableIndex<K, E> index;
+
+		private final Collection<K> elements;
+
+		Keys(ObservableIndex<K, E> index) {
+			this.index = index;
+			elements = Collections.unmodifiableSet(index.groups.keySet());
+		}
+
+		@Override
+		Collection<K> elements() {
+			return elements;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return index.groups.containsKey(o);
+		}
+	}
+
+	/**
+	 * Iterates over the elements of a group, each instance once.
+	 */
+	private static final class GroupIterator<E> implements Iterator<E> {
+
+		private final Iterator<Deque<E>> groups;
+
+		private Iterator<E> instances = Collections.emptyIterator();
+
+		GroupIterator(Iterator<Deque<E>> groups) {
+			this.groups = groups;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return instances.hasNext() || groups.hasNext();
+		}
+
+		@Override
+		public E next() {
+			if (!instances.hasNext()) {
+				if (!groups.hasNext()) {
+					throw new NoSuchElementException();
+				} // else
+				instances = groups.next().iterator();
+			}
+			return instances.next();
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link ObservableValue} specialized for {@code int} values.
+ * <p/>
+ * The {@code int} accessors and the {@link IntChangeListener}s do not box the value. The {@link ObservableValue}
+ * methods remain available for interoperability with generic code.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface ObservableIntValue extends ObservableValue<Integer> {
+
+	/**
+	 * Returns the observed value.
+	 *
+	 * @return the observed value.
+	 */
+	int getInt();
+
+	/**
+	 * Changes the value and notifies the registered listeners of the change.
+	 *
+	 * @param value the new value.
+	 */
+	void setInt(int value);
+
+	/**
+	 * Add the given {@link IntChangeListener} to this {@code ObservableIntValue}.
+	 *
+	 * @param listener The {@link IntChangeListener} to add.
+	 */
+	void addIntChangeListener(IntChangeListener listener);
+
+	/**
+	 * Remove the given {@link IntChangeListener} from this {@code ObservableIntValue}.
+	 *
+	 * @param listener The {@link IntChangeListener} to remove.
+	 */
+	void removeIntChangeListener(IntChangeListener listener);
+}
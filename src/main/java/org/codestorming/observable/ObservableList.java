@@ -11,11 +11,116 @@
  */
 package org.codestorming.observable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * {@link ObservableCollection} of type {@link List}.
+ * <p/>
+ * The changes notified by an {@code ObservableList} carry the position of the elements in the list: they are
+ * {@link ListChange}s or {@link CollectionChangeSet}s whose runs have a known {@link CollectionChangeSet.Run#getIndex()
+ * index}.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  */
-public interface ObservableList<E> extends ObservableCollection<E>, List<E> {}
+public interface ObservableList<E> extends ObservableCollection<E>, List<E> {
+
+	/**
+	 * Add the given {@link CollectionChangeListener}, notified only of the changes that may affect the content of the
+	 * {@code [fromIndex, toIndex)} range of this list.
+	 * <p/>
+	 * The changes after the range are not notified, neither are the replacements and permutations before it. The
+	 * listener is removed with {@link #removeChangeListener(CollectionChangeListener)}.
+	 *
+	 * @param fromIndex The first position of the range (inclusive).
+	 * @param toIndex The last position of the range (exclusive).
+	 * @param listener The {@link CollectionChangeListener} to add.
+	 */
+	void addChangeListener(int fromIndex, int toIndex, CollectionChangeListener<E> listener);
+
+	/**
+	 * Returns an observable view of the {@code [fromIndex, toIndex)} range of this list.
+	 * <p/>
+	 * The changes made through the view are notified to the listeners of this list with positions relative to this
+	 * list. Bulk operations on the view, such as {@code subList(from, to).clear()}, are notified as a single change.
+	 *
+	 * @param fromIndex The first position of the range (inclusive).
+	 * @param toIndex The last position of the range (exclusive).
+	 * @return an observable view of the range.
+	 */
+	@Override
+	ObservableList<E> subList(int fromIndex, int toIndex);
+
+	/**
+	 * Replaces the content of this list by the elements of the given collection, notifying only the differences.
+	 * <p/>
+	 * The shortest sequence of additions and removals transforming the current content into the new one is computed
+	 * and notified as a single change, so that the elements present in both are neither removed nor added.
+	 * <p/>
+	 * This default implementation applies the removals and additions in a batch.
+	 *
+	 * @param elements The new elements of this list.
+	 * @return {@code true} if this list changed.
+	 */
+	default boolean setAll(Collection<? extends E> elements) {
+		final List<CollectionChangeSet.Run<E>> runs = ListDiff.diff(toArray(), elements.toArray());
+		if (runs.isEmpty()) {
+			return false;
+		} // else
+		batch(() -> {
+			for (CollectionChangeSet.Run<E> run : runs) {
+				if (run.getType() == CollectionChange.ChangeType.ADD) {
+					addAll(run.getIndex(), run.getValues());
+				} else {
+					subList(run.getIndex(), run.getIndex() + run.size()).clear();
+				}
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Replaces each element of this list by the result of the given operator, computing the new elements in parallel,
+	 * and notifies the replacements in a single change.
+	 * <p/>
+	 * The operator may be called concurrently from the threads of the common
+	 * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}. This default implementation computes the elements
+	 * sequentially in a batch.
+	 *
+	 * @param operator The thread-safe operator computing the new elements.
+	 */
+	default void parallelReplaceAll(UnaryOperator<E> operator) {
+		batch(() -> replaceAll(operator));
+	}
+
+	/**
+	 * Returns a read-only view of the elements of this list matching the given {@link Predicate}, in the same order.
+	 * <p/>
+	 * The view is maintained from the changes of this list, each change being translated in logarithmic time. The
+	 * predicate must only depend on the element it tests.
+	 *
+	 * @param predicate The predicate the elements of the view match.
+	 * @return the filtered view.
+	 * @see AbstractObservableListView
+	 */
+	default ObservableList<E> filtered(Predicate<? super E> predicate) {
+		return new FilteredList<>(this, predicate);
+	}
+
+	/**
+	 * Returns a read-only view of the elements of this list transformed by the given {@link Function}, at the same
+	 * positions.
+	 * <p/>
+	 * The view is maintained from the changes of this list, the function being applied once per added element.
+	 *
+	 * @param mapper The function transforming the elements.
+	 * @return the mapped view.
+	 * @see AbstractObservableListView
+	 */
+	default <R> ObservableList<R> mapped(Function<? super E, ? extends R> mapper) {
+		return new MappedList<>(this, mapper);
+	}
+}
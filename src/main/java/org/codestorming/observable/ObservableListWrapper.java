@@ -12,13 +12,22 @@
 package org.codestorming.observable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * {@link ObservableList} implementation by wrapping an existing {@link List}.
+ * <p/>
+ * The changes are notified as {@link ListChange}s, or as {@link CollectionChangeSet}s whose runs know their position
+ * in the list.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  */
@@ -31,15 +40,160 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 		wrappedList = wrapped;
 	}
 
+	@Override
+	public Iterator<E> iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public boolean add(E e) {
+		int index = wrappedList.size();
+		wrappedList.add(e);
+		fireChange(Collections.singletonList(new ListChange<>(CollectionChange.ChangeType.ADD, e, index)));
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = wrappedList.indexOf(o);
+		if (index < 0) {
+			return false;
+		} // else
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(wrappedList.size(), c);
+	}
+
 	@Override
 	public boolean addAll(int index, Collection<? extends E> c) {
+		Object[] values = c.toArray();
 		boolean added = wrappedList.addAll(index, c);
 		if (added) {
-			fireChange(create(CollectionChange.ChangeType.ADD, c));
+			fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.ADD, values, 0, values.length, index));
 		}
 		return added;
 	}
 
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(BulkRemoval.membership(c));
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(BulkRemoval.membership(c).negate());
+	}
+
+	/**
+	 * Removes the elements matching the given filter and notifies a run for each range of contiguous removed
+	 * elements.
+	 *
+	 * @param filter The filter of the elements to remove.
+	 * @return {@code true} if at least one element has been removed.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		CollectionChangeSet<E> removed = BulkRemoval.removeIf(wrappedList, filter);
+		if (removed == null) {
+			return false;
+		} // else
+		fireChange(removed);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The elements are tested in parallel before the wrapped list is compacted, with a run for each range of
+	 * contiguous removed elements.
+	 */
+	@Override
+	public boolean parallelRemoveIf(Predicate<? super E> filter) {
+		CollectionChangeSet<E> removed = BulkRemoval.parallelRemoveIf(wrappedList, filter);
+		if (removed == null) {
+			return false;
+		} // else
+		fireChange(removed);
+		return true;
+	}
+
+	/**
+	 * Replaces each element of the wrapped list by the result of the given operator and notifies the replaced
+	 * elements in a single change.
+	 *
+	 * @param operator The operator computing the new elements.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void replaceAll(UnaryOperator<E> operator) {
+		Object[] values = wrappedList.toArray();
+		Object[] replaced = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			replaced[i] = operator.apply((E) values[i]);
+		}
+		replaceAll(values, replaced);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The new elements are computed in parallel before being set in the wrapped list.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void parallelReplaceAll(UnaryOperator<E> operator) {
+		final Object[] values = wrappedList.toArray();
+		final Object[] replaced = new Object[values.length];
+		IntStream.range(0, values.length).parallel().forEach(i -> replaced[i] = operator.apply((E) values[i]));
+		replaceAll(values, replaced);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void replaceAll(Object[] values, Object[] replaced) {
+		List<CollectionChange<E>> changes = new ArrayList<>();
+		final ListIterator<E> iter = wrappedList.listIterator();
+		for (int i = 0; i < values.length; i++) {
+			iter.next();
+			if (replaced[i] != values[i]) {
+				iter.set((E) replaced[i]);
+				changes.add(new ListChange<>(i, (E) values[i], (E) replaced[i]));
+			}
+		}
+		if (!changes.isEmpty()) {
+			fireChange(changes);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The wrapped list is refilled in linear time once the differences are computed.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean setAll(Collection<? extends E> elements) {
+		Object[] values = elements.toArray();
+		List<CollectionChangeSet.Run<E>> runs = ListDiff.diff(wrappedList.toArray(), values);
+		if (runs.isEmpty()) {
+			return false;
+		} // else
+		wrappedList.clear();
+		wrappedList.addAll(Arrays.asList((E[]) values));
+		fireChange(new CollectionChangeSet<>(runs));
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		Object[] elements = wrappedList.toArray();
+		wrappedList.clear();
+		fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE, elements, 0, elements.length, 0));
+	}
+
 	@Override
 	public E get(int index) {
 		return wrappedList.get(index);
@@ -48,30 +202,55 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 	@Override
 	public E set(int index, E element) {
 		E removed = wrappedList.set(index, element);
-		List<CollectionChange<E>> changes = new ArrayList<>(2);
-		if (removed != null) {
-			changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, removed));
-		}
-		changes.add(new CollectionChange<>(CollectionChange.ChangeType.ADD, element));
-		fireChange(changes);
+		fireChange(Collections.singletonList(new ListChange<>(index, removed, element)));
 		return removed;
 	}
 
 	@Override
 	public void add(int index, E element) {
 		wrappedList.add(index, element);
-		fireChange(Collections.singletonList(new CollectionChange<>(CollectionChange.ChangeType.ADD, element)));
+		fireChange(Collections.singletonList(new ListChange<>(CollectionChange.ChangeType.ADD, element, index)));
 	}
 
 	@Override
 	public E remove(int index) {
 		E removed = wrappedList.remove(index);
-		if (removed != null) {
-			fireChange(Collections.singletonList(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, removed)));
-		}
+		fireChange(Collections.singletonList(new ListChange<>(CollectionChange.ChangeType.REMOVE, removed, index)));
 		return removed;
 	}
 
+	/**
+	 * Sorts the wrapped list and notifies a single {@link CollectionChange.ChangeType#PERMUTATION PERMUTATION}, if
+	 * any element has moved.
+	 *
+	 * @param c The comparator, or {@code null} to use the natural ordering of the elements.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super E> c) {
+		final Object[] values = wrappedList.toArray();
+		final Comparator<Object> comparator = c != null ? (Comparator<Object>) c :
+				(o1, o2) -> ((Comparable<Object>) o1).compareTo(o2);
+		Integer[] order = new Integer[values.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (i, j) -> comparator.compare(values[i], values[j]));
+
+		int[] permutation = new int[values.length];
+		boolean moved = false;
+		final ListIterator<E> iter = wrappedList.listIterator();
+		for (int i = 0; i < order.length; i++) {
+			permutation[order[i]] = i;
+			moved |= order[i] != i;
+			iter.next();
+			iter.set((E) values[order[i]]);
+		}
+		if (moved) {
+			fireChange(Collections.singletonList(new ListChange<>(0, permutation)));
+		}
+	}
+
 	@Override
 	public int indexOf(Object o) {
 		return wrappedList.indexOf(o);
@@ -93,30 +272,33 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 			@Override
 			public void remove() {
 				iter.remove();
-				fireChange(Collections.singletonList(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, last)));
+				fireChange(Collections.singletonList(
+						new ListChange<>(CollectionChange.ChangeType.REMOVE, last, lastIndex)));
 			}
 
 			@Override
 			public void set(E e) {
 				iter.set(e);
-				List<CollectionChange<E>> changes = new ArrayList<>(2);
-				if (last != null) {
-					changes.add(new CollectionChange<>(CollectionChange.ChangeType.REMOVE, last));
-				}
-				changes.add(new CollectionChange<>(CollectionChange.ChangeType.ADD, e));
-				fireChange(changes);
+				fireChange(Collections.singletonList(new ListChange<>(lastIndex, last, e)));
+				last = e;
 			}
 
 			@Override
 			public void add(E e) {
+				int index = iter.nextIndex();
 				iter.add(e);
-				fireChange(Collections.singletonList(new CollectionChange<>(CollectionChange.ChangeType.ADD, e)));
+				fireChange(Collections.singletonList(new ListChange<>(CollectionChange.ChangeType.ADD, e, index)));
 			}
 		};
 	}
 
 	@Override
-	public List<E> subList(int fromIndex, int toIndex) {
-		return wrappedList.subList(fromIndex, toIndex);
+	public void addChangeListener(int fromIndex, int toIndex, CollectionChangeListener<E> listener) {
+		addChangeListener(new WindowChangeListener<>(listener, fromIndex, toIndex));
+	}
+
+	@Override
+	public ObservableList<E> subList(int fromIndex, int toIndex) {
+		return new ObservableSubList<>(this, wrappedList.subList(fromIndex, toIndex), fromIndex);
 	}
 }
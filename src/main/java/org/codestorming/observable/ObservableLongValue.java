@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link ObservableValue} specialized for {@code long} values.
+ * <p/>
+ * The {@code long} accessors and the {@link LongChangeListener}s do not box the value. The {@link ObservableValue}
+ * methods remain available for interoperability with generic code.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface ObservableLongValue extends ObservableValue<Long> {
+
+	/**
+	 * Returns the observed value.
+	 *
+	 * @return the observed value.
+	 */
+	long getLong();
+
+	/**
+	 * Changes the value and notifies the registered listeners of the change.
+	 *
+	 * @param value the new value.
+	 */
+	void setLong(long value);
+
+	/**
+	 * Add the given {@link LongChangeListener} to this {@code ObservableLongValue}.
+	 *
+	 * @param listener The {@link LongChangeListener} to add.
+	 */
+	void addLongChangeListener(LongChangeListener listener);
+
+	/**
+	 * Remove the given {@link LongChangeListener} from this {@code ObservableLongValue}.
+	 *
+	 * @param listener The {@link LongChangeListener} to remove.
+	 */
+	void removeLongChangeListener(LongChangeListener listener);
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Map;
+
+/**
+ * {@code ObservableMap} is a {@link Map} that notifies its referenced listeners of changes that happened on its
+ * entries.
+ * <p/>
+ * Listeners can be registered for the whole map or for a single key, in which case they are only notified of the
+ * changes of this key.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public interface ObservableMap<K, V> extends Map<K, V> {
+
+	void addChangeListener(MapChangeListener<K, V> listener);
+
+	void removeChangeListener(MapChangeListener<K, V> listener);
+
+	/**
+	 * Add the given {@link MapChangeListener} to this map without preventing it from being garbage collected.
+	 * <p/>
+	 * The listener is automatically removed once collected. It can also be removed with
+	 * {@link #removeChangeListener(MapChangeListener)}.
+	 *
+	 * @param listener The {@link MapChangeListener} to add.
+	 */
+	void addWeakChangeListener(MapChangeListener<K, V> listener);
+
+	/**
+	 * Add the given {@link MapChangeListener} to this map and returns the {@link Subscription} removing it.
+	 *
+	 * @param listener The {@link MapChangeListener} to add.
+	 * @return the subscription of the listener.
+	 */
+	Subscription subscribe(MapChangeListener<K, V> listener);
+
+	/**
+	 * Add the given {@link MapChangeListener}, notified only of the changes of the given key.
+	 *
+	 * @param key The listened key.
+	 * @param listener The {@link MapChangeListener} to add.
+	 */
+	void addChangeListener(K key, MapChangeListener<K, V> listener);
+
+	/**
+	 * Removes the given {@link MapChangeListener} of the given key.
+	 *
+	 * @param key The listened key.
+	 * @param listener The {@link MapChangeListener} to remove.
+	 */
+	void removeChangeListener(K key, MapChangeListener<K, V> listener);
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Wrapper implementing {@link ObservableMap} for maps.
+ * <p/>
+ * The changes made through the key, value and entry views are notified as well. Bulk operations, such as
+ * {@link #putAll(Map)} and {@link #clear()}, are notified as a single notification.
+ * <p/>
+ * Putting the value a key is already mapped to is not notified.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ObservableMapWrapper<K, V> extends AbstractObservableMap<K, V> {
+
+	protected final Map<K, V> wrapped;
+
+	public ObservableMapWrapper(Map<K, V> wrapped) {
+		if (wrapped == null) {
+			throw new NullPointerException("The wrapped map cannot be null");
+		} // else
+		this.wrapped = wrapped;
+	}
+
+	@Override
+	public int size() {
+		return wrapped.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return wrapped.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return wrapped.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return wrapped.containsValue(value);
+	}
+
+	@Override
+	public V get(Object key) {
+		return wrapped.get(key);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		MapChange<K, V> change = change(key, value);
+		if (change != null) {
+			fireChange(change);
+		}
+		return change != null ? change.getOldValue() : value;
+	}
+
+	/**
+	 * Maps the given key to the given value and returns the corresponding change, or {@code null} if the key was
+	 * already mapped to the value.
+	 */
+	private MapChange<K, V> change(K key, V value) {
+		boolean mapped = wrapped.containsKey(key);
+		V oldValue = wrapped.put(key, value);
+		if (!mapped) {
+			return new MapChange<>(MapChange.ChangeType.PUT, key, null, value);
+		} // else
+		return oldValue != value ? new MapChange<>(MapChange.ChangeType.REPLACE, key, oldValue, value) : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if (!wrapped.containsKey(key)) {
+			return null;
+		} // else
+		V oldValue = wrapped.remove(key);
+		fireChange(new MapChange<>(MapChange.ChangeType.REMOVE, (K) key, oldValue, null));
+		return oldValue;
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> m) {
+		List<MapChange<K, V>> changes = new ArrayList<>(m.size());
+		for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+			MapChange<K, V> change = change(entry.getKey(), entry.getValue());
+			if (change != null) {
+				changes.add(change);
+			}
+		}
+		if (!changes.isEmpty()) {
+			fireChange(changes);
+		}
+	}
+
+	@Override
+	public void clear() {
+		if (wrapped.isEmpty()) {
+			return;
+		} // else
+		List<MapChange<K, V>> changes = new ArrayList<>(wrapped.size());
+		for (Map.Entry<K, V> entry : wrapped.entrySet()) {
+			changes.add(new MapChange<>(MapChange.ChangeType.REMOVE, entry.getKey(), entry.getValue(), null));
+		}
+		wrapped.clear();
+		fireChange(changes);
+	}
+
+	/**
+	 * Removes the given entry, last returned by the given iterator over the entries of the wrapped map.
+	 *
+	 * @param iterator The iterator over the entries of the wrapped map.
+	 * @param entry The entry to remove.
+	 */
+	protected void remove(Iterator<Map.Entry<K, V>> iterator, Map.Entry<K, V> entry) {
+		K key = entry.getKey();
+		V value = entry.getValue();
+		iterator.remove();
+		fireChange(new MapChange<>(MapChange.ChangeType.REMOVE, key, value, null));
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				final Iterator<Map.Entry<K, V>> entries = new EntryIterator();
+				return new Iterator<K>() {
+					@Override
+					public boolean hasNext() {
+						return entries.hasNext();
+					}
+
+					@Override
+					public K next() {
+						return entries.next().getKey();
+					}
+
+					@Override
+					public void remove() {
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return wrapped.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return wrapped.containsKey(o);
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if (!wrapped.containsKey(o)) {
+					return false;
+				} // else
+				ObservableMapWrapper.this.remove(o);
+				return true;
+			}
+
+			@Override
+			public void clear() {
+				ObservableMapWrapper.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new AbstractCollection<V>() {
+			@Override
+			public Iterator<V> iterator() {
+				final Iterator<Map.Entry<K, V>> entries = new EntryIterator();
+				return new Iterator<V>() {
+					@Override
+					public boolean hasNext() {
+						return entries.hasNext();
+					}
+
+					@Override
+					public V next() {
+						return entries.next().getValue();
+					}
+
+					@Override
+					public void remove() {
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return wrapped.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return wrapped.containsValue(o);
+			}
+
+			@Override
+			public void clear() {
+				ObservableMapWrapper.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new AbstractSet<Map.Entry<K, V>>() {
+			@Override
+			public Iterator<Map.Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return wrapped.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return wrapped.entrySet().contains(o);
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if (!contains(o)) {
+					return false;
+				} // else
+				ObservableMapWrapper.this.remove(((Map.Entry<?, ?>) o).getKey());
+				return true;
+			}
+
+			@Override
+			public void clear() {
+				ObservableMapWrapper.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || wrapped.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return wrapped.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return wrapped.toString();
+	}
+
+	/**
+	 * Iterator over the entries of the wrapped map, notifying the removals and the values set through it.
+	 */
+	private class EntryIterator extends AbstractIteratorWrapper<Map.Entry<K, V>> {
+
+		EntryIterator() {
+			super(wrapped.entrySet().iterator());
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			final Map.Entry<K, V> entry = super.next();
+			return new Map.Entry<K, V>() {
+				@Override
+				public K getKey() {
+					return entry.getKey();
+				}
+
+				@Override
+				public V getValue() {
+					return entry.getValue();
+				}
+
+				@Override
+				public V setValue(V value) {
+					return put(entry.getKey(), value);
+				}
+
+				@Override
+				public boolean equals(Object o) {
+					return o instanceof Map.Entry && Objects.equals(getKey(), ((Map.Entry<?, ?>) o).getKey())
+							&& Objects.equals(getValue(), ((Map.Entry<?, ?>) o).getValue());
+				}
+
+				@Override
+				public int hashCode() {
+					return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+				}
+
+				@Override
+				public String toString() {
+					return getKey() + "=" + getValue();
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			} // else
+			ObservableMapWrapper.this.remove(iter, last);
+			last = null;
+		}
+	}
+}
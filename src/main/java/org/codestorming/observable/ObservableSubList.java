@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.List;
+
+/**
+ * View of a range of an {@link ObservableListWrapper}.
+ * <p/>
+ * The changes made through the view are notified to the listeners of the view with positions relative to the view,
+ * then to the listeners of the parent list with positions relative to the parent.
+ * <p/>
+ * As for {@link List#subList(int, int)}, the view becomes undefined if the parent list is structurally modified
+ * other than through the view.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+class ObservableSubList<E> extends ObservableListWrapper<E> {
+
+	private final ObservableListWrapper<E> parent;
+
+	private final int offset;
+
+	/**
+	 * Creates an {@code ObservableSubList}.
+	 *
+	 * @param parent The list notified of the changes made through the view.
+	 * @param wrapped The sub-list of the list wrapped by {@code parent}.
+	 * @param offset The position of the view in {@code parent}.
+	 */
+	ObservableSubList(ObservableListWrapper<E> parent, List<E> wrapped, int offset) {
+		super(wrapped);
+		this.parent = parent;
+		this.offset = offset;
+	}
+
+	@Override
+	protected void fireChange(Iterable<CollectionChange<E>> changes) {
+		super.fireChange(changes);
+		parent.fireChange(ListChanges.shift(changes, offset));
+	}
+}
@@ -11,6 +11,9 @@
  */
 package org.codestorming.observable;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * {@code ObservableValue} references an object and notifies the registered {@link ChangeListener}s when the reference
  * to the object changes.
@@ -47,6 +50,37 @@ public interface ObservableValue<T> {
 	 */
 	void removeChangeListener(ChangeListener<T> listener);
 
+	/**
+	 * Add the given {@link ChangeListener} to this {@code ObservableValue} without preventing it from being garbage
+	 * collected.
+	 * <p/>
+	 * The listener is automatically removed once collected. It can also be removed with
+	 * {@link #removeChangeListener(ChangeListener)}.
+	 *
+	 * <p/>
+	 * This default implementation adds a listener referencing the given one weakly, which stops notifying it once
+	 * collected but stays registered.
+	 *
+	 * @param listener The {@link ChangeListener} to add.
+	 */
+	default void addWeakChangeListener(ChangeListener<T> listener) {
+		addChangeListener(new WeakListener<T, Object>(listener, null));
+	}
+
+	/**
+	 * Add the given {@link ChangeListener} to this {@code ObservableValue} and returns the {@link Subscription}
+	 * removing it.
+	 *
+	 * @param listener The {@link ChangeListener} to add.
+	 * @return the subscription of the listener.
+	 */
+	default Subscription subscribe(ChangeListener<T> listener) {
+		final SubscribedListener<T, Object> subscribed = new SubscribedListener<>(listener);
+		Subscription subscription = subscribed.subscribe(() -> removeChangeListener(subscribed));
+		addChangeListener(subscribed);
+		return subscription;
+	}
+
 	/**
 	 * Binds this {@code ObservableValue} to the given one with a bidirectional link.
 	 * <p>
@@ -77,4 +111,41 @@ public interface ObservableValue<T> {
 	 * @param observable The other {@code ObservableValue} to be unbound to.
 	 */
 	void unbind(ObservableValue<T> observable);
+
+	/**
+	 * Returns a {@link DerivedValue} applying the given function to this value.
+	 *
+	 * @param mapper The function computing the derived value.
+	 * @return the derived value.
+	 * @see DerivedValue#map(ObservableValue, Function)
+	 */
+	default <R> ObservableValue<R> map(Function<? super T, ? extends R> mapper) {
+		return DerivedValue.map(this, mapper);
+	}
+
+	/**
+	 * Returns a {@link DerivedValue} whose value is the value of the {@code ObservableValue} obtained by applying the
+	 * given function to this value.
+	 *
+	 * @param mapper The function returning the {@code ObservableValue} holding the derived value, or {@code null}.
+	 * @return the derived value.
+	 * @see DerivedValue#flatMap(ObservableValue, Function)
+	 */
+	default <R> ObservableValue<R> flatMap(Function<? super T, ? extends ObservableValue<R>> mapper) {
+		return DerivedValue.flatMap(this, mapper);
+	}
+
+	/**
+	 * Returns a {@link DerivedValue} combining the two given values.
+	 *
+	 * @param source0 The first source value.
+	 * @param source1 The second source value.
+	 * @param combiner The function computing the derived value.
+	 * @return the derived value.
+	 * @see DerivedValue#combine(ObservableValue, ObservableValue, BiFunction)
+	 */
+	static <A, B, R> ObservableValue<R> combine(ObservableValue<A> source0, ObservableValue<B> source1,
+			BiFunction<? super A, ? super B, ? extends R> combiner) {
+		return DerivedValue.combine(source0, source1, combiner);
+	}
 }
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link ObservableList} backed by a persistent tree, readable without locking while being modified.
+ * <p/>
+ * Each modification builds a new tree sharing most of its nodes with the previous one and publishes it as the current
+ * {@link ListSnapshot}: {@link #snapshot()} is a constant time operation, and the read operations, including the
+ * iterators, work on the snapshot current when they start so they never see a partial modification nor throw a
+ * {@link java.util.ConcurrentModificationException}. Accessing an element by index takes logarithmic time.
+ * <p/>
+ * The modifications are serialized, each one incrementing the version of the list, and the listeners are notified of
+ * the changes in the order of the versions. The changes are notified as {@link VersionedChanges} carrying the version
+ * and the snapshot they produced.
+ * <p/>
+ * The iterators are read-only: the elements are removed with {@link #removeIf(Predicate)},
+ * {@link #removeAll(Collection)} or {@link #retainAll(Collection)}, each notified as a single change. The list has no
+ * {@link #subList(int, int) sub-list} view: a range is read from a snapshot.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class PersistentObservableList<E> extends AbstractObservableCollection<E> implements ObservableList<E> {
+
+	private volatile ListSnapshot<E> snapshot = ListSnapshot.empty();
+
+	private final ReentrantLock mutationLock = new ReentrantLock();
+
+	/**
+	 * Creates an empty {@code PersistentObservableList}.
+	 */
+	public PersistentObservableList() {}
+
+	/**
+	 * Creates a {@code PersistentObservableList} containing the elements of the given collection.
+	 *
+	 * @param elements The initial elements.
+	 */
+	public PersistentObservableList(Collection<? extends E> elements) {
+		Object[] values = elements.toArray();
+		snapshot = new ListSnapshot<>(PersistentTree.<E> build(values, 0, values.length), 0L);
+	}
+
+	/**
+	 * Returns an immutable view of the current content of this list.
+	 *
+	 * @return the current snapshot.
+	 */
+	public ListSnapshot<E> snapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Returns the current version of this list, incremented by each modification.
+	 *
+	 * @return the current version.
+	 */
+	public long getVersion() {
+		return snapshot.getVersion();
+	}
+
+	private void commit(PersistentTree.Node<E> root) {
+		snapshot = new ListSnapshot<>(root, snapshot.getVersion() + 1);
+	}
+
+	@Override
+	protected Iterable<CollectionChange<E>> toNotification(Iterable<CollectionChange<E>> changes) {
+		return new VersionedChanges<>(changes, snapshot);
+	}
+
+	@Override
+	public int size() {
+		return snapshot.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return snapshot.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return snapshot.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return snapshot.containsAll(c);
+	}
+
+	@Override
+	public E get(int index) {
+		return snapshot.get(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return snapshot.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return snapshot.lastIndexOf(o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return snapshot.iterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return snapshot.listIterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		return snapshot.listIterator(index);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return snapshot.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return snapshot.toArray(a);
+	}
+
+	@Override
+	public boolean add(E e) {
+		mutationLock.lock();
+		try {
+			add(snapshot.size(), e);
+			return true;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, E element) {
+		mutationLock.lock();
+		try {
+			checkPosition(index);
+			commit(PersistentTree.insert(snapshot.root, index, element));
+			fireChange(Collections.singletonList(new ListChange<>(CollectionChange.ChangeType.ADD, element, index)));
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		mutationLock.lock();
+		try {
+			return addAll(snapshot.size(), c);
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		Object[] values = c.toArray();
+		mutationLock.lock();
+		try {
+			checkPosition(index);
+			if (values.length == 0) {
+				return false;
+			} // else
+			commit(PersistentTree.insert(snapshot.root, index, PersistentTree.<E> build(values, 0, values.length)));
+			fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.ADD, values, 0, values.length, index));
+			return true;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public E set(int index, E element) {
+		mutationLock.lock();
+		try {
+			E oldValue = snapshot.get(index);
+			commit(PersistentTree.set(snapshot.root, index, element));
+			fireChange(Collections.singletonList(new ListChange<>(index, oldValue, element)));
+			return oldValue;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public E remove(int index) {
+		mutationLock.lock();
+		try {
+			E oldValue = snapshot.get(index);
+			commit(PersistentTree.remove(snapshot.root, index));
+			fireChange(Collections.singletonList(
+					new ListChange<>(CollectionChange.ChangeType.REMOVE, oldValue, index)));
+			return oldValue;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		mutationLock.lock();
+		try {
+			int index = snapshot.indexOf(o);
+			if (index < 0) {
+				return false;
+			} // else
+			remove(index);
+			return true;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(c::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(e -> !c.contains(e));
+	}
+
+	/**
+	 * Removes the elements matching the given filter and notifies a run for each range of contiguous removed
+	 * elements.
+	 * <p/>
+	 * The remaining elements are rebuilt into a new tree in linear time.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean removeIf(Predicate<? super E> filter) {
+		mutationLock.lock();
+		try {
+			Object[] values = snapshot.toArray();
+			Object[] kept = new Object[values.length];
+			Object[] removed = new Object[values.length];
+			int keptCount = 0;
+			int removedCount = 0;
+			List<CollectionChangeSet.Run<E>> runs = new ArrayList<>();
+			int runStart = -1;
+			for (Object value : values) {
+				if (filter.test((E) value)) {
+					if (runStart < 0) {
+						runStart = removedCount;
+					}
+					removed[removedCount++] = value;
+				} else {
+					if (runStart >= 0) {
+						runs.add(new CollectionChangeSet.Run<>(CollectionChange.ChangeType.REMOVE, removed, runStart,
+								removedCount, keptCount));
+						runStart = -1;
+					}
+					kept[keptCount++] = value;
+				}
+			}
+			if (runStart >= 0) {
+				runs.add(new CollectionChangeSet.Run<>(CollectionChange.ChangeType.REMOVE, removed, runStart,
+						removedCount, keptCount));
+			}
+			if (removedCount == 0) {
+				return false;
+			} // else
+			commit(PersistentTree.<E> build(kept, 0, keptCount));
+			fireChange(new CollectionChangeSet<>(runs));
+			return true;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The tree is rebuilt in linear time once the differences are computed.
+	 */
+	@Override
+	public boolean setAll(Collection<? extends E> elements) {
+		Object[] values = elements.toArray();
+		mutationLock.lock();
+		try {
+			List<CollectionChangeSet.Run<E>> runs = ListDiff.diff(snapshot.toArray(), values);
+			if (runs.isEmpty()) {
+				return false;
+			} // else
+			commit(PersistentTree.<E> build(values, 0, values.length));
+			fireChange(new CollectionChangeSet<>(runs));
+			return true;
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		mutationLock.lock();
+		try {
+			Object[] values = snapshot.toArray();
+			if (values.length == 0) {
+				return;
+			} // else
+			commit(null);
+			fireChange(new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE, values, 0, values.length, 0));
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void replaceAll(UnaryOperator<E> operator) {
+		mutationLock.lock();
+		try {
+			Object[] values = snapshot.toArray();
+			List<CollectionChange<E>> changes = new ArrayList<>();
+			for (int i = 0; i < values.length; i++) {
+				E oldValue = (E) values[i];
+				E newValue = operator.apply(oldValue);
+				if (newValue != oldValue) {
+					values[i] = newValue;
+					changes.add(new ListChange<>(i, oldValue, newValue));
+				}
+			}
+			if (!changes.isEmpty()) {
+				commit(PersistentTree.<E> build(values, 0, values.length));
+				fireChange(changes);
+			}
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super E> c) {
+		mutationLock.lock();
+		try {
+			final Object[] values = snapshot.toArray();
+			final Comparator<Object> comparator = c != null ? (Comparator<Object>) c :
+					(o1, o2) -> ((Comparable<Object>) o1).compareTo(o2);
+			Integer[] order = new Integer[values.length];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (i, j) -> comparator.compare(values[i], values[j]));
+
+			Object[] sorted = new Object[values.length];
+			int[] permutation = new int[values.length];
+			boolean moved = false;
+			for (int i = 0; i < order.length; i++) {
+				permutation[order[i]] = i;
+				moved |= order[i] != i;
+				sorted[i] = values[order[i]];
+			}
+			if (moved) {
+				commit(PersistentTree.<E> build(sorted, 0, sorted.length));
+				fireChange(Collections.singletonList(new ListChange<>(0, permutation)));
+			}
+		} finally {
+			mutationLock.unlock();
+		}
+	}
+
+	private void checkPosition(int index) {
+		if (index < 0 || index > snapshot.size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + snapshot.size());
+		}
+	}
+
+	@Override
+	public void addChangeListener(int fromIndex, int toIndex, CollectionChangeListener<E> listener) {
+		addChangeListener(new WindowChangeListener<>(listener, fromIndex, toIndex));
+	}
+
+	/**
+	 * Not supported: a range of the list is read with {@code snapshot().subList(fromIndex, toIndex)} and observed with
+	 * {@link #addChangeListener(int, int, CollectionChangeListener)}.
+	 *
+	 * @param fromIndex The first position of the range (inclusive).
+	 * @param toIndex The last position of the range (exclusive).
+	 * @return never returns.
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public ObservableList<E> subList(int fromIndex, int toIndex) {
+		throw new UnsupportedOperationException(
+				"PersistentObservableList has no sub-list view, use snapshot().subList(fromIndex, toIndex)");
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || snapshot.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return snapshot.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return snapshot.toString();
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Persistent sequence implemented as an implicit treap with path copying.
+ * <p/>
+ * The operations never modify the nodes of the given trees, they return new trees sharing all the nodes which are
+ * not on the modified paths: an insertion, removal or replacement allocates {@code O(log n)} nodes.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class PersistentTree {
+
+	/**
+	 * Node of a persistent tree.
+	 * <p/>
+	 * The fields are only assigned while the node is being built, never once the node is reachable from a tree.
+	 */
+	static final class Node<E> {
+
+		final E value;
+
+		final int priority;
+
+		Node<E> left;
+
+		Node<E> right;
+
+		int size;
+
+		Node(E value, int priority, Node<E> left, Node<E> right) {
+			this.value = value;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+			size = 1 + size(left) + size(right);
+		}
+	}
+
+	private PersistentTree() {}
+
+	static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	static <E> E get(Node<E> node, int index) {
+		for (;;) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.value;
+			}
+		}
+	}
+
+	static <E> Node<E> set(Node<E> node, int index, E value) {
+		int leftSize = size(node.left);
+		if (index < leftSize) {
+			return new Node<>(node.value, node.priority, set(node.left, index, value), node.right);
+		} else if (index > leftSize) {
+			return new Node<>(node.value, node.priority, node.left, set(node.right, index - leftSize - 1, value));
+		} // else
+		return new Node<>(value, node.priority, node.left, node.right);
+	}
+
+	static <E> Node<E> insert(Node<E> root, int index, Node<E> inserted) {
+		Node<E>[] parts = split(root, index);
+		return merge(merge(parts[0], inserted), parts[1]);
+	}
+
+	static <E> Node<E> insert(Node<E> root, int index, E value) {
+		return insert(root, index, new Node<>(value, ThreadLocalRandom.current().nextInt(), null, null));
+	}
+
+	static <E> Node<E> remove(Node<E> root, int index) {
+		Node<E>[] parts = split(root, index);
+		return merge(parts[0], split(parts[1], 1)[1]);
+	}
+
+	/**
+	 * Returns the trees of the nodes before the given index and of the other ones.
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> Node<E>[] split(Node<E> node, int index) {
+		if (node == null) {
+			return (Node<E>[]) new Node<?>[2];
+		} // else
+		Node<E>[] parts;
+		if (index <= size(node.left)) {
+			parts = split(node.left, index);
+			parts[1] = new Node<>(node.value, node.priority, parts[1], node.right);
+		} else {
+			parts = split(node.right, index - size(node.left) - 1);
+			parts[0] = new Node<>(node.value, node.priority, node.left, parts[0]);
+		}
+		return parts;
+	}
+
+	static <E> Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) {
+			return right;
+		} // else
+		if (right == null) {
+			return left;
+		} // else
+		if (left.priority > right.priority) {
+			return new Node<>(left.value, left.priority, left.left, merge(left.right, right));
+		} // else
+		return new Node<>(right.value, right.priority, merge(left, right.left), right.right);
+	}
+
+	/**
+	 * Builds a tree of the given values in linear time.
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> Node<E> build(Object[] values, int from, int to) {
+		if (from == to) {
+			return null;
+		} // else
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Node<E>[] stack = (Node<E>[]) new Node<?>[to - from];
+		int top = 0;
+		for (int i = from; i < to; i++) {
+			Node<E> node = new Node<>((E) values[i], random.nextInt(), null, null);
+			Node<E> last = null;
+			while (top > 0 && stack[top - 1].priority < node.priority) {
+				last = stack[--top];
+			}
+			node.left = last;
+			if (top > 0) {
+				stack[top - 1].right = node;
+			}
+			stack[top++] = node;
+		}
+		computeSize(stack[0]);
+		return stack[0];
+	}
+
+	private static int computeSize(Node<?> node) {
+		if (node == null) {
+			return 0;
+		} // else
+		node.size = 1 + computeSize(node.left) + computeSize(node.right);
+		return node.size;
+	}
+
+	static Object[] toArray(Node<?> root) {
+		Object[] values = new Object[size(root)];
+		int i = 0;
+		for (Iterator<?> iterator = new InOrderIterator<>(root); iterator.hasNext();) {
+			values[i++] = iterator.next();
+		}
+		return values;
+	}
+
+	/**
+	 * Iterates over the values of a tree in order.
+	 */
+	static final class InOrderIterator<E> implements Iterator<E> {
+
+		private Node<?>[] stack = new Node<?>[32];
+
+		private int top;
+
+		InOrderIterator(Node<E> root) {
+			pushLeft(root);
+		}
+
+		private void pushLeft(Node<?> node) {
+			while (node != null) {
+				if (top == stack.length) {
+					stack = Arrays.copyOf(stack, top << 1);
+				}
+				stack[top++] = node;
+				node = node.left;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return top > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (top == 0) {
+				throw new NoSuchElementException();
+			} // else
+			Node<E> node = (Node<E>) stack[--top];
+			pushLeft(node.right);
+			return node.value;
+		}
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sequence of positions, each one marked or not, supporting insertions, removals and rank queries in logarithmic
+ * time.
+ * <p/>
+ * Implemented as an implicit treap whose nodes count the positions and the marked positions of their subtree.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class PositionTree {
+
+	private static final class Node {
+
+		final int priority = ThreadLocalRandom.current().nextInt();
+
+		boolean marked;
+
+		int size = 1;
+
+		int markedCount;
+
+		Node left;
+
+		Node right;
+
+		Node(boolean marked) {
+			this.marked = marked;
+			markedCount = marked ? 1 : 0;
+		}
+
+		void update() {
+			size = 1 + size(left) + size(right);
+			markedCount = (marked ? 1 : 0) + markedCount(left) + markedCount(right);
+		}
+	}
+
+	private Node root;
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static int markedCount(Node node) {
+		return node == null ? 0 : node.markedCount;
+	}
+
+	/**
+	 * Returns the number of positions.
+	 *
+	 * @return the number of positions.
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns the number of marked positions.
+	 *
+	 * @return the number of marked positions.
+	 */
+	int markedCount() {
+		return markedCount(root);
+	}
+
+	/**
+	 * Removes all the positions.
+	 */
+	void clear() {
+		root = null;
+	}
+
+	/**
+	 * Inserts a position at the given index.
+	 *
+	 * @param index The index of the new position.
+	 * @param marked Indicates if the new position is marked.
+	 */
+	void insert(int index, boolean marked) {
+		checkIndex(index, size() + 1);
+		Node[] parts = split(root, index);
+		root = merge(merge(parts[0], new Node(marked)), parts[1]);
+	}
+
+	/**
+	 * Removes the position at the given index.
+	 *
+	 * @param index The index of the position.
+	 * @return {@code true} if the removed position was marked.
+	 */
+	boolean remove(int index) {
+		checkIndex(index, size());
+		Node[] parts = split(root, index);
+		Node[] rest = split(parts[1], 1);
+		root = merge(parts[0], rest[1]);
+		return rest[0].marked;
+	}
+
+	/**
+	 * Indicates if the position at the given index is marked.
+	 *
+	 * @param index The index of the position.
+	 * @return {@code true} if the position is marked.
+	 */
+	boolean isMarked(int index) {
+		checkIndex(index, size());
+		Node node = root;
+		for (;;) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.marked;
+			}
+		}
+	}
+
+	/**
+	 * Marks or unmarks the position at the given index.
+	 *
+	 * @param index The index of the position.
+	 * @param marked Indicates if the position is marked.
+	 */
+	void setMarked(int index, boolean marked) {
+		checkIndex(index, size());
+		setMarked(root, index, marked);
+	}
+
+	private static void setMarked(Node node, int index, boolean marked) {
+		int leftSize = size(node.left);
+		if (index < leftSize) {
+			setMarked(node.left, index, marked);
+		} else if (index > leftSize) {
+			setMarked(node.right, index - leftSize - 1, marked);
+		} else {
+			node.marked = marked;
+		}
+		node.update();
+	}
+
+	/**
+	 * Returns the number of marked positions before the given index.
+	 *
+	 * @param index The index, up to {@link #size()}.
+	 * @return the number of marked positions before the index.
+	 */
+	int countMarkedBefore(int index) {
+		checkIndex(index, size() + 1);
+		int count = 0;
+		Node node = root;
+		while (node != null) {
+			int leftSize = size(node.left);
+			if (index <= leftSize) {
+				node = node.left;
+			} else {
+				count += markedCount(node.left) + (node.marked ? 1 : 0);
+				index -= leftSize + 1;
+				node = node.right;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the index of the {@code rank}-th marked position.
+	 *
+	 * @param rank The rank of the marked position, from {@code 0}.
+	 * @return the index of the marked position.
+	 */
+	int indexOfMarked(int rank) {
+		checkIndex(rank, markedCount());
+		int index = 0;
+		Node node = root;
+		for (;;) {
+			int leftMarked = markedCount(node.left);
+			if (rank < leftMarked) {
+				node = node.left;
+			} else if (rank == leftMarked && node.marked) {
+				return index + size(node.left);
+			} else {
+				rank -= leftMarked + (node.marked ? 1 : 0);
+				index += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	private static void checkIndex(int index, int bound) {
+		if (index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+		}
+	}
+
+	/**
+	 * Splits the given subtree into the nodes before the given index and the other ones.
+	 */
+	private static Node[] split(Node node, int index) {
+		if (node == null) {
+			return new Node[2];
+		} // else
+		Node[] parts;
+		if (index <= size(node.left)) {
+			parts = split(node.left, index);
+			node.left = parts[1];
+			parts[1] = node;
+		} else {
+			parts = split(node.right, index - size(node.left) - 1);
+			node.right = parts[0];
+			parts[0] = node;
+		}
+		node.update();
+		return parts;
+	}
+
+	private static Node merge(Node left, Node right) {
+		if (left == null) {
+			return right;
+		} // else
+		if (right == null) {
+			return left;
+		} // else
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		} // else
+		right.left = merge(left, right.left);
+		right.update();
+		return right;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Propagation of the changes of the current thread to the {@link DerivedValue}s.
+ * <p/>
+ * The observables depended on by derived values notify their listeners inside a propagation scope. The derived values
+ * invalidated during the scope are only recomputed when the outermost scope ends, by increasing
+ * {@link DerivedValue#getHeight() height}. Since a derived value is higher than all its sources, it is recomputed
+ * once, after all its sources, even if several of them depend on the same changed value.
+ * <p/>
+ * The values bound together by a {@link SimpleObservableValue.Binder binder} or a {@link BindingGroup} also notify
+ * their listeners inside a propagation scope: a change spreading through bindings to several sources of a derived
+ * value only recomputes it once, after all of them have changed.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class Propagation {
+
+	private static final ThreadLocal<Propagation> current = ThreadLocal.withInitial(Propagation::new);
+
+	private final PriorityQueue<DerivedValue<?>> pending =
+			new PriorityQueue<>((v0, v1) -> Integer.compare(v0.getHeight(), v1.getHeight()));
+
+	private final Set<DerivedValue<?>> scheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private int depth;
+
+	private Propagation() {}
+
+	/**
+	 * Opens a propagation scope on the current thread.
+	 * <p/>
+	 * Must be followed by a call to {@link #end()} on the returned propagation.
+	 *
+	 * @return the propagation of the current thread.
+	 */
+	static Propagation begin() {
+		Propagation propagation = current.get();
+		propagation.depth++;
+		return propagation;
+	}
+
+	/**
+	 * Closes the scope opened by the last call to {@link #begin()}, and recomputes the invalidated derived values if
+	 * it was the outermost scope.
+	 */
+	void end() {
+		if (depth > 1) {
+			depth--;
+			return;
+		} // else
+		try {
+			DerivedValue<?> next;
+			while ((next = pending.poll()) != null) {
+				scheduled.remove(next);
+				next.recompute();
+			}
+		} finally {
+			// The values left by an exception stay invalid and are computed again on demand or when invalidated again
+			for (DerivedValue<?> value : pending) {
+				value.cancelRecompute();
+			}
+			pending.clear();
+			scheduled.clear();
+			depth--;
+		}
+	}
+
+	/**
+	 * Makes the given observable notify its listeners inside a propagation scope.
+	 * <p/>
+	 * The observables implemented outside of this library are left unchanged.
+	 *
+	 * @param observable The observable taking part in the propagation.
+	 */
+	static void enlist(Object observable) {
+		if (observable instanceof AbstractObservableValue) {
+			((AbstractObservableValue<?>) observable).propagated = true;
+		} else if (observable instanceof CompactObservableValue) {
+			((CompactObservableValue<?>) observable).propagated = true;
+		} else if (observable instanceof AbstractObservableCollection) {
+			((AbstractObservableCollection<?>) observable).propagated = true;
+		}
+	}
+
+	/**
+	 * Schedules the recomputation of the given derived value.
+	 * <p/>
+	 * The value is recomputed when the current propagation scope ends, or immediately if there is none.
+	 *
+	 * @param value The invalidated derived value.
+	 */
+	static void schedule(DerivedValue<?> value) {
+		Propagation propagation = begin();
+		if (propagation.scheduled.add(value)) {
+			propagation.pending.add(value);
+		}
+		propagation.end();
+	}
+}
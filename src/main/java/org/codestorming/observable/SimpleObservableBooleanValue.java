@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Default implementation of an {@link ObservableBooleanValue}.
+ * <p/>
+ * The boxed {@link ChangeListener}s are only notified with boxed values when at least one of them is registered.
+ * Binding two {@code ObservableBooleanValue}s together propagates the changes through {@link BooleanChangeListener}s.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SimpleObservableBooleanValue extends AbstractPrimitiveObservableValue<Boolean, BooleanChangeListener>
+		implements ObservableBooleanValue {
+
+	protected boolean value;
+
+	/**
+	 * Creates a {@code SimpleObservableBooleanValue} initialized with {@code false}.
+	 */
+	public SimpleObservableBooleanValue() {
+		super(new BooleanChangeListener[0]);
+	}
+
+	/**
+	 * Creates a {@code SimpleObservableBooleanValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public SimpleObservableBooleanValue(boolean value) {
+		super(new BooleanChangeListener[0]);
+		this.value = value;
+	}
+
+	@Override
+	public boolean getBoolean() {
+		return value;
+	}
+
+	@Override
+	public void setBoolean(boolean value) {
+		if (value != this.value) {
+			boolean oldValue = this.value;
+			this.value = value;
+			fireChange(oldValue, value);
+		}
+	}
+
+	@Override
+	public Boolean get() {
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given value is {@code null}.
+	 */
+	@Override
+	public void set(Boolean value) {
+		setBoolean(value);
+	}
+
+	@Override
+	public void addBooleanChangeListener(BooleanChangeListener listener) {
+		addPrimitiveListener(listener);
+	}
+
+	@Override
+	public void removeBooleanChangeListener(BooleanChangeListener listener) {
+		removePrimitiveListener(listener);
+	}
+
+	protected void fireChange(boolean oldValue, boolean newValue) {
+		firePrimitiveChange(oldValue ? 1 : 0, newValue ? 1 : 0);
+	}
+
+	@Override
+	void notifyListener(BooleanChangeListener listener, long oldBits, long newBits) {
+		listener.onChange(this, oldBits != 0, newBits != 0);
+	}
+
+	@Override
+	Boolean box(long bits) {
+		return bits != 0;
+	}
+
+	@Override
+	public void bind(ObservableValue<Boolean> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<Boolean> observable, boolean notifyChange) {
+		BooleanBinder binder = new BooleanBinder(this, observable);
+		binder.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<Boolean> observable) {
+		BooleanBinder binder = new BooleanBinder(this, observable);
+		binder.unbind();
+	}
+
+	/**
+	 * {@link SimpleObservableValue.Binder} using {@link BooleanChangeListener}s when both values are
+	 * {@code ObservableBooleanValue}s.
+	 */
+	protected static class BooleanBinder extends SimpleObservableValue.Binder<Boolean> {
+
+		private BooleanChangeListener listener0;
+
+		private BooleanChangeListener listener1;
+
+		public BooleanBinder(SimpleObservableBooleanValue obs0, ObservableValue<Boolean> obs1) {
+			super(obs0, obs1);
+		}
+
+		@Override
+		protected void link(boolean notifyChange) {
+			if (!(getObs1() instanceof ObservableBooleanValue)) {
+				super.link(notifyChange);
+				return;
+			} // else
+			final SimpleObservableBooleanValue value0 = (SimpleObservableBooleanValue) getObs0();
+			final ObservableBooleanValue value1 = (ObservableBooleanValue) getObs1();
+
+			listener0 = (source, oldValue, newValue) -> propagate((ObservableBooleanValue) getObs1(), newValue);
+			listener1 = (source, oldValue, newValue) -> propagate((ObservableBooleanValue) getObs0(), newValue);
+
+			if (notifyChange) {
+				value0.setBoolean(value1.getBoolean());
+			} else {
+				value0.value = value1.getBoolean();
+			}
+
+			value0.addBooleanChangeListener(listener0);
+			value1.addBooleanChangeListener(listener1);
+		}
+
+		private void propagate(ObservableBooleanValue target, boolean value) {
+			if (target == null) {
+				unbind();
+			} else if (startPropagation()) {
+				try {
+					target.setBoolean(value);
+				} finally {
+					endPropagation();
+				}
+			}
+		}
+
+		@Override
+		protected void assign(Boolean value) {
+			((SimpleObservableBooleanValue) getObs0()).value = value;
+		}
+
+		@Override
+		protected void unlink() {
+			if (listener0 == null) {
+				super.unlink();
+				return;
+			} // else
+			ObservableBooleanValue value0 = (ObservableBooleanValue) getObs0();
+			ObservableBooleanValue value1 = (ObservableBooleanValue) getObs1();
+			if (value0 != null) {
+				value0.removeBooleanChangeListener(listener0);
+			}
+			if (value1 != null) {
+				value1.removeBooleanChangeListener(listener1);
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Default implementation of an {@link ObservableDoubleValue}.
+ * <p/>
+ * The boxed {@link ChangeListener}s are only notified with boxed values when at least one of them is registered.
+ * Binding two {@code ObservableDoubleValue}s together propagates the changes through {@link DoubleChangeListener}s.
+ * <p/>
+ * Values are compared with {@link Double#doubleToLongBits(double)}: setting {@code NaN} over {@code NaN} is not a
+ * change while setting {@code -0.0} over {@code 0.0} is.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SimpleObservableDoubleValue extends AbstractPrimitiveObservableValue<Double, DoubleChangeListener>
+		implements ObservableDoubleValue {
+
+	protected double value;
+
+	/**
+	 * Creates a {@code SimpleObservableDoubleValue} initialized with {@code 0}.
+	 */
+	public SimpleObservableDoubleValue() {
+		super(new DoubleChangeListener[0]);
+	}
+
+	/**
+	 * Creates a {@code SimpleObservableDoubleValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public SimpleObservableDoubleValue(double value) {
+		super(new DoubleChangeListener[0]);
+		this.value = value;
+	}
+
+	@Override
+	public double getDouble() {
+		return value;
+	}
+
+	@Override
+	public void setDouble(double value) {
+		if (Double.doubleToLongBits(value) != Double.doubleToLongBits(this.value)) {
+			double oldValue = this.value;
+			this.value = value;
+			fireChange(oldValue, value);
+		}
+	}
+
+	@Override
+	public Double get() {
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given value is {@code null}.
+	 */
+	@Override
+	public void set(Double value) {
+		setDouble(value);
+	}
+
+	@Override
+	public void addDoubleChangeListener(DoubleChangeListener listener) {
+		addPrimitiveListener(listener);
+	}
+
+	@Override
+	public void removeDoubleChangeListener(DoubleChangeListener listener) {
+		removePrimitiveListener(listener);
+	}
+
+	protected void fireChange(double oldValue, double newValue) {
+		firePrimitiveChange(Double.doubleToRawLongBits(oldValue), Double.doubleToRawLongBits(newValue));
+	}
+
+	@Override
+	void notifyListener(DoubleChangeListener listener, long oldBits, long newBits) {
+		listener.onChange(this, Double.longBitsToDouble(oldBits), Double.longBitsToDouble(newBits));
+	}
+
+	@Override
+	Double box(long bits) {
+		return Double.longBitsToDouble(bits);
+	}
+
+	@Override
+	public void bind(ObservableValue<Double> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<Double> observable, boolean notifyChange) {
+		DoubleBinder binder = new DoubleBinder(this, observable);
+		binder.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<Double> observable) {
+		DoubleBinder binder = new DoubleBinder(this, observable);
+		binder.unbind();
+	}
+
+	/**
+	 * {@link SimpleObservableValue.Binder} using {@link DoubleChangeListener}s when both values are
+	 * {@code ObservableDoubleValue}s.
+	 */
+	protected static class DoubleBinder extends SimpleObservableValue.Binder<Double> {
+
+		private DoubleChangeListener listener0;
+
+		private DoubleChangeListener listener1;
+
+		public DoubleBinder(SimpleObservableDoubleValue obs0, ObservableValue<Double> obs1) {
+			super(obs0, obs1);
+		}
+
+		@Override
+		protected void link(boolean notifyChange) {
+			if (!(getObs1() instanceof ObservableDoubleValue)) {
+				super.link(notifyChange);
+				return;
+			} // else
+			final SimpleObservableDoubleValue value0 = (SimpleObservableDoubleValue) getObs0();
+			final ObservableDoubleValue value1 = (ObservableDoubleValue) getObs1();
+
+			listener0 = (source, oldValue, newValue) -> propagate((ObservableDoubleValue) getObs1(), newValue);
+			listener1 = (source, oldValue, newValue) -> propagate((ObservableDoubleValue) getObs0(), newValue);
+
+			if (notifyChange) {
+				value0.setDouble(value1.getDouble());
+			} else {
+				value0.value = value1.getDouble();
+			}
+
+			value0.addDoubleChangeListener(listener0);
+			value1.addDoubleChangeListener(listener1);
+		}
+
+		private void propagate(ObservableDoubleValue target, double value) {
+			if (target == null) {
+				unbind();
+			} else if (startPropagation()) {
+				try {
+					target.setDouble(value);
+				} finally {
+					endPropagation();
+				}
+			}
+		}
+
+		@Override
+		protected void assign(Double value) {
+			((SimpleObservableDoubleValue) getObs0()).value = value;
+		}
+
+		@Override
+		protected void unlink() {
+			if (listener0 == null) {
+				super.unlink();
+				return;
+			} // else
+			ObservableDoubleValue value0 = (ObservableDoubleValue) getObs0();
+			ObservableDoubleValue value1 = (ObservableDoubleValue) getObs1();
+			if (value0 != null) {
+				value0.removeDoubleChangeListener(listener0);
+			}
+			if (value1 != null) {
+				value1.removeDoubleChangeListener(listener1);
+			}
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Default implementation of an {@link ObservableIntValue}.
+ * <p/>
+ * The boxed {@link ChangeListener}s are only notified with boxed values when at least one of them is registered.
+ * Binding two {@code ObservableIntValue}s together propagates the changes through {@link IntChangeListener}s.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SimpleObservableIntValue extends AbstractPrimitiveObservableValue<Integer, IntChangeListener>
+		implements ObservableIntValue {
+
+	protected int value;
+
+	/**
+	 * Creates a {@code SimpleObservableIntValue} initialized with {@code 0}.
+	 */
+	public SimpleObservableIntValue() {
+		super(new IntChangeListener[0]);
+	}
+
+	/**
+	 * Creates a {@code SimpleObservableIntValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public SimpleObservableIntValue(int value) {
+		super(new IntChangeListener[0]);
+		this.value = value;
+	}
+
+	@Override
+	public int getInt() {
+		return value;
+	}
+
+	@Override
+	public void setInt(int value) {
+		if (value != this.value) {
+			int oldValue = this.value;
+			this.value = value;
+			fireChange(oldValue, value);
+		}
+	}
+
+	@Override
+	public Integer get() {
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given value is {@code null}.
+	 */
+	@Override
+	public void set(Integer value) {
+		setInt(value);
+	}
+
+	@Override
+	public void addIntChangeListener(IntChangeListener listener) {
+		addPrimitiveListener(listener);
+	}
+
+	@Override
+	public void removeIntChangeListener(IntChangeListener listener) {
+		removePrimitiveListener(listener);
+	}
+
+	protected void fireChange(int oldValue, int newValue) {
+		firePrimitiveChange(oldValue, newValue);
+	}
+
+	@Override
+	void notifyListener(IntChangeListener listener, long oldBits, long newBits) {
+		listener.onChange(this, (int) oldBits, (int) newBits);
+	}
+
+	@Override
+	Integer box(long bits) {
+		return (int) bits;
+	}
+
+	@Override
+	public void bind(ObservableValue<Integer> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<Integer> observable, boolean notifyChange) {
+		IntBinder binder = new IntBinder(this, observable);
+		binder.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<Integer> observable) {
+		IntBinder binder = new IntBinder(this, observable);
+		binder.unbind();
+	}
+
+	/**
+	 * {@link SimpleObservableValue.Binder} using {@link IntChangeListener}s when both values are
+	 * {@code ObservableIntValue}s.
+	 */
+	protected static class IntBinder extends SimpleObservableValue.Binder<Integer> {
+
+		private IntChangeListener listener0;
+
+		private IntChangeListener listener1;
+
+		public IntBinder(SimpleObservableIntValue obs0, ObservableValue<Integer> obs1) {
+			super(obs0, obs1);
+		}
+
+		@Override
+		protected void link(boolean notifyChange) {
+			if (!(getObs1() instanceof ObservableIntValue)) {
+				super.link(notifyChange);
+				return;
+			} // else
+			final SimpleObservableIntValue value0 = (SimpleObservableIntValue) getObs0();
+			final ObservableIntValue value1 = (ObservableIntValue) getObs1();
+
+			listener0 = (source, oldValue, newValue) -> propagate((ObservableIntValue) getObs1(), newValue);
+			listener1 = (source, oldValue, newValue) -> propagate((ObservableIntValue) getObs0(), newValue);
+
+			if (notifyChange) {
+				value0.setInt(value1.getInt());
+			} else {
+				value0.value = value1.getInt();
+			}
+
+			value0.addIntChangeListener(listener0);
+			value1.addIntChangeListener(listener1);
+		}
+
+		private void propagate(ObservableIntValue target, int value) {
+			if (target == null) {
+				unbind();
+			} else if (startPropagation()) {
+				try {
+					target.setInt(value);
+				} finally {
+					endPropagation();
+				}
+			}
+		}
+
+		@Override
+		protected void assign(Integer value) {
+			((SimpleObservableIntValue) getObs0()).value = value;
+		}
+
+		@Override
+		protected void unlink() {
+			if (listener0 == null) {
+				super.unlink();
+				return;
+			} // else
+			ObservableIntValue value0 = (ObservableIntValue) getObs0();
+			ObservableIntValue value1 = (ObservableIntValue) getObs1();
+			if (value0 != null) {
+				value0.removeIntChangeListener(listener0);
+			}
+			if (value1 != null) {
+				value1.removeIntChangeListener(listener1);
+			}
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Default implementation of an {@link ObservableLongValue}.
+ * <p/>
+ * The boxed {@link ChangeListener}s are only notified with boxed values when at least one of them is registered.
+ * Binding two {@code ObservableLongValue}s together propagates the changes through {@link LongChangeListener}s.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SimpleObservableLongValue extends AbstractPrimitiveObservableValue<Long, LongChangeListener>
+		implements ObservableLongValue {
+
+	protected long value;
+
+	/**
+	 * Creates a {@code SimpleObservableLongValue} initialized with {@code 0}.
+	 */
+	public SimpleObservableLongValue() {
+		super(new LongChangeListener[0]);
+	}
+
+	/**
+	 * Creates a {@code SimpleObservableLongValue} initialized with the given value.
+	 *
+	 * @param value The value.
+	 */
+	public SimpleObservableLongValue(long value) {
+		super(new LongChangeListener[0]);
+		this.value = value;
+	}
+
+	@Override
+	public long getLong() {
+		return value;
+	}
+
+	@Override
+	public void setLong(long value) {
+		if (value != this.value) {
+			long oldValue = this.value;
+			this.value = value;
+			fireChange(oldValue, value);
+		}
+	}
+
+	@Override
+	public Long get() {
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given value is {@code null}.
+	 */
+	@Override
+	public void set(Long value) {
+		setLong(value);
+	}
+
+	@Override
+	public void addLongChangeListener(LongChangeListener listener) {
+		addPrimitiveListener(listener);
+	}
+
+	@Override
+	public void removeLongChangeListener(LongChangeListener listener) {
+		removePrimitiveListener(listener);
+	}
+
+	protected void fireChange(long oldValue, long newValue) {
+		firePrimitiveChange(oldValue, newValue);
+	}
+
+	@Override
+	void notifyListener(LongChangeListener listener, long oldBits, long newBits) {
+		listener.onChange(this, oldBits, newBits);
+	}
+
+	@Override
+	Long box(long bits) {
+		return bits;
+	}
+
+	@Override
+	public void bind(ObservableValue<Long> observable) {
+		bind(observable, false);
+	}
+
+	@Override
+	public void bind(ObservableValue<Long> observable, boolean notifyChange) {
+		LongBinder binder = new LongBinder(this, observable);
+		binder.bind(notifyChange);
+	}
+
+	@Override
+	public void unbind(ObservableValue<Long> observable) {
+		LongBinder binder = new LongBinder(this, observable);
+		binder.unbind();
+	}
+
+	/**
+	 * {@link SimpleObservableValue.Binder} using {@link LongChangeListener}s when both values are
+	 * {@code ObservableLongValue}s.
+	 */
+	protected static class LongBinder extends SimpleObservableValue.Binder<Long> {
+
+		private LongChangeListener listener0;
+
+		private LongChangeListener listener1;
+
+		public LongBinder(SimpleObservableLongValue obs0, ObservableValue<Long> obs1) {
+			super(obs0, obs1);
+		}
+
+		@Override
+		protected void link(boolean notifyChange) {
+			if (!(getObs1() instanceof ObservableLongValue)) {
+				super.link(notifyChange);
+				return;
+			} // else
+			final SimpleObservableLongValue value0 = (SimpleObservableLongValue) getObs0();
+			final ObservableLongValue value1 = (ObservableLongValue) getObs1();
+
+			listener0 = (source, oldValue, newValue) -> propagate((ObservableLongValue) getObs1(), newValue);
+			listener1 = (source, oldValue, newValue) -> propagate((ObservableLongValue) getObs0(), newValue);
+
+			if (notifyChange) {
+				value0.setLong(value1.getLong());
+			} else {
+				value0.value = value1.getLong();
+			}
+
+			value0.addLongChangeListener(listener0);
+			value1.addLongChangeListener(listener1);
+		}
+
+		private void propagate(ObservableLongValue target, long value) {
+			if (target == null) {
+				unbind();
+			} else if (startPropagation()) {
+				try {
+					target.setLong(value);
+				} finally {
+					endPropagation();
+				}
+			}
+		}
+
+		@Override
+		protected void assign(Long value) {
+			((SimpleObservableLongValue) getObs0()).value = value;
+		}
+
+		@Override
+		protected void unlink() {
+			if (listener0 == null) {
+				super.unlink();
+				return;
+			} // else
+			ObservableLongValue value0 = (ObservableLongValue) getObs0();
+			ObservableLongValue value1 = (ObservableLongValue) getObs1();
+			if (value0 != null) {
+				value0.removeLongChangeListener(listener0);
+			}
+			if (value1 != null) {
+				value1.removeLongChangeListener(listener1);
+			}
+		}
+	}
+}
@@ -11,30 +11,23 @@
  */
 package org.codestorming.observable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of an {@link ObservableValue}.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  */
-public class SimpleObservableValue<T> implements ObservableValue<T> {
+public class SimpleObservableValue<T> extends AbstractObservableValue<T> {
 
 	protected T value;
 
-	protected final Set<ChangeListener<T>> changeListeners = new HashSet<>();
-
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
 	/**
 	 * Creates a {@code SimpleObservableValue} initialized with {@code null}.
 	 */
@@ -63,55 +56,6 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 		}
 	}
 
-	@Override
-	public void addChangeListener(ChangeListener<T> listener) {
-		writeLock();
-		try {
-			changeListeners.add(listener);
-		} finally {
-			writeUnlock();
-		}
-	}
-
-	@Override
-	public void removeChangeListener(ChangeListener<T> listener) {
-		writeLock();
-		try {
-			changeListeners.remove(listener);
-		} finally {
-			writeUnlock();
-		}
-	}
-
-	protected void readLock() {
-		lock.readLock().lock();
-	}
-
-	protected void readUnlock() {
-		lock.readLock().unlock();
-	}
-
-	protected void writeLock() {
-		lock.writeLock().lock();
-	}
-
-	protected void writeUnlock() {
-		lock.writeLock().unlock();
-	}
-
-	protected void fireChange(T oldValue, T newValue) {
-		readLock();
-		List<ChangeListener<T>> changeListeners;
-		try {
-			changeListeners = new ArrayList<>(this.changeListeners);
-		} finally {
-			readUnlock();
-		}
-		for (ChangeListener<T> listener : changeListeners) {
-			listener.onChange(this, oldValue, newValue);
-		}
-	}
-
 	@Override
 	public void bind(ObservableValue<T> observable) {
 		bind(observable, false);
@@ -130,93 +74,187 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 	}
 
 	/**
-	 * The Binder class references all binds made between {@code SimpleObservableValue} objects.
+	 * The Binder class references all binds made between {@code ObservableValue} objects.
+	 * <p/>
+	 * The binders are registered in a concurrent map and only reference the bound values weakly: a binding does not
+	 * prevent its values from being garbage collected, and the binding of a collected value is removed the next time
+	 * the other value changes or a binding is made.
+	 * <p/>
+	 * A change is propagated through a binder unless the binder is already propagating a change on the same thread,
+	 * which prevents the change from bouncing back to its source. The bound values notify their changes inside a
+	 * {@link Propagation} scope, so that the derived values depending on several of them are recomputed once the change
+	 * has reached all of them.
+	 * <p/>
+	 * Subclasses may override {@link #link(boolean)}, {@link #unlink()} and {@link #assign(Object)} to propagate
+	 * changes through specialized listeners. Their listeners must only reference the values through
+	 * {@link #getObs0()} and {@link #getObs1()}, and propagate the changes between {@link #startPropagation()} and
+	 * {@link #endPropagation()}.
 	 *
 	 * @param <T> The type of value.
 	 */
 	protected static class Binder<T> {
 
-		protected static final Map<Binder<?>, Binder<?>> binders = new HashMap<>(100);
+		protected static final ConcurrentMap<Binder<?>, Binder<?>> binders = new ConcurrentHashMap<>();
 
-		protected static final Lock binderLock = new ReentrantLock();
+		private static final ReferenceQueue<ObservableValue<?>> collected = new ReferenceQueue<>();
 
-		private final SimpleObservableValue<T> obs0;
+		/**
+		 * Binders propagating a change on the current thread.
+		 */
+		private static final ThreadLocal<List<Binder<?>>> propagating = ThreadLocal.withInitial(ArrayList::new);
 
-		private final ObservableValue<T> obs1;
+		private final BoundValue<T> obs0;
 
-		private boolean changing0;
+		private final BoundValue<T> obs1;
 
-		private boolean changing1;
+		private final int hash;
 
 		private ChangeListener<T> listener0;
 
 		private ChangeListener<T> listener1;
 
-		public Binder(SimpleObservableValue<T> obs0, ObservableValue<T> obs1) {
+		public Binder(ObservableValue<T> obs0, ObservableValue<T> obs1) {
 			if (obs0 == null || obs1 == null) {
 				throw new NullPointerException("Observables must not be null");
 			} // else
 
-			this.obs0 = obs0;
-			this.obs1 = obs1;
+			this.obs0 = new BoundValue<>(obs0, this);
+			this.obs1 = new BoundValue<>(obs1, this);
+			hash = System.identityHashCode(obs0) + System.identityHashCode(obs1);
+		}
+
+		/**
+		 * Returns the first bound value, or {@code null} if it has been garbage collected.
+		 *
+		 * @return the first bound value.
+		 */
+		protected ObservableValue<T> getObs0() {
+			return obs0.get();
+		}
+
+		/**
+		 * Returns the second bound value, or {@code null} if it has been garbage collected.
+		 *
+		 * @return the second bound value.
+		 */
+		protected ObservableValue<T> getObs1() {
+			return obs1.get();
 		}
 
 		public void bind(boolean notifyChange) {
+			expungeCollectedBinders();
 			// Registers this Binder or throws an exception if
 			// it is already registered.
 			checkBinder();
+			Propagation.enlist(getObs0());
+			Propagation.enlist(getObs1());
+			link(notifyChange);
+		}
 
-			listener0 = (source, oldValue, newValue) -> {
-				if (!changing1) {
-					changing0 = true;
-					obs1.set(newValue);
-				} else {
-					changing1 = false;
-				}
-			};
-			listener1 = (source, oldValue, newValue) -> {
-				if (!changing0) {
-					changing1 = true;
-					obs0.set(newValue);
-				} else {
-					changing0 = false;
-				}
-			};
+		/**
+		 * Synchronizes {@code obs0} with the value of {@code obs1} and registers the listeners propagating the changes
+		 * of one value to the other.
+		 *
+		 * @param notifyChange Indicates if the listeners of {@code obs0} must be notified of the synchronization.
+		 */
+		protected void link(boolean notifyChange) {
+			final ObservableValue<T> obs0 = getObs0();
+			final ObservableValue<T> obs1 = getObs1();
+			listener0 = (source, oldValue, newValue) -> propagate(getObs1(), newValue);
+			listener1 = (source, oldValue, newValue) -> propagate(getObs0(), newValue);
 
 			if (notifyChange) {
 				obs0.set(obs1.get());
 			} else {
-				obs0.value = obs1.get();
+				assign(obs1.get());
 			}
 
 			obs0.addChangeListener(listener0);
 			obs1.addChangeListener(listener1);
 		}
 
+		private void propagate(ObservableValue<T> target, T value) {
+			if (target == null) {
+				unbind();
+			} else if (startPropagation()) {
+				try {
+					target.set(value);
+				} finally {
+					endPropagation();
+				}
+			}
+		}
+
+		/**
+		 * Marks this binder as propagating a change on the current thread.
+		 * <p/>
+		 * Must be followed by a call to {@link #endPropagation()} if it returns {@code true}.
+		 *
+		 * @return {@code false} if this binder is already propagating a change on the current thread.
+		 */
+		protected final boolean startPropagation() {
+			List<Binder<?>> binders = propagating.get();
+			for (int i = binders.size() - 1; i >= 0; i--) {
+				if (binders.get(i) == this) {
+					return false;
+				}
+			}
+			binders.add(this);
+			return true;
+		}
+
+		/**
+		 * Ends the propagation started by the last successful call to {@link #startPropagation()}.
+		 */
+		protected final void endPropagation() {
+			List<Binder<?>> binders = propagating.get();
+			binders.remove(binders.size() - 1);
+		}
+
+		/**
+		 * Changes the value of {@code obs0} without notifying its listeners.
+		 *
+		 * @param value The new value.
+		 */
+		protected void assign(T value) {
+			((SimpleObservableValue<T>) getObs0()).value = value;
+		}
+
+		/**
+		 * Unregisters the listeners registered by {@link #link(boolean)} from the values that have not been garbage
+		 * collected.
+		 */
+		protected void unlink() {
+			ObservableValue<T> obs0 = getObs0();
+			ObservableValue<T> obs1 = getObs1();
+			if (obs0 != null) {
+				obs0.removeChangeListener(listener0);
+			}
+			if (obs1 != null) {
+				obs1.removeChangeListener(listener1);
+			}
+		}
+
 		protected void checkBinder() throws IllegalStateException {
-			binderLock.lock();
-			try {
-				if (binders.containsKey(this)) {
-					throw new IllegalStateException("These two values are already bound together");
-				} // else
-				binders.put(this, this);
-			} finally {
-				binderLock.unlock();
+			if (binders.putIfAbsent(this, this) != null) {
+				throw new IllegalStateException("These two values are already bound together");
 			}
 		}
 
-		@SuppressWarnings("unchecked")
 		public void unbind() {
-			Binder<Object> unbound;
-			binderLock.lock();
-			try {
-				unbound = (Binder<Object>) binders.remove(this);
-			} finally {
-				binderLock.unlock();
-			}
+			Binder<?> unbound = binders.remove(this);
 			if (unbound != null) {
-				unbound.obs0.removeChangeListener(unbound.listener0);
-				unbound.obs1.removeChangeListener(unbound.listener1);
+				unbound.unlink();
+			}
+		}
+
+		/**
+		 * Removes the binders whose values have been garbage collected.
+		 */
+		protected static void expungeCollectedBinders() {
+			Reference<?> reference;
+			while ((reference = collected.poll()) != null) {
+				((BoundValue<?>) reference).binder.unbind();
 			}
 		}
 
@@ -228,17 +266,36 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 			if (obj == null) {
 				return false;
 			} // else
-			if (obj.getClass() != Binder.class) {
+			if (!(obj instanceof Binder)) {
 				return false;
 			}
 
 			Binder<?> other = (Binder<?>) obj;
-			return obs0 == other.obs0 && obs1 == other.obs1 || obs0 == other.obs1 && obs1 == other.obs0;
+			ObservableValue<T> obs0 = getObs0();
+			ObservableValue<T> obs1 = getObs1();
+			if (obs0 == null || obs1 == null) {
+				return false;
+			} // else
+			return obs0 == other.getObs0() && obs1 == other.getObs1() ||
+					obs0 == other.getObs1() && obs1 == other.getObs0();
 		}
 
 		@Override
 		public int hashCode() {
-			return obs0.hashCode() + obs1.hashCode();
+			return hash;
+		}
+
+		/**
+		 * Weak reference to a bound value, enqueued with the binder once the value has been collected.
+		 */
+		private static final class BoundValue<T> extends WeakReference<ObservableValue<T>> {
+
+			private final Binder<T> binder;
+
+			BoundValue(ObservableValue<T> value, Binder<T> binder) {
+				super(value, collected);
+				this.binder = binder;
+			}
 		}
 	}
 }
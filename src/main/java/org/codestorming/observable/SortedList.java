@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import org.codestorming.observable.CollectionChange.ChangeType;
+
+/**
+ * View of the elements of an {@link ObservableCollection} sorted by a {@link Comparator}.
+ * <p/>
+ * The elements are kept in an {@link IndexedTree} and located by binary search in logarithmic time, an added element
+ * is placed after the elements it is equal to. The permutations of the source do not change the view.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see ObservableCollection#sorted(Comparator)
+ */
+final class SortedList<E> extends AbstractObservableListView<E> {
+
+	private final ObservableCollection<E> source;
+
+	private final Comparator<? super E> comparator;
+
+	private final IndexedTree<E> elements = new IndexedTree<>();
+
+	private final CollectionChangeListener<E> sourceListener = (source, changes) -> sourceChanged(changes);
+
+	@SuppressWarnings("unchecked")
+	SortedList(ObservableCollection<E> source, Comparator<? super E> comparator) {
+		this.source = source;
+		this.comparator = comparator != null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+		resort();
+		source.addWeakChangeListener(sourceListener);
+	}
+
+	@Override
+	public E get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void resort() {
+		E[] values = (E[]) source.toArray();
+		Arrays.sort(values, comparator);
+		elements.clear();
+		elements.insertAll(0, values);
+	}
+
+	private void sourceChanged(Iterable<CollectionChange<E>> changes) {
+		List<CollectionChange<E>> sorted = new ArrayList<>();
+		boolean consistent;
+		if (changes instanceof CollectionChangeSet) {
+			consistent = sourceChanged((CollectionChangeSet<E>) changes, sorted);
+		} else {
+			consistent = true;
+			for (CollectionChange<E> change : changes) {
+				switch (change.getType()) {
+				case ADD:
+					added(change.getValue(), sorted);
+					break;
+				case REMOVE:
+					consistent = removed(change.getValue(), sorted);
+					break;
+				case REPLACE:
+					consistent = change instanceof ListChange
+							&& removed(((ListChange<E>) change).getOldValue(), sorted);
+					if (consistent) {
+						added(change.getValue(), sorted);
+					}
+					break;
+				case PERMUTATION:
+					break;
+				}
+				if (!consistent) {
+					break;
+				}
+			}
+		}
+		if (consistent) {
+			if (!sorted.isEmpty()) {
+				fireChange(sorted);
+			}
+		} else {
+			reset(sorted);
+		}
+	}
+
+	private boolean sourceChanged(CollectionChangeSet<E> changes, List<CollectionChange<E>> sorted) {
+		for (CollectionChangeSet.Run<E> run : changes.getRuns()) {
+			if (run.getType() == ChangeType.REMOVE) {
+				for (int i = 0; i < run.size(); i++) {
+					if (!removed(run.get(i), sorted)) {
+						return false;
+					}
+				}
+			} else if (run.size() > 1 && run.size() >= elements.size() >> 4) {
+				merge(run, sorted);
+			} else {
+				for (int i = 0; i < run.size(); i++) {
+					added(run.get(i), sorted);
+				}
+			}
+		}
+		return true;
+	}
+
+	private void added(E value, List<CollectionChange<E>> sorted) {
+		int index = elements.rank(value, comparator, true);
+		elements.insert(index, value);
+		sorted.add(new ListChange<>(ChangeType.ADD, value, index));
+	}
+
+	/**
+	 * Adds the values of the given run by sorting them then merging them with the current elements.
+	 */
+	@SuppressWarnings("unchecked")
+	private void merge(CollectionChangeSet.Run<E> run, List<CollectionChange<E>> sorted) {
+		E[] values = (E[]) run.getValues().toArray();
+		Arrays.sort(values, comparator);
+		E[] current = (E[]) elements.toArray();
+		Object[] merged = new Object[current.length + values.length];
+		int size = 0;
+		int i = 0;
+		for (E value : values) {
+			while (i < current.length && comparator.compare(current[i], value) <= 0) {
+				merged[size++] = current[i++];
+			}
+			sorted.add(new ListChange<>(ChangeType.ADD, value, size));
+			merged[size++] = value;
+		}
+		System.arraycopy(current, i, merged, size, current.length - i);
+		elements.clear();
+		elements.insertAll(0, merged);
+	}
+
+	private boolean removed(E value, List<CollectionChange<E>> sorted) {
+		int low = elements.rank(value, comparator, false);
+		int index = -1;
+		for (int i = low; i < elements.size() && comparator.compare(elements.get(i), value) == 0; i++) {
+			if (elements.get(i) == value) {
+				index = i;
+				break;
+			} else if (index < 0 && Objects.equals(elements.get(i), value)) {
+				index = i;
+			}
+		}
+		if (index < 0) {
+			return false;
+		} // else
+		sorted.add(new ListChange<>(ChangeType.REMOVE, elements.remove(index), index));
+		return true;
+	}
+
+	/**
+	 * Sorts the whole source again after an inconsistent change, notifying the removal of the elements the listeners
+	 * know of then the addition of the new ones.
+	 */
+	private void reset(List<CollectionChange<E>> applied) {
+		List<Object> known = new ArrayList<>(Arrays.asList(elements.toArray()));
+		for (int i = applied.size() - 1; i >= 0; i--) {
+			ListChange<E> change = (ListChange<E>) applied.get(i);
+			if (change.getType() == ChangeType.ADD) {
+				known.remove(change.getFrom());
+			} else {
+				known.add(change.getFrom(), change.getValue());
+			}
+		}
+		resort();
+		fireReset(known.toArray(), elements.toArray());
+	}
+}
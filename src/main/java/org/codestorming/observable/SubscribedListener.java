@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Listener delegating the notifications to another one as long as its {@link Subscription} has not expired.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class SubscribedListener<T, V>
+		implements ChangeListener<T>, CollectionChangeListener<T>, MapChangeListener<T, V> {
+
+	private final Object delegate;
+
+	private Subscription subscription;
+
+	SubscribedListener(Object delegate) {
+		if (delegate == null) {
+			throw new NullPointerException("The listener cannot be null");
+		} // else
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Creates the {@link Subscription} of this listener.
+	 *
+	 * @param remover Removes this listener from the observable.
+	 * @return the subscription.
+	 */
+	Subscription subscribe(Runnable remover) {
+		subscription = new Subscription(remover);
+		return subscription;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableValue<T> source, T oldValue, T newValue) {
+		if (subscription.acquire()) {
+			((ChangeListener<T>) delegate).onChange(source, oldValue, newValue);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableCollection<T> source, Iterable<CollectionChange<T>> changes) {
+		if (subscription.acquire()) {
+			((CollectionChangeListener<T>) delegate).onChange(source, changes);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableMap<T, V> source, Iterable<MapChange<T, V>> changes) {
+		if (subscription.acquire()) {
+			((MapChangeListener<T, V>) delegate).onChange(source, changes);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handle on a listener registered with {@link ObservableValue#subscribe(ChangeListener)} or
+ * {@link ObservableCollection#subscribe(CollectionChangeListener)}.
+ * <p/>
+ * The listener is removed when {@link #unsubscribe()} is called, or automatically once it has received a given number
+ * of notifications or when a notification comes after a deadline.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class Subscription {
+
+	private final Runnable remover;
+
+	private final AtomicLong remaining = new AtomicLong();
+
+	private volatile boolean limited;
+
+	private volatile long deadline;
+
+	private volatile boolean timed;
+
+	private volatile boolean active = true;
+
+	/**
+	 * Creates a {@code Subscription}.
+	 *
+	 * @param remover Removes the listener from the observable.
+	 */
+	Subscription(Runnable remover) {
+		this.remover = remover;
+	}
+
+	/**
+	 * Removes the listener after it has received the given number of notifications.
+	 *
+	 * @param notifications The number of notifications left to receive.
+	 * @return this subscription.
+	 */
+	public Subscription expireAfter(long notifications) {
+		if (notifications < 0) {
+			throw new IllegalArgumentException("The number of notifications cannot be negative");
+		} // else
+		remaining.set(notifications);
+		limited = true;
+		if (notifications == 0) {
+			unsubscribe();
+		}
+		return this;
+	}
+
+	/**
+	 * Removes the listener once the given delay has elapsed.
+	 * <p/>
+	 * The listener is removed by the first notification that comes after the delay, and does not receive it.
+	 *
+	 * @param delay The delay.
+	 * @param unit The unit of the delay.
+	 * @return this subscription.
+	 */
+	public Subscription expireAfter(long delay, TimeUnit unit) {
+		deadline = System.nanoTime() + unit.toNanos(delay);
+		timed = true;
+		return this;
+	}
+
+	/**
+	 * Indicates if the listener is still registered.
+	 *
+	 * @return {@code true} if the listener is still registered.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Removes the listener.
+	 */
+	public void unsubscribe() {
+		if (active) {
+			active = false;
+			remover.run();
+		}
+	}
+
+	/**
+	 * Accounts for a notification about to be delivered to the listener.
+	 *
+	 * @return {@code false} if the notification must not be delivered because the subscription has expired.
+	 */
+	boolean acquire() {
+		if (!active) {
+			return false;
+		} // else
+		if (timed && System.nanoTime() - deadline >= 0) {
+			unsubscribe();
+			return false;
+		} // else
+		if (limited) {
+			long left = remaining.getAndDecrement();
+			if (left <= 0) {
+				return false;
+			} // else
+			if (left == 1) {
+				unsubscribe();
+			}
+		}
+		return true;
+	}
+}
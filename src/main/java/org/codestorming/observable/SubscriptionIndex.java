@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable index of the {@link FilteredChangeListener}s of an observable collection.
+ * <p/>
+ * The listeners are bucketed by accepted type of change, then by key for those filtering the elements by key: a
+ * change is only tested against the listeners of its type, and the key of its element is computed once per key
+ * function to find the listeners of that key. As the listener arrays, the index is replaced by a new one when a
+ * listener is added or removed, and can be read without locking.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class SubscriptionIndex<E> {
+
+	private static final int TYPES = CollectionChange.ChangeType.values().length;
+
+	/**
+	 * The listeners, in the order they were added.
+	 */
+	private final List<FilteredChangeListener<E>> listeners;
+
+	/**
+	 * The listeners without key function, by ordinal of accepted type.
+	 */
+	private final List<List<FilteredChangeListener<E>>> unkeyed = new ArrayList<>(TYPES);
+
+	/**
+	 * The listeners of each key of each key function, by ordinal of accepted type.
+	 */
+	private final List<Map<Function<? super E, ?>, Map<Object, List<FilteredChangeListener<E>>>>> keyed =
+			new ArrayList<>(TYPES);
+
+	/**
+	 * Creates a {@code SubscriptionIndex} of the given listeners.
+	 *
+	 * @param listeners The listeners, in the order they were added.
+	 */
+	SubscriptionIndex(List<FilteredChangeListener<E>> listeners) {
+		this.listeners = listeners;
+		for (int i = 0; i < TYPES; i++) {
+			unkeyed.add(new ArrayList<>());
+			keyed.add(new HashMap<>());
+		}
+		for (FilteredChangeListener<E> listener : listeners) {
+			for (CollectionChange.ChangeType type : listener.getTypes()) {
+				if (listener.getKeyFunction() == null) {
+					unkeyed.get(type.ordinal()).add(listener);
+				} else {
+					keyed.get(type.ordinal()).computeIfAbsent(listener.getKeyFunction(), f -> new HashMap<>())
+							.computeIfAbsent(listener.getKey(), k -> new ArrayList<>()).add(listener);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns an index of the listeners of this index and the given one.
+	 *
+	 * @param listener The listener to add.
+	 * @return the new index.
+	 */
+	SubscriptionIndex<E> add(FilteredChangeListener<E> listener) {
+		List<FilteredChangeListener<E>> added = new ArrayList<>(listeners.size() + 1);
+		added.addAll(listeners);
+		added.add(listener);
+		return new SubscriptionIndex<>(added);
+	}
+
+	/**
+	 * Returns an index of the listeners of this index but the given one, or {@code null} if it would be empty.
+	 *
+	 * @param listener The listener to remove.
+	 * @return the new index, or this index if it does not contain the listener.
+	 */
+	SubscriptionIndex<E> remove(FilteredChangeListener<E> listener) {
+		List<FilteredChangeListener<E>> remaining = new ArrayList<>(listeners.size());
+		for (FilteredChangeListener<E> l : listeners) {
+			if (l != listener) {
+				remaining.add(l);
+			}
+		}
+		if (remaining.size() == listeners.size()) {
+			return this;
+		} // else
+		return remaining.isEmpty() ? null : new SubscriptionIndex<>(remaining);
+	}
+
+	/**
+	 * Returns the changes accepted by each listener, in the order the listeners were added.
+	 * <p/>
+	 * The listeners accepting none of the changes are not in the returned map.
+	 *
+	 * @param changes The changes.
+	 * @return the accepted changes of each listener.
+	 */
+	Map<FilteredChangeListener<E>, List<CollectionChange<E>>> match(Iterable<CollectionChange<E>> changes) {
+		Map<FilteredChangeListener<E>, List<CollectionChange<E>>> matched = new IdentityHashMap<>();
+		for (CollectionChange<E> change : changes) {
+			final int type = change.getType().ordinal();
+			for (FilteredChangeListener<E> listener : unkeyed.get(type)) {
+				if (listener.acceptsElement(change)) {
+					add(matched, listener, change);
+				}
+			}
+			for (Map.Entry<Function<? super E, ?>, Map<Object, List<FilteredChangeListener<E>>>> byKey :
+					keyed.get(type).entrySet()) {
+				if (change.getType() == CollectionChange.ChangeType.PERMUTATION) {
+					for (List<FilteredChangeListener<E>> keyListeners : byKey.getValue().values()) {
+						addAccepted(matched, keyListeners, change);
+					}
+					continue;
+				} // else
+				Object key = byKey.getKey().apply(change.getValue());
+				addAccepted(matched, byKey.getValue().get(key), change);
+				if (change.getType() == CollectionChange.ChangeType.REPLACE && change instanceof ListChange) {
+					Object oldKey = byKey.getKey().apply(((ListChange<E>) change).getOldValue());
+					if (!Objects.equals(oldKey, key)) {
+						addAccepted(matched, byKey.getValue().get(oldKey), change);
+					}
+				}
+			}
+		}
+		if (matched.isEmpty()) {
+			return Collections.emptyMap();
+		} // else
+		Map<FilteredChangeListener<E>, List<CollectionChange<E>>> ordered = new LinkedHashMap<>();
+		for (FilteredChangeListener<E> listener : listeners) {
+			List<CollectionChange<E>> accepted = matched.get(listener);
+			if (accepted != null) {
+				ordered.put(listener, accepted);
+			}
+		}
+		return ordered;
+	}
+
+	private static <E> void addAccepted(Map<FilteredChangeListener<E>, List<CollectionChange<E>>> matched,
+			List<FilteredChangeListener<E>> listeners, CollectionChange<E> change) {
+		if (listeners == null) {
+			return;
+		} // else
+		for (FilteredChangeListener<E> listener : listeners) {
+			if (listener.acceptsElement(change)) {
+				add(matched, listener, change);
+			}
+		}
+	}
+
+	private static <E> void add(Map<FilteredChangeListener<E>, List<CollectionChange<E>>> matched,
+			FilteredChangeListener<E> listener, CollectionChange<E> change) {
+		matched.computeIfAbsent(listener, l -> new ArrayList<>()).add(change);
+	}
+}
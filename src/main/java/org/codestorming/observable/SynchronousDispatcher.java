@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link Dispatcher} delivering the notifications immediately, on the thread that changed the observable.
+ * <p/>
+ * This is the default dispatcher of the observables, which then notify their listeners directly without creating
+ * any {@link Dispatcher.Notification}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public final class SynchronousDispatcher implements Dispatcher {
+
+	public static final SynchronousDispatcher INSTANCE = new SynchronousDispatcher();
+
+	private SynchronousDispatcher() {}
+
+	@Override
+	public void dispatch(Notification notification) {
+		notification.deliver();
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayDeque;
+
+/**
+ * {@link Dispatcher} delivering the notifications on the thread that changed the observable, without nesting the
+ * notifications of the changes made by the listeners.
+ * <p/>
+ * With the {@link SynchronousDispatcher}, a listener changing an observable notifies its listeners before returning,
+ * so that the stack grows with the length of the propagation chain. Here, the notifications dispatched while another
+ * one is being delivered on the same thread are queued, and the outermost dispatch delivers them one after the other
+ * once the current one returns. The stack depth is then bounded whatever the length of the chain, and the
+ * notifications are delivered in breadth-first order: all the listeners of a change are notified before the listeners
+ * of the changes they made.
+ * <p/>
+ * The queue is shared by all the observables of the thread: every observable of a chain must use this dispatcher for
+ * its notifications to be queued. If a listener throws an exception, the queued notifications are discarded and the
+ * exception is thrown by the outermost dispatch.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public final class TrampolineDispatcher implements Dispatcher {
+
+	public static final TrampolineDispatcher INSTANCE = new TrampolineDispatcher();
+
+	private static final ThreadLocal<Trampoline> current = ThreadLocal.withInitial(Trampoline::new);
+
+	private TrampolineDispatcher() {}
+
+	@Override
+	public void dispatch(Notification notification) {
+		Trampoline trampoline = current.get();
+		trampoline.pending.addLast(notification);
+		trampoline.drain();
+	}
+
+	@Override
+	public void dispatchAll(Runnable dispatching) {
+		Trampoline trampoline = current.get();
+		trampoline.depth++;
+		try {
+			dispatching.run();
+		} catch (RuntimeException | Error e) {
+			trampoline.depth--;
+			trampoline.discard();
+			throw e;
+		}
+		trampoline.depth--;
+		trampoline.drain();
+	}
+
+	/**
+	 * Pending notifications of a thread.
+	 */
+	private static final class Trampoline {
+
+		private final ArrayDeque<Notification> pending = new ArrayDeque<>();
+
+		/**
+		 * Number of {@link #dispatchAll(Runnable)} in progress on the thread.
+		 */
+		private int depth;
+
+		private boolean draining;
+
+		/**
+		 * Delivers the pending notifications, unless a notification is being dispatched or delivered.
+		 */
+		void drain() {
+			if (draining || depth > 0) {
+				return;
+			} // else
+			draining = true;
+			try {
+				Notification next;
+				while ((next = pending.pollFirst()) != null) {
+					next.deliver();
+				}
+			} finally {
+				pending.clear();
+				draining = false;
+			}
+		}
+
+		/**
+		 * Discards the pending notifications after a failed dispatch, unless they are delivered by an outer call.
+		 */
+		void discard() {
+			if (!draining && depth == 0) {
+				pending.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * Notification of a value change to a listener.
+ * <p/>
+ * Conflated notifications are delivered as a single change from the first old value to the last new value.
+ *
+ * @param <L> The type of listener.
+ * @param <T> The type of value.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class ValueNotification<L, T> implements Dispatcher.Notification {
+
+	/**
+	 * Calls the listener.
+	 */
+	interface Delivery<L, T> {
+
+		void deliver(L listener, T oldValue, T newValue);
+	}
+
+	private final Object source;
+
+	private final L listener;
+
+	private final T oldValue;
+
+	private final T newValue;
+
+	private final Delivery<L, T> delivery;
+
+	ValueNotification(Object source, L listener, T oldValue, T newValue, Delivery<L, T> delivery) {
+		this.source = source;
+		this.listener = listener;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+		this.delivery = delivery;
+	}
+
+	@Override
+	public Object getListener() {
+		return listener;
+	}
+
+	@Override
+	public Object getSource() {
+		return source;
+	}
+
+	@Override
+	public void deliver() {
+		delivery.deliver(listener, oldValue, newValue);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Dispatcher.Notification conflate(Dispatcher.Notification next) {
+		return new ValueNotification<>(source, listener, oldValue, ((ValueNotification<L, T>) next).newValue, delivery);
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.Iterator;
+
+/**
+ * Changes notified by a {@link PersistentObservableList}, along with the version they produced.
+ * <p/>
+ * A reader pairs a {@link ListSnapshot} with the changes whose version is greater than the one of the snapshot.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public final class VersionedChanges<E> implements Iterable<CollectionChange<E>> {
+
+	private final Iterable<CollectionChange<E>> changes;
+
+	private final ListSnapshot<E> snapshot;
+
+	VersionedChanges(Iterable<CollectionChange<E>> changes, ListSnapshot<E> snapshot) {
+		this.changes = changes;
+		this.snapshot = snapshot;
+	}
+
+	/**
+	 * Returns the version of the list once these changes were made.
+	 *
+	 * @return the version produced by these changes.
+	 */
+	public long getVersion() {
+		return snapshot.getVersion();
+	}
+
+	/**
+	 * Returns the snapshot of the list once these changes were made.
+	 *
+	 * @return the snapshot produced by these changes.
+	 */
+	public ListSnapshot<E> getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Returns the notified changes.
+	 *
+	 * @return the notified changes.
+	 */
+	public Iterable<CollectionChange<E>> getChanges() {
+		return changes;
+	}
+
+	@Override
+	public Iterator<CollectionChange<E>> iterator() {
+		return changes.iterator();
+	}
+}
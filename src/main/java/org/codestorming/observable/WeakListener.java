@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Listener weakly referencing the listener it delegates to.
+ * <p/>
+ * Once the delegate has been garbage collected, the {@code WeakListener} is enqueued in the {@link ReferenceQueue} of
+ * the observable, which removes it the next time it fires a change.
+ * <p/>
+ * A {@code WeakListener} is only equal to another {@code WeakListener} of the same delegate, so that a listener can
+ * be registered both strongly and weakly. Removing the delegate removes its {@code WeakListener} as a
+ * {@link DelegatingListener}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class WeakListener<T, V> extends WeakReference<Object>
+		implements ChangeListener<T>, CollectionChangeListener<T>, MapChangeListener<T, V>, DelegatingListener {
+
+	private final int hash;
+
+	WeakListener(Object delegate, ReferenceQueue<Object> queue) {
+		super(delegate, queue);
+		if (delegate == null) {
+			throw new NullPointerException("The listener cannot be null");
+		} // else
+		hash = delegate.hashCode();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableValue<T> source, T oldValue, T newValue) {
+		Object delegate = get();
+		if (delegate != null) {
+			((ChangeListener<T>) delegate).onChange(source, oldValue, newValue);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableCollection<T> source, Iterable<CollectionChange<T>> changes) {
+		Object delegate = get();
+		if (delegate != null) {
+			((CollectionChangeListener<T>) delegate).onChange(source, changes);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onChange(ObservableMap<T, V> source, Iterable<MapChange<T, V>> changes) {
+		Object delegate = get();
+		if (delegate != null) {
+			((MapChangeListener<T, V>) delegate).onChange(source, changes);
+		}
+	}
+
+	@Override
+	public Object getDelegate() {
+		return get();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} // else
+		if (!(obj instanceof WeakListener)) {
+			return false;
+		} // else
+		Object delegate = get();
+		return delegate != null && delegate.equals(((WeakListener<?, ?>) obj).get());
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
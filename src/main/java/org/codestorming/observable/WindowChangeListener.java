@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+/**
+ * {@link CollectionChangeListener} delegating only the changes that may affect a range of an {@link ObservableList}.
+ * <p/>
+ * A {@code WindowChangeListener} is removed by calling
+ * {@link ObservableCollection#removeChangeListener(CollectionChangeListener)} with its delegate.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class WindowChangeListener<E> implements CollectionChangeListener<E>, DelegatingListener {
+
+	private final CollectionChangeListener<E> delegate;
+
+	private final int fromIndex;
+
+	private final int toIndex;
+
+	WindowChangeListener(CollectionChangeListener<E> delegate, int fromIndex, int toIndex) {
+		if (delegate == null) {
+			throw new NullPointerException("The listener cannot be null");
+		} // else
+		if (fromIndex < 0 || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ")");
+		} // else
+		this.delegate = delegate;
+		this.fromIndex = fromIndex;
+		this.toIndex = toIndex;
+	}
+
+	@Override
+	public void onChange(ObservableCollection<E> source, Iterable<CollectionChange<E>> changes) {
+		Iterable<CollectionChange<E>> window = ListChanges.window(changes, fromIndex, toIndex);
+		if (window.iterator().hasNext()) {
+			delegate.onChange(source, window);
+		}
+	}
+
+	@Override
+	public Object getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} // else
+		if (!(obj instanceof WindowChangeListener)) {
+			return false;
+		} // else
+		WindowChangeListener<?> other = (WindowChangeListener<?>) obj;
+		return fromIndex == other.fromIndex && toIndex == other.toIndex && delegate.equals(other.delegate);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * delegate.hashCode() + fromIndex) + toIndex;
+	}
+}
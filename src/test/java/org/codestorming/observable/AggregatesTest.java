@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of {@link Aggregates} and {@link Histogram}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class AggregatesTest {
+
+	@Test
+	public void countAndSumFollowTheChanges() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(1, 2, 3)));
+		ObservableIntValue evens = Aggregates.count(list, element -> element % 2 == 0);
+		ObservableLongValue sum = Aggregates.sumLong(list, Integer::longValue);
+
+		list.add(4);
+		list.remove(Integer.valueOf(1));
+		list.set(0, 6);
+
+		assertEquals(Integer.valueOf(2), evens.get());
+		assertEquals(Long.valueOf(13), sum.get());
+	}
+
+	@Test
+	public void extremumReturnsAnInstanceStillInTheCollection() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>());
+		ObservableValue<String> min = Aggregates.min(list, Comparator.comparingInt(String::length));
+		ObservableValue<String> max = Aggregates.max(list, Comparator.comparingInt(String::length));
+
+		list.add("ab");
+		list.add("cd");
+		list.add("xyz");
+		list.remove("ab");
+
+		assertEquals("cd", min.get());
+		assertEquals("xyz", max.get());
+
+		list.remove("xyz");
+		assertEquals("cd", max.get());
+
+		list.clear();
+		assertNull(min.get());
+	}
+
+	@Test
+	public void extremumIgnoresUnknownElements() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("ab")));
+		ObservableValue<String> min = Aggregates.min(list, Comparator.comparingInt(String::length));
+
+		list.remove("cd");
+
+		assertEquals("ab", min.get());
+	}
+
+	@Test
+	public void histogramCountsEachKey() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "bb", "cc")));
+		Histogram<Integer> histogram = Aggregates.histogram(list, String::length);
+		ObservableIntValue twos = histogram.getCount(2);
+
+		list.remove("bb");
+		list.add("d");
+
+		assertEquals(Integer.valueOf(1), twos.get());
+		assertEquals(Integer.valueOf(2), histogram.getCount(1).get());
+	}
+
+	@Test
+	public void histogramIgnoresRemovalsOfUnknownKeys() {
+		Histogram<String> histogram = new Histogram<>();
+		ObservableIntValue count = histogram.getCount("a");
+
+		histogram.increment("a", -1);
+		histogram.publish();
+
+		assertEquals(Integer.valueOf(0), count.get());
+		assertEquals(Collections.emptySet(), histogram.keySet());
+	}
+}
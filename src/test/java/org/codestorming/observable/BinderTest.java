@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the bindings between observable values.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class BinderTest {
+
+	@Test
+	public void changesArePropagatedBothWays() {
+		SimpleObservableValue<String> a = new SimpleObservableValue<>("a");
+		SimpleObservableValue<String> b = new SimpleObservableValue<>("b");
+		List<String> received = new ArrayList<>();
+		a.addChangeListener((source, oldValue, newValue) -> received.add(oldValue + ">" + newValue));
+
+		a.bind(b);
+		b.set("c");
+		a.set("d");
+
+		assertEquals(Arrays.asList("b>c", "c>d"), received);
+		assertEquals("d", b.get());
+	}
+
+	@Test
+	public void bindingNotifiesTheSynchronizationOnlyWhenAsked() {
+		SimpleObservableValue<String> a = new SimpleObservableValue<>("a");
+		SimpleObservableValue<String> b = new SimpleObservableValue<>("b");
+		SimpleObservableValue<String> c = new SimpleObservableValue<>("c");
+		List<String> received = new ArrayList<>();
+		a.addChangeListener((source, oldValue, newValue) -> received.add(oldValue + ">" + newValue));
+
+		a.bind(b);
+		a.unbind(b);
+		a.bind(c, true);
+
+		assertEquals(Collections.singletonList("b>c"), received);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void bindingTheSameValuesTwiceFails() {
+		SimpleObservableValue<String> a = new SimpleObservableValue<>();
+		SimpleObservableValue<String> b = new SimpleObservableValue<>();
+		a.bind(b);
+		try {
+			b.bind(a);
+		} finally {
+			a.unbind(b);
+		}
+	}
+
+	@Test
+	public void unboundValuesAreIndependent() {
+		SimpleObservableValue<String> a = new SimpleObservableValue<>("a");
+		SimpleObservableValue<String> b = new SimpleObservableValue<>("b");
+		a.bind(b);
+		a.unbind(b);
+
+		b.set("c");
+
+		assertEquals("b", a.get());
+	}
+
+	@Test
+	public void aCycleOfBindingsDoesNotBounceBack() {
+		SimpleObservableValue<String> a = new SimpleObservableValue<>("a");
+		SimpleObservableValue<String> b = new SimpleObservableValue<>("b");
+		SimpleObservableValue<String> c = new SimpleObservableValue<>("c");
+		List<String> received = new ArrayList<>();
+		a.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		a.bind(b);
+		b.bind(c);
+		c.bind(a);
+
+		b.set("d");
+
+		assertEquals("d", a.get());
+		assertEquals("d", c.get());
+		assertTrue(received.size() <= 2);
+		assertEquals("d", received.get(received.size() - 1));
+	}
+
+	@Test
+	public void primitiveValuesAreBound() {
+		SimpleObservableIntValue a = new SimpleObservableIntValue(1);
+		SimpleObservableIntValue b = new SimpleObservableIntValue(2);
+		List<Integer> received = new ArrayList<>();
+		a.addIntChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		a.bind(b, true);
+		b.setInt(3);
+
+		assertEquals(Arrays.asList(2, 3), received);
+		assertEquals(3, a.getInt());
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link BindingGroup}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class BindingGroupTest {
+
+	@Test
+	public void eachMemberIsNotifiedOnce() {
+		BindingGroup<String> group = new BindingGroup<>("a");
+		BindingGroup.Member<String> first = group.newMember();
+		BindingGroup.Member<String> second = group.newMember();
+		List<String> received = new ArrayList<>();
+		first.addChangeListener((source, oldValue, newValue) -> received.add("1:" + newValue));
+		second.addChangeListener((source, oldValue, newValue) -> received.add("2:" + newValue));
+
+		first.set("b");
+
+		assertEquals("b", second.get());
+		assertEquals(Arrays.asList("1:b", "2:b"), received);
+	}
+
+	@Test
+	public void leftMemberIsDetachedFromTheGroup() {
+		BindingGroup<String> group = new BindingGroup<>("a");
+		BindingGroup.Member<String> member = group.newMember();
+		BindingGroup.Member<String> other = group.newMember();
+		List<String> received = new ArrayList<>();
+		member.addChangeListener((source, oldValue, newValue) -> received.add(oldValue + ">" + newValue));
+
+		member.leave();
+		group.set("b");
+
+		assertTrue(member.hasLeft());
+		assertEquals(1, group.size());
+		assertEquals("a", member.get());
+		assertEquals(Collections.emptyList(), received);
+
+		member.set("c");
+
+		assertEquals("b", group.get());
+		assertEquals("b", other.get());
+		assertEquals("c", member.get());
+		assertEquals(Collections.singletonList("a>c"), received);
+	}
+}
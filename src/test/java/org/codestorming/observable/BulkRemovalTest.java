@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link BulkRemoval}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class BulkRemovalTest {
+
+	private static List<String> describe(CollectionChangeSet<Integer> changes) {
+		List<String> runs = new ArrayList<>();
+		for (CollectionChangeSet.Run<Integer> run : changes.getRuns()) {
+			runs.add(run.getType() + " " + run.getValues() + "@" + run.getIndex());
+		}
+		return runs;
+	}
+
+	@Test
+	public void randomAccessListIsCompactedWithARunPerRange() {
+		List<Integer> list = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7));
+		CollectionChangeSet<Integer> changes = BulkRemoval.removeIf(list, element -> element % 4 < 2);
+
+		assertEquals(Arrays.asList(2, 3, 6, 7), list);
+		assertEquals(Arrays.asList("REMOVE [0, 1]@0", "REMOVE [4, 5]@2"), describe(changes));
+	}
+
+	@Test
+	public void sequentialListIsModifiedThroughItsIterator() {
+		List<Integer> list = new LinkedList<>(Arrays.asList(0, 1, 2, 3, 4));
+		CollectionChangeSet<Integer> changes = BulkRemoval.parallelRemoveIf(list, element -> element % 2 == 1);
+
+		assertEquals(Arrays.asList(0, 2, 4), list);
+		assertEquals(Arrays.asList("REMOVE [1]@1", "REMOVE [3]@2"), describe(changes));
+	}
+
+	@Test
+	public void nothingIsRemovedWithoutMatch() {
+		assertNull(BulkRemoval.removeIf(new ArrayList<>(Arrays.asList(1, 2)), element -> false));
+	}
+
+	@Test
+	public void fixedSizeListIsLeftUnchanged() {
+		List<Integer> list = Arrays.asList(0, 1, 2, 3);
+		try {
+			BulkRemoval.removeIf(list, element -> element == 1);
+			fail("The removal must not be supported");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		assertEquals(Arrays.asList(0, 1, 2, 3), list);
+	}
+
+	@Test
+	public void membershipMatchesSmallAndLargeArguments() {
+		List<Integer> large = new ArrayList<>();
+		for (int i = 0; i < 100; i += 2) {
+			large.add(i);
+		}
+		List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+		BulkRemoval.removeIf(list, BulkRemoval.membership(large));
+		assertEquals(Arrays.asList(1, 3), list);
+
+		BulkRemoval.removeIf(list, BulkRemoval.membership(Arrays.asList(3, null)));
+		assertEquals(Arrays.asList(1), list);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the batches of changes, buffered by {@link ChangeBatch}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ChangeBatchTest {
+
+	@Test
+	public void batchIsNotifiedOnceWithTheCancelledChangesRemoved() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "b")));
+		List<List<String>> notifications = new ArrayList<>();
+		list.addChangeListener((source, changes) -> {
+			List<String> received = new ArrayList<>();
+			for (CollectionChange<String> change : changes) {
+				ListChange<String> listChange = (ListChange<String>) change;
+				received.add(change.getType() + " " + change.getValue() + "@" + listChange.getFrom());
+			}
+			notifications.add(received);
+		});
+
+		list.batch(() -> {
+			list.add("x");
+			list.batch(() -> list.add("y"));
+			list.remove("x");
+		});
+
+		assertEquals(Collections.singletonList(Collections.singletonList("ADD y@2")), notifications);
+		assertEquals(Arrays.asList("a", "b", "y"), list);
+	}
+
+	@Test
+	public void cancelledBatchIsNotNotified() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a")));
+		List<String> received = new ArrayList<>();
+		list.addChangeListener((source, changes) -> received.add("notified"));
+
+		list.batch(() -> {
+			list.add("x");
+			list.remove("x");
+		});
+
+		assertEquals(Collections.emptyList(), received);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void endingWithoutBatchFails() {
+		new ObservableListWrapper<>(new ArrayList<String>()).endBatch();
+	}
+
+	@Test
+	public void collectionsWithoutBatchesNotifyTheChangesAsTheyHappen() {
+		ObservableCollection<String> collection = new MinimalObservableCollection<>();
+		List<String> received = new ArrayList<>();
+		collection.addChangeListener((source, changes) -> received.add("notified"));
+
+		collection.batch(() -> {
+			collection.add("a");
+			collection.add("b");
+		});
+
+		assertEquals(Arrays.asList("notified", "notified"), received);
+	}
+
+	@Test
+	public void changesOfOtherThreadsAreNotNotifiedWithTheBatch() throws Exception {
+		ObservableList<String> list = new ObservableListWrapper<>(new CopyOnWriteArrayList<>());
+		List<String> received = new CopyOnWriteArrayList<>();
+		list.addChangeListener((source, changes) -> {
+			for (CollectionChange<String> change : changes) {
+				received.add(change.getValue());
+			}
+		});
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		list.beginBatch();
+		list.add("batched");
+		Thread other = new Thread(() -> {
+			try {
+				list.add("direct");
+				list.beginBatch();
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		});
+		other.start();
+		other.join();
+		assertEquals(Collections.singletonList("direct"), received);
+		list.endBatch();
+
+		assertEquals(Arrays.asList("direct", "batched"), received);
+		assertTrue(failure.get() instanceof IllegalStateException);
+		list.batch(() -> list.add("again"));
+		assertEquals(Arrays.asList("direct", "batched", "again"), received);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link CollectionChangeSet}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class CollectionChangeSetTest {
+
+	private static List<String> describe(Iterable<CollectionChange<String>> changes) {
+		List<String> described = new ArrayList<>();
+		for (CollectionChange<String> change : changes) {
+			String position = change instanceof ListChange ? "@" + ((ListChange<String>) change).getFrom() : "";
+			described.add(change.getType() + " " + change.getValue() + position);
+		}
+		return described;
+	}
+
+	@Test
+	public void positionedRunsAreIteratedAsListChanges() {
+		Object[] values = {"a", "b", "c", "d"};
+		List<CollectionChangeSet.Run<String>> runs = new ArrayList<>();
+		runs.add(new CollectionChangeSet.Run<>(CollectionChange.ChangeType.ADD, values, 0, 2, 3));
+		runs.add(new CollectionChangeSet.Run<>(CollectionChange.ChangeType.REMOVE, values, 2, 4, 1));
+		CollectionChangeSet<String> changes = new CollectionChangeSet<>(runs);
+
+		assertEquals(Arrays.asList("ADD a@3", "ADD b@4", "REMOVE c@1", "REMOVE d@1"), describe(changes));
+		assertEquals(4, changes.size());
+		assertEquals(2, changes.count(CollectionChange.ChangeType.REMOVE));
+		assertEquals(Arrays.asList("c", "d"), changes.getRuns().get(1).getValues());
+	}
+
+	@Test
+	public void unpositionedRunsAreIteratedAsCollectionChanges() {
+		CollectionChangeSet<String> changes =
+				new CollectionChangeSet<>(CollectionChange.ChangeType.REMOVE, new Object[] {"a", "b"});
+
+		assertEquals(Arrays.asList("REMOVE a", "REMOVE b"), describe(changes));
+		assertEquals(0, changes.count(CollectionChange.ChangeType.ADD));
+	}
+
+	@Test
+	public void bulkOperationsAreNotifiedAsRuns() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "b")));
+		List<Iterable<CollectionChange<String>>> notifications = new ArrayList<>();
+		list.addChangeListener((source, changes) -> notifications.add(changes));
+
+		list.addAll(1, Arrays.asList("x", "y"));
+		list.clear();
+
+		assertEquals(2, notifications.size());
+		assertEquals(Arrays.asList("ADD x@1", "ADD y@2"), describe(notifications.get(0)));
+		assertEquals(Arrays.asList("REMOVE a@0", "REMOVE x@0", "REMOVE y@0", "REMOVE b@0"),
+				describe(notifications.get(1)));
+	}
+
+	@Test
+	public void elementsRejectedByTheWrappedSetAreNotNotified() {
+		AbstractObservableCollectionWrapper<Integer> set =
+				new AbstractObservableCollectionWrapper<>(new HashSet<>(Collections.singleton(3)));
+		List<Integer> added = new ArrayList<>();
+		set.addChangeListener((source, changes) -> {
+			for (CollectionChange<Integer> change : changes) {
+				added.add(change.getValue());
+			}
+		});
+		ObservableList<Integer> sorted = set.sorted(null);
+		ObservableIntValue count = Aggregates.count(set);
+
+		assertTrue(set.addAll(Arrays.asList(1, 1, 3)));
+		assertFalse(set.addAll(Arrays.asList(1, 3)));
+
+		assertEquals(Collections.singletonList(1), added);
+		assertEquals(Arrays.asList(1, 3), sorted);
+		assertEquals(2, count.getInt());
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link CompactObservableValue}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class CompactObservableValueTest {
+
+	@Test
+	public void listenersAreNotifiedFromOneToSeveral() {
+		CompactObservableValue<String> value = new CompactObservableValue<>("a");
+		List<String> received = new ArrayList<>();
+		ChangeListener<String> first = (source, oldValue, newValue) -> received.add("1:" + newValue);
+		ChangeListener<String> second = (source, oldValue, newValue) -> received.add("2:" + newValue);
+
+		value.addChangeListener(first);
+		value.set("b");
+		value.addChangeListener(second);
+		value.set("c");
+		value.removeChangeListener(first);
+		value.set("d");
+		value.removeChangeListener(second);
+		value.set("e");
+
+		assertEquals(Arrays.asList("1:b", "1:c", "2:c", "2:d"), received);
+		assertEquals("e", value.get());
+	}
+
+	@Test
+	public void sameValueIsNotNotified() {
+		CompactObservableValue<String> value = new CompactObservableValue<>("a");
+		List<String> received = new ArrayList<>();
+		value.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		value.set("a");
+
+		assertEquals(Collections.emptyList(), received);
+	}
+
+	@Test
+	public void bindingAssignsTheCompactValue() {
+		CompactObservableValue<String> value = new CompactObservableValue<>("a");
+		SimpleObservableValue<String> other = new SimpleObservableValue<>("b");
+
+		value.bind(other);
+		other.set("c");
+		assertEquals("c", value.get());
+
+		value.set("d");
+		assertEquals("d", other.get());
+
+		value.unbind(other);
+		other.set("e");
+		assertEquals("d", value.get());
+	}
+
+	@Test
+	public void derivedValuesFollowTheCompactValue() {
+		CompactObservableValue<Integer> value = new CompactObservableValue<>(1);
+		DerivedValue<Integer> doubled = DerivedValue.map(value, v -> v * 2);
+		List<Integer> received = new ArrayList<>();
+		doubled.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		value.set(2);
+
+		assertEquals(Arrays.asList(4), received);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of {@link ConcurrentObservableSet} and {@link ConcurrentObservableDeque}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConcurrentObservableCollectionTest {
+
+	@Test
+	public void listenersAreNotifiedOutsideTheLock() throws InterruptedException {
+		ConcurrentObservableSet<String> set = new ConcurrentObservableSet<>();
+		List<Thread> threads = new ArrayList<>();
+		set.addChangeListener((source, changes) -> {
+			for (CollectionChange<String> change : changes) {
+				if (change.getType() == CollectionChange.ChangeType.ADD) {
+					// Another thread modifying the same element waits for the lock of its stripe
+					Thread thread = new Thread(() -> source.remove(change.getValue()));
+					threads.add(thread);
+					thread.start();
+					try {
+						thread.join(10000);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		});
+
+		set.add("a");
+
+		assertFalse(threads.get(0).isAlive());
+		assertEquals(Collections.emptySet(), new HashSet<>(set));
+	}
+
+	@Test
+	public void batchRunsTheOperations() {
+		ConcurrentObservableSet<String> set = new ConcurrentObservableSet<>();
+		List<String> received = new ArrayList<>();
+		set.addChangeListener(Recorders.changes(received));
+
+		set.batch(() -> {
+			set.add("a");
+			set.add("b");
+		});
+		set.parallelRemoveIf("a"::equals);
+
+		assertEquals(Arrays.asList("ADD a", "ADD b", "REMOVE a"), received);
+	}
+
+	@Test
+	public void descendingIteratorRemovesTheIteratedElement() {
+		String first = new String("a");
+		String last = new String("a");
+		ConcurrentObservableDeque<String> deque = new ConcurrentObservableDeque<>();
+		deque.addAll(Arrays.asList(first, "b", last));
+		List<String> received = new ArrayList<>();
+		deque.addChangeListener(Recorders.changes(received));
+
+		Iterator<String> iterator = deque.descendingIterator();
+		iterator.next();
+		iterator.next();
+		assertSame(first, iterator.next());
+		iterator.remove();
+
+		assertEquals(Arrays.asList("b", "a"), new ArrayList<>(deque));
+		assertSame(last, deque.peekLast());
+		assertEquals(Collections.singletonList("REMOVE a"), received);
+	}
+}
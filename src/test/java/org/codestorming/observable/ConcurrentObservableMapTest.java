@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests of {@link ConcurrentObservableMap}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConcurrentObservableMapTest {
+
+	@Test
+	public void changesAreNotifiedInOrder() {
+		ConcurrentObservableMap<String, Integer> map = new ConcurrentObservableMap<>();
+		List<String> received = new ArrayList<>();
+		map.addChangeListener((source, changes) -> {
+			for (MapChange<String, Integer> change : changes) {
+				received.add(change.getType() + " " + change.getKey());
+			}
+		});
+
+		map.put("a", 1);
+		map.put("a", 2);
+		map.putIfAbsent("a", 3);
+		map.replace("a", 2, 4);
+		map.remove("a", 5);
+		map.remove("a");
+
+		assertEquals(Arrays.asList("PUT a", "REPLACE a", "REPLACE a", "REMOVE a"), received);
+	}
+
+	@Test
+	public void listenersWritingOtherStripesDoNotDeadlock() throws InterruptedException {
+		ConcurrentObservableMap<Integer, Integer> map = new ConcurrentObservableMap<>(2);
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		map.addChangeListener((source, changes) -> {
+			for (MapChange<Integer, Integer> change : changes) {
+				int key = change.getKey();
+				if (key < 2) {
+					try {
+						barrier.await(5, TimeUnit.SECONDS);
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+					// Writes the stripe of the key put by the other thread
+					source.put(3 - key, key);
+				}
+			}
+		});
+		Thread first = new Thread(() -> map.put(0, 0));
+		Thread second = new Thread(() -> map.put(1, 1));
+		first.start();
+		second.start();
+		first.join(10000);
+		second.join(10000);
+
+		assertFalse(first.isAlive());
+		assertFalse(second.isAlive());
+		assertEquals(Integer.valueOf(1), map.get(2));
+		assertEquals(Integer.valueOf(0), map.get(3));
+	}
+}
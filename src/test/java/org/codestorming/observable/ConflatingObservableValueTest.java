@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link ConflatingObservableValue}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ConflatingObservableValueTest {
+
+	@Test
+	public void flushNotifiesTheLatestValueOnce() {
+		ConflatingObservableValue<String> value = new ConflatingObservableValue<>();
+		List<String> received = new ArrayList<>();
+		value.addChangeListener((source, oldValue, newValue) -> received.add(oldValue + ">" + newValue));
+
+		value.set("a");
+		value.set("b");
+		value.flush();
+		value.flush();
+
+		assertEquals(Arrays.asList("null>b"), received);
+	}
+
+	@Test
+	public void rejectedNotificationDoesNotStallTheValue() {
+		final boolean[] reject = {true};
+		final List<Runnable> tasks = new ArrayList<>();
+		Executor executor = command -> {
+			if (reject[0]) {
+				throw new RejectedExecutionException();
+			} // else
+			tasks.add(command);
+		};
+		ConflatingObservableValue<String> value = new ConflatingObservableValue<>("a", executor);
+		List<String> received = new ArrayList<>();
+		value.addChangeListener((source, oldValue, newValue) -> received.add(oldValue + ">" + newValue));
+
+		try {
+			value.set("b");
+			fail("The rejection must be thrown");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+		reject[0] = false;
+		value.set("c");
+		for (Runnable task : tasks) {
+			task.run();
+		}
+
+		assertEquals(Arrays.asList("a>c"), received);
+	}
+}
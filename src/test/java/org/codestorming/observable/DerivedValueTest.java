@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link DerivedValue}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class DerivedValueTest {
+
+	@Test
+	public void diamondIsRecomputedOnce() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		DerivedValue<Integer> doubled = DerivedValue.map(a, v -> v * 2);
+		DerivedValue<Integer> squared = DerivedValue.map(a, v -> v * v);
+		DerivedValue<Integer> sum = DerivedValue.combine(doubled, squared, (x, y) -> x + y);
+		List<Integer> received = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		a.set(3);
+
+		assertEquals(Arrays.asList(15), received);
+	}
+
+	@Test
+	public void intermediateValueWithoutListenersIsNotComputedEagerly() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<Integer> intermediate = DerivedValue.map(a, v -> {
+			computations.incrementAndGet();
+			return v + 1;
+		});
+		DerivedValue<Integer> last = DerivedValue.map(intermediate, v -> v * 10);
+		assertEquals(Integer.valueOf(20), last.get());
+		assertEquals(1, computations.get());
+
+		a.set(2);
+
+		assertFalse(intermediate.isValid());
+		assertFalse(last.isValid());
+		assertEquals(1, computations.get());
+		assertEquals(Integer.valueOf(30), last.get());
+		assertEquals(2, computations.get());
+	}
+
+	@Test
+	public void dependentsOfAnIntermediateValueAreNotified() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		DerivedValue<Integer> intermediate = DerivedValue.map(a, v -> v + 1);
+		DerivedValue<Integer> last = DerivedValue.map(intermediate, v -> v * 10);
+		List<Integer> received = new ArrayList<>();
+		last.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		a.set(2);
+		a.set(3);
+
+		assertEquals(Arrays.asList(30, 40), received);
+	}
+
+	@Test
+	public void failedComputationDoesNotStopTheNotifications() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		DerivedValue<Integer> inverse = DerivedValue.map(a, v -> 12 / v);
+		List<Integer> received = new ArrayList<>();
+		inverse.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		try {
+			a.set(0);
+			fail("The computation must fail");
+		} catch (ArithmeticException e) {
+			// expected
+		}
+		a.set(3);
+
+		assertEquals(Arrays.asList(4), received);
+	}
+}
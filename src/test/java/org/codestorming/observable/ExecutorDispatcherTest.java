@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link ExecutorDispatcher}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ExecutorDispatcherTest {
+
+	/**
+	 * Executor running the tasks when asked.
+	 */
+	private static final class ManualExecutor implements Executor {
+
+		final Queue<Runnable> tasks = new ArrayDeque<>();
+
+		int executed;
+
+		@Override
+		public void execute(Runnable command) {
+			executed++;
+			tasks.add(command);
+		}
+
+		void runAll() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	@Test
+	public void notificationsOfAListenerAreDeliveredInOrder() {
+		ManualExecutor executor = new ManualExecutor();
+		SimpleObservableValue<Integer> value = new SimpleObservableValue<>(0);
+		value.setDispatcher(new ExecutorDispatcher(executor));
+		List<Integer> received = new ArrayList<>();
+		value.addChangeListener(Recorders.newValues(received));
+
+		value.set(1);
+		value.set(2);
+		executor.runAll();
+		value.set(3);
+		executor.runAll();
+
+		assertEquals(Arrays.asList(1, 2, 3), received);
+	}
+
+	@Test
+	public void dropAndConflatePoliciesBoundTheQueue() {
+		ManualExecutor executor = new ManualExecutor();
+		SimpleObservableValue<Integer> dropped = new SimpleObservableValue<>(0);
+		dropped.setDispatcher(new ExecutorDispatcher(executor, 2, ExecutorDispatcher.OverflowPolicy.DROP));
+		SimpleObservableValue<Integer> conflated = new SimpleObservableValue<>(0);
+		conflated.setDispatcher(new ExecutorDispatcher(executor, 2, ExecutorDispatcher.OverflowPolicy.CONFLATE));
+		List<Integer> droppedReceived = new ArrayList<>();
+		List<Integer> conflatedReceived = new ArrayList<>();
+		dropped.addChangeListener(Recorders.newValues(droppedReceived));
+		conflated.addChangeListener(Recorders.newValues(conflatedReceived));
+
+		for (int i = 1; i <= 5; i++) {
+			dropped.set(i);
+			conflated.set(i);
+		}
+		executor.runAll();
+
+		assertEquals(Arrays.asList(1, 2), droppedReceived);
+		assertEquals(Arrays.asList(1, 5), conflatedReceived);
+	}
+
+	@Test
+	public void conflationKeepsTheSourcesApart() {
+		ManualExecutor executor = new ManualExecutor();
+		ExecutorDispatcher dispatcher = new ExecutorDispatcher(executor, 1, ExecutorDispatcher.OverflowPolicy.CONFLATE);
+		SimpleObservableValue<String> x = new SimpleObservableValue<>("x0");
+		SimpleObservableValue<String> y = new SimpleObservableValue<>("y0");
+		x.setDispatcher(dispatcher);
+		y.setDispatcher(dispatcher);
+		List<String> received = new ArrayList<>();
+		ChangeListener<String> listener = (source, oldValue, newValue) ->
+				received.add((source == x ? "x " : "y ") + oldValue + ">" + newValue);
+		x.addChangeListener(listener);
+		y.addChangeListener(listener);
+
+		x.set("x1");
+		x.set("x2");
+		y.set("y1");
+		y.set("y2");
+		x.set("x3");
+		executor.runAll();
+
+		assertEquals(Arrays.asList("y y0>y2", "x x0>x3"), received);
+	}
+
+	@Test
+	public void errorOfAListenerDoesNotStopItsChannel() {
+		ManualExecutor executor = new ManualExecutor();
+		SimpleObservableValue<Integer> value = new SimpleObservableValue<>(0);
+		value.setDispatcher(new ExecutorDispatcher(executor));
+		List<Integer> received = new ArrayList<>();
+		value.addChangeListener((source, oldValue, newValue) -> {
+			received.add(newValue);
+			if (newValue == 1) {
+				throw new AssertionError("Listener failure");
+			}
+		});
+
+		value.set(1);
+		value.set(2);
+		try {
+			executor.runAll();
+			fail("The error should reach the executor");
+		} catch (AssertionError e) {
+			assertEquals("Listener failure", e.getMessage());
+		}
+		value.set(3);
+		executor.runAll();
+
+		assertEquals(Arrays.asList(1, 2, 3), received);
+	}
+
+	@Test
+	public void interruptedBlockingDispatchKeepsTheNotification() {
+		ManualExecutor executor = new ManualExecutor();
+		SimpleObservableValue<Integer> value = new SimpleObservableValue<>(0);
+		value.setDispatcher(new ExecutorDispatcher(executor, 1, ExecutorDispatcher.OverflowPolicy.BLOCK));
+		List<Integer> received = new ArrayList<>();
+		value.addChangeListener(Recorders.newValues(received));
+
+		value.set(1);
+		Thread.currentThread().interrupt();
+		value.set(2);
+		boolean interrupted = Thread.interrupted();
+		executor.runAll();
+
+		assertTrue(interrupted);
+		assertEquals(Arrays.asList(1, 2), received);
+	}
+
+	@Test
+	public void drainedChannelIsReused() {
+		ManualExecutor executor = new ManualExecutor();
+		SimpleObservableValue<Integer> value = new SimpleObservableValue<>(0);
+		value.setDispatcher(new ExecutorDispatcher(executor));
+		List<Integer> received = new ArrayList<>();
+		value.addChangeListener(Recorders.newValues(received));
+
+		for (int i = 1; i <= 3; i++) {
+			value.set(i);
+			executor.runAll();
+		}
+
+		assertEquals(Arrays.asList(1, 2, 3), received);
+		assertEquals(3, executor.executed);
+	}
+
+	@Test
+	public void idleChannelsAreRetiredWithoutLosingNotifications() {
+		ManualExecutor executor = new ManualExecutor();
+		ExecutorDispatcher dispatcher = new ExecutorDispatcher(executor);
+		List<Integer> received = new ArrayList<>();
+		List<SimpleObservableValue<Integer>> values = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			SimpleObservableValue<Integer> value = new SimpleObservableValue<>(0);
+			value.setDispatcher(dispatcher);
+			value.addChangeListener(Recorders.newValues(received));
+			values.add(value);
+		}
+		for (int round = 1; round <= 2; round++) {
+			for (SimpleObservableValue<Integer> value : values) {
+				value.set(round);
+			}
+			executor.runAll();
+		}
+
+		assertEquals(1000, received.size());
+	}
+}
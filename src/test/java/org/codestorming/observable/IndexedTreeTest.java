@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link IndexedTree}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class IndexedTreeTest {
+
+	@Test
+	public void behavesLikeAList() {
+		Random random = new Random(42);
+		IndexedTree<Integer> tree = new IndexedTree<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int step = 0; step < 2000; step++) {
+			int operation = random.nextInt(6);
+			if (operation < 2 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				tree.insert(index, step);
+				expected.add(index, step);
+			} else if (operation == 2) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), tree.remove(index));
+			} else if (operation == 3) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.set(index, -step), tree.set(index, -step));
+			} else if (operation == 4) {
+				int index = random.nextInt(expected.size() + 1);
+				Integer[] values = {step, step + 1, step + 2};
+				tree.insertAll(index, values);
+				expected.addAll(index, Arrays.asList(values));
+			} else {
+				int from = random.nextInt(expected.size());
+				int to = Math.min(expected.size(), from + random.nextInt(4));
+				List<Integer> range = expected.subList(from, to);
+				assertArrayEquals(range.toArray(), tree.removeRange(from, to));
+				range.clear();
+			}
+			assertEquals(expected.size(), tree.size());
+		}
+		assertArrayEquals(expected.toArray(), tree.toArray());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), tree.get(i));
+		}
+	}
+
+	@Test
+	public void rankLocatesSortedValues() {
+		IndexedTree<Integer> tree = new IndexedTree<>();
+		tree.insertAll(0, new Integer[] {1, 3, 3, 3, 5});
+
+		assertEquals(1, tree.rank(3, Comparator.naturalOrder(), false));
+		assertEquals(4, tree.rank(3, Comparator.naturalOrder(), true));
+		assertEquals(0, tree.rank(0, Comparator.naturalOrder(), true));
+		assertEquals(5, tree.rank(9, Comparator.naturalOrder(), false));
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the {@link ListChange}s notified by {@link ObservableListWrapper}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ListChangeTest {
+
+	@Test
+	public void modificationsAreNotifiedWithTheirPositions() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "b")));
+		List<String> received = new ArrayList<>();
+		list.addChangeListener(Recorders.listChanges(received));
+
+		list.add(1, "x");
+		list.set(0, "y");
+		list.remove(2);
+		ListIterator<String> iterator = list.listIterator();
+		iterator.next();
+		iterator.add("z");
+
+		assertEquals(Arrays.asList("y", "z", "x"), list);
+		assertEquals(Arrays.asList("ADD x@1", "REPLACE a>y@0", "REMOVE b@2", "ADD z@1"), received);
+	}
+
+	@Test
+	public void sortIsNotifiedAsAPermutation() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("c", "a", "b")));
+		List<ListChange<String>> received = new ArrayList<>();
+		list.addChangeListener((source, changes) -> {
+			for (CollectionChange<String> change : changes) {
+				received.add((ListChange<String>) change);
+			}
+		});
+
+		list.sort(Comparator.naturalOrder());
+
+		assertEquals(1, received.size());
+		ListChange<String> permutation = received.get(0);
+		assertEquals(CollectionChange.ChangeType.PERMUTATION, permutation.getType());
+		assertEquals(2, permutation.getNewIndex(0));
+		assertEquals(0, permutation.getNewIndex(1));
+		assertEquals(1, permutation.getNewIndex(2));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void onlyPermutationsHaveNewIndexes() {
+		new ListChange<>(CollectionChange.ChangeType.ADD, "a", 0).getNewIndex(0);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link ListDiff}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ListDiffTest {
+
+	private static List<Object> apply(Object[] oldValues, List<CollectionChangeSet.Run<Object>> runs) {
+		List<Object> values = new ArrayList<>(Arrays.asList(oldValues));
+		for (CollectionChangeSet.Run<Object> run : runs) {
+			for (int i = 0; i < run.size(); i++) {
+				if (run.getType() == CollectionChange.ChangeType.ADD) {
+					values.add(run.getIndex() + i, run.get(i));
+				} else {
+					assertEquals(run.get(i), values.remove(run.getIndex()));
+				}
+			}
+		}
+		return values;
+	}
+
+	private static int editLength(List<CollectionChangeSet.Run<Object>> runs) {
+		int length = 0;
+		for (CollectionChangeSet.Run<Object> run : runs) {
+			length += run.size();
+		}
+		return length;
+	}
+
+	@Test
+	public void shortestEditScriptIsFound() {
+		Object[] oldValues = "abcabba".split("");
+		Object[] newValues = "cbabac".split("");
+		List<CollectionChangeSet.Run<Object>> runs = ListDiff.diff(oldValues, newValues);
+
+		assertEquals(Arrays.asList(newValues), apply(oldValues, runs));
+		assertEquals(5, editLength(runs));
+	}
+
+	@Test
+	public void commonPrefixAndSuffixAreKept() {
+		Object[] oldValues = "abcd".split("");
+		Object[] newValues = "abxd".split("");
+		List<CollectionChangeSet.Run<Object>> runs = ListDiff.diff(oldValues, newValues);
+
+		assertEquals(Arrays.asList(newValues), apply(oldValues, runs));
+		assertEquals(2, editLength(runs));
+	}
+
+	@Test
+	public void identicalListsHaveNoRun() {
+		Object[] values = "abc".split("");
+
+		assertEquals(0, ListDiff.diff(values, values.clone()).size());
+	}
+
+	@Test
+	public void randomEditsAreReplayed() {
+		Random random = new Random(3);
+		for (int round = 0; round < 200; round++) {
+			Object[] oldValues = new Object[random.nextInt(30)];
+			for (int i = 0; i < oldValues.length; i++) {
+				oldValues[i] = random.nextInt(8);
+			}
+			List<Object> edited = new ArrayList<>(Arrays.asList(oldValues));
+			for (int edit = random.nextInt(10); edit > 0; edit--) {
+				if (random.nextBoolean() || edited.isEmpty()) {
+					edited.add(random.nextInt(edited.size() + 1), random.nextInt(8));
+				} else {
+					edited.remove(random.nextInt(edited.size()));
+				}
+			}
+			Object[] newValues = edited.toArray();
+
+			assertEquals(edited, apply(oldValues, ListDiff.diff(oldValues, newValues)));
+		}
+	}
+}
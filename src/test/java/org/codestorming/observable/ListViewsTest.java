@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the filtered, mapped and sorted views of an {@link ObservableList}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ListViewsTest {
+
+	@Test
+	public void filteredViewFollowsTheSource() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(1, 2, 3, 4)));
+		ObservableList<Integer> evens = list.filtered(element -> element % 2 == 0);
+		List<String> received = new ArrayList<>();
+		evens.addChangeListener(Recorders.listChanges(received));
+
+		list.add(0, 6);
+		list.remove(Integer.valueOf(2));
+		list.add(5);
+
+		assertEquals(Arrays.asList(6, 4), new ArrayList<>(evens));
+		assertEquals(Arrays.asList("ADD 6@0", "REMOVE 2@1"), received);
+	}
+
+	@Test
+	public void mappedViewFollowsTheSource() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(1, 2, 3)));
+		ObservableList<String> mapped = list.mapped(element -> "#" + element);
+		List<String> received = new ArrayList<>();
+		mapped.addChangeListener(Recorders.listChanges(received));
+
+		list.add(1, 4);
+		list.remove(0);
+		list.set(1, 5);
+
+		assertEquals(Arrays.asList("#4", "#5", "#3"), new ArrayList<>(mapped));
+		assertEquals(Arrays.asList("ADD #4@1", "REMOVE #1@0", "REPLACE #2>#5@1"), received);
+	}
+
+	@Test
+	public void mappedViewIgnoresEmptyChanges() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(1, 2)));
+		ObservableList<String> mapped = list.mapped(element -> "#" + element);
+		List<String> received = new ArrayList<>();
+		mapped.addChangeListener(Recorders.listChanges(received));
+
+		list.addAll(Collections.emptyList());
+		list.removeAll(Collections.singleton(3));
+
+		assertEquals(Collections.emptyList(), received);
+	}
+
+	@Test
+	public void sortedViewFollowsTheSource() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("c", "a", "d")));
+		ObservableList<String> sorted = list.sorted(Comparator.naturalOrder());
+		List<String> received = new ArrayList<>();
+		sorted.addChangeListener(Recorders.listChanges(received));
+
+		list.add("b");
+		list.remove("d");
+		list.addAll(Arrays.asList("e", "a"));
+
+		assertEquals(Arrays.asList("a", "a", "b", "c", "e"), new ArrayList<>(sorted));
+		assertEquals(Arrays.asList("ADD b@1", "REMOVE d@3", "ADD a@1", "ADD e@4"), received);
+	}
+}
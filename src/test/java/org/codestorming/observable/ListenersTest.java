@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the copy-on-write listener arrays.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ListenersTest {
+
+	@Test
+	public void addingCopiesTheArrayOnce() {
+		String[] empty = new String[0];
+		String[] one = Listeners.add(empty, "a");
+
+		assertSame(one, Listeners.add(one, "a"));
+		assertArrayEquals(new String[] {"a", "b"}, Listeners.add(one, "b"));
+		assertArrayEquals(new String[] {"a"}, one);
+		assertEquals(0, empty.length);
+	}
+
+	@Test
+	public void removingLeavesTheCurrentArrayUnchanged() {
+		String[] listeners = {"a", "b", "c"};
+
+		assertArrayEquals(new String[] {"a", "c"}, Listeners.remove(listeners, "b"));
+		assertSame(listeners, Listeners.remove(listeners, "d"));
+		assertArrayEquals(new String[] {"a", "b", "c"}, listeners);
+	}
+
+	@Test
+	public void listenersChangedDuringANotificationApplyToTheNextOne() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>());
+		List<String> received = new ArrayList<>();
+		CollectionChangeListener<String> late = (source, changes) -> received.add("late");
+		CollectionChangeListener<String> second = (source, changes) -> received.add("second");
+		list.addChangeListener((source, changes) -> {
+			received.add("first");
+			list.removeChangeListener(second);
+			list.addChangeListener(late);
+		});
+		list.addChangeListener(second);
+
+		list.add("a");
+		assertEquals(Arrays.asList("first", "second"), received);
+
+		received.clear();
+		list.add("b");
+		assertEquals(Arrays.asList("first", "late"), received);
+	}
+}
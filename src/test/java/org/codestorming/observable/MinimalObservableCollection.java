@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link ObservableCollection} implementing only the abstract methods, as an implementation outside of this library
+ * would.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+class MinimalObservableCollection<E> extends AbstractCollection<E> implements ObservableCollection<E> {
+
+	private final List<E> elements = new ArrayList<>();
+
+	private final List<CollectionChangeListener<E>> listeners = new ArrayList<>();
+
+	@Override
+	public Iterator<E> iterator() {
+		return elements.iterator();
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public boolean add(E e) {
+		elements.add(e);
+		for (CollectionChangeListener<E> listener : new ArrayList<>(listeners)) {
+			listener.onChange(this,
+					Collections.singletonList(new CollectionChange<>(CollectionChange.ChangeType.ADD, e)));
+		}
+		return true;
+	}
+
+	@Override
+	public void addChangeListener(CollectionChangeListener<E> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeChangeListener(CollectionChangeListener<E> listener) {
+		listeners.remove(listener);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link ObservableIndex}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ObservableIndexTest {
+
+	@Test
+	public void groupsOnlyNotifyTheirOwnChanges() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "bb")));
+		ObservableIndex<Integer, String> index = list.indexBy(String::length);
+		ObservableCollection<String> ones = index.get(1);
+		List<String> received = new ArrayList<>();
+		ones.addChangeListener(Recorders.changes(received));
+
+		list.add("cc");
+		list.add("d");
+		list.remove("a");
+
+		assertEquals(Collections.singletonList("d"), new ArrayList<>(ones));
+		assertEquals(Arrays.asList("ADD d", "REMOVE a"), received);
+	}
+
+	@Test
+	public void groupsKeepTheAddedInstances() {
+		String first = new String("x");
+		String second = new String("x");
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(first, second)));
+		ObservableIndex<Integer, String> index = list.indexBy(String::length);
+
+		List<String> instances = new ArrayList<>(index.get(1));
+
+		assertEquals(2, instances.size());
+		assertSame(first, instances.get(0));
+		assertSame(second, instances.get(1));
+	}
+
+	@Test
+	public void keysNotifyAppearingAndDisappearingGroups() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a")));
+		ObservableIndex<Integer, String> index = list.indexBy(String::length);
+		List<String> received = new ArrayList<>();
+		index.keys().addChangeListener(Recorders.changes(received));
+
+		list.add("b");
+		list.add("cc");
+		list.remove("a");
+		list.remove("b");
+
+		assertEquals(Arrays.asList("ADD 2", "REMOVE 1"), received);
+		assertEquals(new HashSet<>(Collections.singleton(2)), new HashSet<>(index.keys()));
+		assertTrue(index.keys().contains(2));
+	}
+}
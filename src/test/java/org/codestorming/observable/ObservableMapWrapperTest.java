@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link ObservableMapWrapper}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ObservableMapWrapperTest {
+
+	@Test
+	public void keyListenersAreOnlyNotifiedOfTheirKey() {
+		ObservableMapWrapper<String, Integer> map = new ObservableMapWrapper<>(new HashMap<>());
+		List<String> all = new ArrayList<>();
+		List<String> ofA = new ArrayList<>();
+		map.addChangeListener(Recorders.mapChanges(all));
+		map.addChangeListener("a", Recorders.mapChanges(ofA));
+
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("a", 3);
+		map.remove("b");
+
+		assertEquals(Arrays.asList("PUT a: null -> 1", "PUT b: null -> 2", "REPLACE a: 1 -> 3",
+				"REMOVE b: 2 -> null"), all);
+		assertEquals(Arrays.asList("PUT a: null -> 1", "REPLACE a: 1 -> 3"), ofA);
+	}
+
+	@Test
+	public void removedKeyListenersAreNoLongerNotified() {
+		ObservableMapWrapper<String, Integer> map = new ObservableMapWrapper<>(new HashMap<>());
+		List<String> ofA = new ArrayList<>();
+		MapChangeListener<String, Integer> listener = Recorders.mapChanges(ofA);
+		map.addChangeListener("a", listener);
+
+		map.put("a", 1);
+		map.removeChangeListener("a", listener);
+		map.put("a", 2);
+
+		assertEquals(Collections.singletonList("PUT a: null -> 1"), ofA);
+	}
+
+	@Test
+	public void unchangedMappingsAreNotNotified() {
+		Integer one = 1;
+		ObservableMapWrapper<String, Integer> map = new ObservableMapWrapper<>(new HashMap<>());
+		map.put("a", one);
+		List<String> all = new ArrayList<>();
+		map.addChangeListener(Recorders.mapChanges(all));
+
+		map.put("a", one);
+		map.remove("b");
+		map.putAll(Collections.singletonMap("a", one));
+
+		assertTrue(all.isEmpty());
+	}
+
+	@Test
+	public void putAllAndClearAreNotifiedOnce() {
+		ObservableMapWrapper<String, Integer> map = new ObservableMapWrapper<>(new LinkedHashMap<>());
+		List<String> all = new ArrayList<>();
+		map.addChangeListener(Recorders.mapChanges(all));
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		entries.put("a", 1);
+		entries.put("b", 2);
+
+		map.putAll(entries);
+		map.clear();
+
+		assertEquals(Arrays.asList("PUT a: null -> 1, PUT b: null -> 2", "REMOVE a: 1 -> null, REMOVE b: 2 -> null"),
+				all);
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void changesThroughTheViewsAreNotified() {
+		ObservableMapWrapper<String, Integer> map = new ObservableMapWrapper<>(new LinkedHashMap<>());
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("c", 3);
+		List<String> all = new ArrayList<>();
+		map.addChangeListener(Recorders.mapChanges(all));
+
+		map.keySet().remove("a");
+		Iterator<Map.Entry<String, Integer>> entries = map.entrySet().iterator();
+		entries.next().setValue(4);
+		entries.remove();
+		map.values().clear();
+
+		assertEquals(Arrays.asList("REMOVE a: 1 -> null", "REPLACE b: 2 -> 4", "REMOVE b: 4 -> null",
+				"REMOVE c: 3 -> null"), all);
+		assertTrue(map.isEmpty());
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the sub-list views of {@link ObservableListWrapper}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ObservableSubListTest {
+
+	@Test
+	public void changesAreNotifiedRelativeToTheViewThenToTheParent() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "b", "c", "d")));
+		ObservableList<String> view = list.subList(1, 3);
+		List<String> viewChanges = new ArrayList<>();
+		List<String> listChanges = new ArrayList<>();
+		view.addChangeListener(Recorders.listChanges(viewChanges));
+		list.addChangeListener(Recorders.listChanges(listChanges));
+
+		view.add(1, "x");
+		view.remove("b");
+
+		assertEquals(Arrays.asList("ADD x@1", "REMOVE b@0"), viewChanges);
+		assertEquals(Arrays.asList("ADD x@2", "REMOVE b@1"), listChanges);
+		assertEquals(Arrays.asList("a", "x", "c", "d"), new ArrayList<>(list));
+	}
+
+	@Test
+	public void clearingTheViewRemovesItsRange() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a", "b", "c", "d")));
+		List<String> listChanges = new ArrayList<>();
+		list.addChangeListener(Recorders.listChanges(listChanges));
+
+		list.subList(1, 3).clear();
+
+		assertEquals(Arrays.asList("REMOVE b@1", "REMOVE c@1"), listChanges);
+		assertEquals(Arrays.asList("a", "d"), new ArrayList<>(list));
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the parallel bulk mutators and of the traversal of {@link ObservableListWrapper}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class ParallelMutatorsTest {
+
+	private static ObservableList<Integer> range(int size) {
+		List<Integer> elements = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			elements.add(i);
+		}
+		return new ObservableListWrapper<>(elements);
+	}
+
+	private static CollectionChangeListener<Integer> counter(final List<Integer> notified) {
+		return (source, changes) -> {
+			int count = 0;
+			for (CollectionChange<Integer> change : changes) {
+				count++;
+			}
+			notified.add(count);
+		};
+	}
+
+	@Test
+	public void parallelRemoveIfIsNotifiedOnce() {
+		ObservableList<Integer> list = range(1000);
+		List<Integer> notified = new ArrayList<>();
+		list.addChangeListener(counter(notified));
+
+		assertTrue(list.parallelRemoveIf(element -> element % 3 == 0));
+
+		assertEquals(666, list.size());
+		assertEquals(1, notified.size());
+		assertEquals(Integer.valueOf(334), notified.get(0));
+		assertTrue(list.stream().noneMatch(element -> element % 3 == 0));
+	}
+
+	@Test
+	public void parallelReplaceAllNotifiesTheReplacedElementsOnce() {
+		ObservableList<Integer> list = range(1000);
+		List<Integer> notified = new ArrayList<>();
+		list.addChangeListener(counter(notified));
+
+		list.parallelReplaceAll(element -> element * 2);
+
+		assertEquals(1, notified.size());
+		assertEquals(Integer.valueOf(999), notified.get(0));
+		assertEquals(Integer.valueOf(1000), list.get(500));
+	}
+
+	@Test
+	public void unchangedElementsAreNotNotified() {
+		ObservableList<Integer> list = range(100);
+		List<Integer> notified = new ArrayList<>();
+		list.addChangeListener(counter(notified));
+
+		list.parallelReplaceAll(element -> element);
+
+		assertTrue(notified.isEmpty());
+	}
+
+	@Test
+	public void spliteratorKeepsTheWrappedCharacteristics() {
+		Spliterator<Integer> spliterator = range(10).spliterator();
+
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(45, range(10).parallelStream().mapToInt(Integer::intValue).sum());
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link PersistentObservableList}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class PersistentObservableListTest {
+
+	@Test
+	public void snapshotsAreNotAffectedByLaterChanges() {
+		PersistentObservableList<String> list = new PersistentObservableList<>(Arrays.asList("a", "b"));
+		ListSnapshot<String> before = list.snapshot();
+
+		list.add("c");
+		list.remove(0);
+		list.set(0, "x");
+		ListSnapshot<String> after = list.snapshot();
+
+		assertEquals(Arrays.asList("a", "b"), new ArrayList<>(before));
+		assertEquals(Arrays.asList("x", "c"), new ArrayList<>(after));
+		assertTrue(after.getVersion() > before.getVersion());
+	}
+
+	@Test
+	public void changesAreNotifiedWithTheirPositions() {
+		PersistentObservableList<String> list = new PersistentObservableList<>(Arrays.asList("a", "b", "c"));
+		List<String> received = new ArrayList<>();
+		list.addChangeListener((source, changes) -> {
+			for (CollectionChange<String> change : changes) {
+				ListChange<String> listChange = (ListChange<String>) change;
+				received.add(change.getType() + " " + change.getValue() + "@" + listChange.getFrom());
+			}
+		});
+
+		list.add(1, "x");
+		list.remove("c");
+		list.removeIf("a"::equals);
+
+		assertEquals(Arrays.asList("x", "b"), list);
+		assertEquals(Arrays.asList("ADD x@1", "REMOVE c@3", "REMOVE a@0"), received);
+	}
+
+	@Test
+	public void rangesAreReadFromASnapshot() {
+		PersistentObservableList<String> list = new PersistentObservableList<>(Arrays.asList("a", "b", "c"));
+
+		assertEquals(Arrays.asList("b", "c"), list.snapshot().subList(1, 3));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void subListIsNotSupported() {
+		new PersistentObservableList<>(Arrays.asList("a", "b", "c")).subList(1, 3);
+	}
+}
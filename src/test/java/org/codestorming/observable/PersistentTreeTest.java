@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link PersistentTree}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class PersistentTreeTest {
+
+	@Test
+	public void behavesLikeAList() {
+		Random random = new Random(11);
+		PersistentTree.Node<Integer> root = PersistentTree.build(new Object[] {0, 1, 2}, 0, 3);
+		List<Integer> expected = new ArrayList<>(Arrays.asList(0, 1, 2));
+		for (int step = 3; step < 2000; step++) {
+			int operation = random.nextInt(3);
+			if (operation == 0 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				root = PersistentTree.insert(root, index, step);
+				expected.add(index, step);
+			} else if (operation == 1) {
+				int index = random.nextInt(expected.size());
+				root = PersistentTree.remove(root, index);
+				expected.remove(index);
+			} else {
+				int index = random.nextInt(expected.size());
+				root = PersistentTree.set(root, index, -step);
+				expected.set(index, -step);
+			}
+			assertEquals(expected.size(), PersistentTree.size(root));
+		}
+		assertArrayEquals(expected.toArray(), PersistentTree.toArray(root));
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), PersistentTree.get(root, i));
+		}
+	}
+
+	@Test
+	public void previousVersionsAreUnchanged() {
+		PersistentTree.Node<String> first = PersistentTree.build(new Object[] {"a", "b", "c"}, 0, 3);
+		PersistentTree.Node<String> second = PersistentTree.set(first, 1, "x");
+		PersistentTree.Node<String> third = PersistentTree.remove(PersistentTree.insert(second, 0, "y"), 3);
+
+		assertArrayEquals(new Object[] {"a", "b", "c"}, PersistentTree.toArray(first));
+		assertArrayEquals(new Object[] {"a", "x", "c"}, PersistentTree.toArray(second));
+		assertArrayEquals(new Object[] {"y", "a", "x"}, PersistentTree.toArray(third));
+	}
+}
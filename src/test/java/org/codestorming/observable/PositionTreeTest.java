@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link PositionTree}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class PositionTreeTest {
+
+	@Test
+	public void ranksFollowTheMarkedPositions() {
+		Random random = new Random(7);
+		PositionTree tree = new PositionTree();
+		List<Boolean> expected = new ArrayList<>();
+		for (int step = 0; step < 1000; step++) {
+			int operation = random.nextInt(3);
+			if (operation == 0 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				boolean marked = random.nextBoolean();
+				tree.insert(index, marked);
+				expected.add(index, marked);
+			} else if (operation == 1) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), tree.remove(index));
+			} else {
+				int index = random.nextInt(expected.size());
+				boolean marked = random.nextBoolean();
+				tree.setMarked(index, marked);
+				expected.set(index, marked);
+			}
+		}
+		int marked = 0;
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(marked, tree.countMarkedBefore(i));
+			assertEquals(expected.get(i), tree.isMarked(i));
+			if (expected.get(i)) {
+				assertEquals(i, tree.indexOfMarked(marked++));
+			}
+		}
+		assertEquals(marked, tree.markedCount());
+		assertEquals(expected.size(), tree.size());
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link Propagation}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class PropagationTest {
+
+	@Test
+	public void derivedValuesAreHigherThanTheirSources() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		DerivedValue<Integer> doubled = DerivedValue.map(a, v -> v * 2);
+		DerivedValue<Integer> sum = DerivedValue.combine(a, doubled, (x, y) -> x + y);
+		DerivedValue<Integer> last = DerivedValue.map(sum, v -> v + 1);
+
+		assertEquals(1, doubled.getHeight());
+		assertEquals(2, sum.getHeight());
+		assertEquals(3, last.getHeight());
+	}
+
+	@Test
+	public void valuesAreRecomputedByIncreasingHeight() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		List<String> computed = new ArrayList<>();
+		DerivedValue<Integer> doubled = DerivedValue.map(a, v -> {
+			computed.add("doubled");
+			return v * 2;
+		});
+		DerivedValue<Integer> sum = DerivedValue.combine(a, doubled, (x, y) -> {
+			computed.add("sum");
+			return x + y;
+		});
+		List<Integer> received = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		computed.clear();
+
+		a.set(2);
+
+		assertEquals(Arrays.asList("doubled", "sum"), computed);
+		assertEquals(Arrays.asList(6), received);
+	}
+
+	@Test
+	public void changesMadeDuringANotificationAreRecomputedOnce() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		SimpleObservableValue<Integer> b = new SimpleObservableValue<>(1);
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<Integer> sum = DerivedValue.combine(a, b, (x, y) -> {
+			computations.incrementAndGet();
+			return x + y;
+		});
+		List<Integer> received = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		a.addChangeListener((source, oldValue, newValue) -> b.set(newValue * 10));
+		computations.set(0);
+
+		a.set(2);
+
+		assertEquals(1, computations.get());
+		assertEquals(Arrays.asList(22), received);
+	}
+
+	@Test
+	public void nestedScopesRecomputeWhenTheOutermostEnds() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		DerivedValue<Integer> doubled = DerivedValue.map(a, v -> v * 2);
+		List<Integer> received = new ArrayList<>();
+		doubled.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		Propagation outer = Propagation.begin();
+		Propagation inner = Propagation.begin();
+		a.set(2);
+		inner.end();
+		a.set(3);
+		assertEquals(Arrays.asList(), received);
+		outer.end();
+
+		assertEquals(Arrays.asList(6), received);
+	}
+
+	@Test
+	public void derivedValueOfACollectionIsRecomputedOncePerChange() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>());
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<Integer> size = new DerivedValue<Integer>() {
+			{
+				listenTo(list);
+			}
+
+			@Override
+			protected Integer compute() {
+				computations.incrementAndGet();
+				return list.size();
+			}
+		};
+		DerivedValue<Integer> doubled = DerivedValue.map(size, v -> v * 2);
+		List<Integer> received = new ArrayList<>();
+		doubled.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		computations.set(0);
+
+		list.addAll(Arrays.asList(1, 2, 3));
+
+		assertEquals(1, size.getHeight());
+		assertEquals(2, doubled.getHeight());
+		assertEquals(1, computations.get());
+		assertEquals(Arrays.asList(6), received);
+	}
+
+	@Test
+	public void changeSpreadingThroughBindingsIsRecomputedOnce() {
+		SimpleObservableValue<Integer> a = new SimpleObservableValue<>(1);
+		SimpleObservableValue<Integer> b = new SimpleObservableValue<>(1);
+		SimpleObservableValue<Integer> c = new SimpleObservableValue<>(1);
+		a.bind(c);
+		b.bind(c);
+		DerivedValue<Integer> sum = DerivedValue.combine(a, b, (x, y) -> x + y);
+		List<Integer> received = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		c.set(2);
+
+		assertEquals(Arrays.asList(4), received);
+	}
+
+	@Test
+	public void changeOfABindingGroupIsRecomputedOnce() {
+		BindingGroup<Integer> group = new BindingGroup<>(1);
+		BindingGroup.Member<Integer> a = group.newMember();
+		BindingGroup.Member<Integer> b = group.newMember();
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<Integer> sum = DerivedValue.combine(a, b, (x, y) -> {
+			computations.incrementAndGet();
+			return x + y;
+		});
+		List<Integer> received = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		computations.set(0);
+
+		group.set(2);
+
+		assertEquals(1, computations.get());
+		assertEquals(Arrays.asList(4), received);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listeners recording the changes they are notified of, shared by the tests.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+final class Recorders {
+
+	private Recorders() {}
+
+	/**
+	 * Returns a listener recording each change as {@code "TYPE value"}.
+	 * <p/>
+	 * The changes are recorded while holding the lock of the given list, so that it can be notified concurrently.
+	 *
+	 * @param received The list receiving the recorded changes.
+	 * @return the listener.
+	 */
+	static <E> CollectionChangeListener<E> changes(final List<String> received) {
+		return (source, changes) -> {
+			for (CollectionChange<E> change : changes) {
+				synchronized (received) {
+					received.add(change.getType() + " " + change.getValue());
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns a listener recording each {@link ListChange} as {@code "TYPE value@from"}, or as
+	 * {@code "REPLACE oldValue>value@from"} for a replacement.
+	 *
+	 * @param received The list receiving the recorded changes.
+	 * @return the listener.
+	 */
+	static <E> CollectionChangeListener<E> listChanges(final List<String> received) {
+		return (source, changes) -> {
+			for (CollectionChange<E> change : changes) {
+				ListChange<E> listChange = (ListChange<E>) change;
+				if (change.getType() == CollectionChange.ChangeType.REPLACE) {
+					received.add("REPLACE " + listChange.getOldValue() + ">" + change.getValue() + "@"
+							+ listChange.getFrom());
+				} else {
+					received.add(change.getType() + " " + change.getValue() + "@" + listChange.getFrom());
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns a listener recording the new values.
+	 *
+	 * @param received The list receiving the new values.
+	 * @return the listener.
+	 */
+	static <T> ChangeListener<T> newValues(final List<T> received) {
+		return (source, oldValue, newValue) -> received.add(newValue);
+	}
+
+	/**
+	 * Returns a listener recording each notification as the comma-separated {@link MapChange#toString() changes} it
+	 * carries.
+	 *
+	 * @param received The list receiving the recorded notifications.
+	 * @return the listener.
+	 */
+	static <K, V> MapChangeListener<K, V> mapChanges(final List<String> received) {
+		return (source, changes) -> {
+			List<String> notification = new ArrayList<>();
+			for (MapChange<K, V> change : changes) {
+				notification.add(change.toString());
+			}
+			received.add(String.join(", ", notification));
+		};
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the primitive-specialized observable values.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SimpleObservableIntValueTest {
+
+	@Test
+	public void notifiesPrimitiveThenBoxedListeners() {
+		SimpleObservableIntValue value = new SimpleObservableIntValue(1);
+		List<String> received = new ArrayList<>();
+		value.addChangeListener((source, oldValue, newValue) -> received.add("boxed " + oldValue + ">" + newValue));
+		value.addIntChangeListener((source, oldValue, newValue) -> received.add("int " + oldValue + ">" + newValue));
+
+		value.setInt(2);
+		value.setInt(2);
+
+		assertEquals(Arrays.asList("int 1>2", "boxed 1>2"), received);
+	}
+
+	@Test
+	public void removedPrimitiveListenerIsNotNotified() {
+		SimpleObservableLongValue value = new SimpleObservableLongValue();
+		List<Long> received = new ArrayList<>();
+		LongChangeListener listener = (source, oldValue, newValue) -> received.add(newValue);
+		value.addLongChangeListener(listener);
+		value.setLong(Long.MAX_VALUE);
+		value.removeLongChangeListener(listener);
+		value.setLong(3);
+
+		assertEquals(Arrays.asList(Long.MAX_VALUE), received);
+	}
+
+	@Test
+	public void doubleAndBooleanValuesKeepTheirBits() {
+		SimpleObservableDoubleValue number = new SimpleObservableDoubleValue();
+		SimpleObservableBooleanValue flag = new SimpleObservableBooleanValue();
+		List<Object> received = new ArrayList<>();
+		number.addDoubleChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		number.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		flag.addBooleanChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		number.setDouble(-0.5);
+		flag.setBoolean(true);
+
+		assertEquals(Arrays.<Object> asList(-0.5, -0.5, true), received);
+	}
+
+	@Test
+	public void primitiveListenersAreNotifiedInThePropagationScope() {
+		SimpleObservableIntValue a = new SimpleObservableIntValue();
+		SimpleObservableIntValue b = new SimpleObservableIntValue();
+		a.addIntChangeListener((source, oldValue, newValue) -> b.setInt(newValue * 10));
+		ObservableValue<Integer> sum = ObservableValue.combine(a, b, (x, y) -> x + y);
+		List<Integer> sums = new ArrayList<>();
+		sum.addChangeListener((source, oldValue, newValue) -> sums.add(newValue));
+
+		a.setInt(1);
+
+		// A single recomputation, once both a and b have changed
+		assertEquals(Arrays.asList(11), sums);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the filtered subscriptions indexed by {@link SubscriptionIndex}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SubscriptionIndexTest {
+
+	@Test
+	public void listenersOnlyReceiveTheirTypesAndKeys() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>());
+		List<String> additions = new ArrayList<>();
+		List<String> shortOnes = new ArrayList<>();
+		List<String> longRemovals = new ArrayList<>();
+		list.subscribe(Recorders.changes(additions), EnumSet.of(CollectionChange.ChangeType.ADD), element -> true);
+		list.subscribe(Recorders.changes(shortOnes),
+				EnumSet.allOf(CollectionChange.ChangeType.class), String::length, 1);
+		list.subscribe(Recorders.changes(longRemovals),
+				EnumSet.of(CollectionChange.ChangeType.REMOVE), String::length, 2);
+
+		list.add("a");
+		list.add("bb");
+		list.remove("a");
+		list.remove("bb");
+
+		assertEquals(Arrays.asList("ADD a", "ADD bb"), additions);
+		assertEquals(Arrays.asList("ADD a", "REMOVE a"), shortOnes);
+		assertEquals(Collections.singletonList("REMOVE bb"), longRemovals);
+	}
+
+	@Test
+	public void replacementIsNotifiedToTheOldAndNewKeys() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList("a")));
+		List<String> shortOnes = new ArrayList<>();
+		List<String> longOnes = new ArrayList<>();
+		list.subscribe(Recorders.changes(shortOnes),
+				EnumSet.of(CollectionChange.ChangeType.REPLACE), String::length, 1);
+		list.subscribe(Recorders.changes(longOnes), EnumSet.of(CollectionChange.ChangeType.REPLACE), String::length, 2);
+
+		list.set(0, "bb");
+
+		assertEquals(Collections.singletonList("REPLACE bb"), shortOnes);
+		assertEquals(Collections.singletonList("REPLACE bb"), longOnes);
+	}
+
+	@Test
+	public void expiredSubscriptionIsNoLongerNotified() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>());
+		List<String> received = new ArrayList<>();
+		Subscription subscription =
+				list.subscribe(Recorders.changes(received),
+						EnumSet.of(CollectionChange.ChangeType.ADD), String::length, 1);
+
+		list.add("a");
+		subscription.unsubscribe();
+		list.add("b");
+
+		assertEquals(Collections.singletonList("ADD a"), received);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link Subscription}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class SubscriptionTest {
+
+	@Test
+	public void subscriptionExpiresAfterItsNotifications() {
+		SimpleObservableValue<String> value = new SimpleObservableValue<>("a");
+		List<String> received = new ArrayList<>();
+		Subscription subscription =
+				value.subscribe((source, oldValue, newValue) -> received.add(newValue)).expireAfter(2);
+
+		value.set("b");
+		assertTrue(subscription.isActive());
+		value.set("c");
+		value.set("d");
+
+		assertFalse(subscription.isActive());
+		assertEquals(Arrays.asList("b", "c"), received);
+	}
+
+	@Test
+	public void subscriptionExpiresAfterItsDelay() {
+		SimpleObservableValue<String> value = new SimpleObservableValue<>("a");
+		List<String> received = new ArrayList<>();
+		Subscription subscription = value.subscribe((source, oldValue, newValue) -> received.add(newValue));
+		subscription.expireAfter(0, TimeUnit.SECONDS);
+
+		value.set("b");
+
+		assertFalse(subscription.isActive());
+		assertEquals(Collections.emptyList(), received);
+	}
+
+	@Test
+	public void unsubscribedListenerIsRemoved() {
+		ObservableList<String> list = new ObservableListWrapper<>(new ArrayList<>());
+		List<String> received = new ArrayList<>();
+		Subscription subscription = list.subscribe((source, changes) -> received.add("notified"));
+
+		list.add("a");
+		subscription.unsubscribe();
+		list.add("b");
+
+		assertEquals(Collections.singletonList("notified"), received);
+	}
+
+	@Test
+	public void subscriptionOfACollectionOutsideOfTheLibraryIsRemoved() {
+		ObservableCollection<String> collection = new MinimalObservableCollection<>();
+		List<String> received = new ArrayList<>();
+		Subscription subscription = collection.subscribe((source, changes) -> received.add("notified"));
+		CollectionChangeListener<String> weak = (source, changes) -> received.add("weak");
+		collection.addWeakChangeListener(weak);
+
+		collection.add("a");
+		subscription.unsubscribe();
+		collection.add("b");
+
+		assertEquals(Arrays.asList("notified", "weak", "weak"), received);
+	}
+}
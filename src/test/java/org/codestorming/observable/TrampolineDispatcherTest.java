@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link TrampolineDispatcher}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class TrampolineDispatcherTest {
+
+	private static <T> SimpleObservableValue<T> newValue(T value) {
+		SimpleObservableValue<T> observable = new SimpleObservableValue<>(value);
+		observable.setDispatcher(TrampolineDispatcher.INSTANCE);
+		return observable;
+	}
+
+	@Test
+	public void notificationsAreDeliveredBreadthFirst() {
+		SimpleObservableValue<String> a = newValue("a0");
+		SimpleObservableValue<String> b = newValue("b0");
+		List<String> received = new ArrayList<>();
+		a.addChangeListener((source, oldValue, newValue) -> b.set("b1"));
+		a.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+		b.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		a.set("a1");
+
+		assertEquals(Arrays.asList("a1", "b1"), received);
+	}
+
+	@Test
+	public void longChainsDoNotGrowTheStack() {
+		List<SimpleObservableValue<Integer>> chain = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			chain.add(newValue(0));
+		}
+		for (int i = 0; i < chain.size() - 1; i++) {
+			SimpleObservableValue<Integer> next = chain.get(i + 1);
+			chain.get(i).addChangeListener((source, oldValue, newValue) -> next.set(newValue));
+		}
+
+		chain.get(0).set(1);
+
+		assertEquals(Integer.valueOf(1), chain.get(chain.size() - 1).get());
+	}
+
+	@Test
+	public void failureDiscardsThePendingNotifications() {
+		SimpleObservableValue<String> a = newValue("a0");
+		SimpleObservableValue<String> b = newValue("b0");
+		List<String> received = new ArrayList<>();
+		a.addChangeListener((source, oldValue, newValue) -> {
+			b.set(newValue);
+			throw new IllegalStateException();
+		});
+		b.addChangeListener((source, oldValue, newValue) -> received.add(newValue));
+
+		try {
+			a.set("a1");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		b.set("b2");
+
+		assertEquals(Arrays.asList("b2"), received);
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link WeakListener}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class WeakListenerTest {
+
+	@Test
+	public void equalityIsSymmetric() {
+		ChangeListener<String> delegate = (source, oldValue, newValue) -> {};
+		WeakListener<String, Object> weak = new WeakListener<>(delegate, null);
+
+		assertFalse(weak.equals(delegate));
+		assertFalse(delegate.equals(weak));
+		assertTrue(weak.equals(new WeakListener<String, Object>(delegate, null)));
+	}
+
+	@Test
+	public void listenerCanBeRegisteredStronglyAndWeakly() {
+		testStrongAndWeakRegistration(new SimpleObservableValue<>("a"));
+		testStrongAndWeakRegistration(new CompactObservableValue<>("a"));
+	}
+
+	private void testStrongAndWeakRegistration(ObservableValue<String> value) {
+		List<String> received = new ArrayList<>();
+		ChangeListener<String> listener = (source, oldValue, newValue) -> received.add(newValue);
+		value.addChangeListener(listener);
+		value.addWeakChangeListener(listener);
+
+		value.set("b");
+		assertEquals(Arrays.asList("b", "b"), received);
+
+		value.removeChangeListener(listener);
+		value.set("c");
+		assertEquals(Arrays.asList("b", "b", "c"), received);
+
+		value.removeChangeListener(listener);
+		value.set("d");
+		assertEquals(Arrays.asList("b", "b", "c"), received);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2017 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial API and implementation
+ */
+package org.codestorming.observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests of the range listeners of the observable lists.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ */
+public class WindowChangeListenerTest {
+
+	private final List<String> received = new ArrayList<>();
+
+	private final CollectionChangeListener<Integer> listener = (source, changes) -> {
+		for (CollectionChange<Integer> change : changes) {
+			received.add(change.getType() + " " + change.getValue());
+		}
+	};
+
+	@Test
+	public void equalityIsSymmetric() {
+		WindowChangeListener<Integer> window = new WindowChangeListener<>(listener, 0, 2);
+
+		assertFalse(window.equals(listener));
+		assertFalse(listener.equals(window));
+		assertFalse(window.equals(new WindowChangeListener<>(listener, 0, 3)));
+		assertEquals(window, new WindowChangeListener<>(listener, 0, 2));
+	}
+
+	@Test
+	public void windowAndDelegateAreRegisteredSeparately() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(0, 1, 2, 3)));
+		list.addChangeListener(0, 2, listener);
+		list.addChangeListener(listener);
+
+		list.add(4);
+		list.set(0, 5);
+
+		assertEquals(Arrays.asList("ADD 4", "REPLACE 5", "REPLACE 5"), received);
+	}
+
+	@Test
+	public void windowsOverTheSameDelegateAreRegisteredSeparately() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(0, 1, 2, 3)));
+		list.addChangeListener(0, 1, listener);
+		list.addChangeListener(3, 4, listener);
+
+		list.set(0, 5);
+		list.set(3, 6);
+
+		assertEquals(Arrays.asList("REPLACE 5", "REPLACE 6"), received);
+	}
+
+	@Test
+	public void windowIsRemovedWithItsDelegate() {
+		ObservableList<Integer> list = new ObservableListWrapper<>(new ArrayList<>(Arrays.asList(0, 1, 2, 3)));
+		list.addChangeListener(0, 2, listener);
+		list.removeChangeListener(listener);
+
+		list.set(0, 5);
+
+		assertEquals(Arrays.asList(), received);
+	}
+}